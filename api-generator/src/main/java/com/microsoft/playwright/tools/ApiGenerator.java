@@ -442,6 +442,14 @@ class Method extends Element {
     });
   }
 
+  // Methods that register local handlers, they are only available in the sync interface.
+  private static Set<String> skipAsync = new HashSet<>(asList(
+    "Page.exposeBinding",
+    "Page.exposeFunction",
+    "Page.route",
+    "Page.unroute"
+  ));
+
   private static Set<String> skipJavadoc = new HashSet<>(asList(
     "BrowserContext.waitForEvent.optionsOrPredicate",
     "Page.waitForEvent.optionsOrPredicate",
@@ -499,6 +507,80 @@ class Method extends Element {
     output.add(offset + toJava());
   }
 
+  boolean hasAsyncVariant() {
+    if (returnType == null || skipAsync.contains(jsonPath)) {
+      return false;
+    }
+    // Only methods that talk to the driver get a future based variant.
+    return returnType.jsonName.startsWith("Promise");
+  }
+
+  void writeAsyncTo(List<String> output, String offset) {
+    if (customSignature.containsKey(jsonPath)) {
+      for (String signature : customSignature.get(jsonPath)) {
+        output.add(offset + toAsyncSignature(signature));
+      }
+      return;
+    }
+    for (int i = params.size() - 1; i >= 0; i--) {
+      Param p = params.get(i);
+      if (!p.isOptional()) {
+        break;
+      }
+      List<String> overload = new ArrayList<>();
+      writeDefaultOverloadedMethod(i, overload, "");
+      output.add(offset + toAsyncSignature(overload.get(0)));
+      output.add(offset + "  return " + overload.get(1).trim().replaceFirst("^return ", ""));
+      output.add(offset + overload.get(2));
+    }
+    output.add(offset + toAsyncSignature(toJava()));
+  }
+
+  // Replaces return type T of the method declaration with CompletableFuture<T>,
+  // lines from the method body are returned as is.
+  private static String toAsyncSignature(String line) {
+    if (line.startsWith(" ") || line.startsWith("}")) {
+      return line;
+    }
+    String prefix = "";
+    if (line.startsWith("default ")) {
+      prefix = "default ";
+      line = line.substring(prefix.length());
+    }
+    int depth = 0;
+    int end = 0;
+    for (; end < line.length(); end++) {
+      char c = line.charAt(end);
+      if (c == '<') {
+        depth++;
+      } else if (c == '>') {
+        depth--;
+      } else if (c == ' ' && depth == 0) {
+        break;
+      }
+    }
+    String type = line.substring(0, end);
+    String rest = line.substring(end);
+    if ("void".equals(type) && rest.endsWith("}")) {
+      // One-line default method, now it has to return the future.
+      rest = rest.replaceFirst("\\)\\s+\\{ ", ") { return ");
+    }
+    return prefix + "CompletableFuture<" + toBoxedType(type) + ">" + rest;
+  }
+
+  private static String toBoxedType(String type) {
+    switch (type) {
+      case "void": return "Void";
+      case "int": return "Integer";
+      case "boolean": return "Boolean";
+      case "double": return "Double";
+    }
+    if (type.startsWith("Deferred<")) {
+      return type.substring("Deferred<".length(), type.length() - 1);
+    }
+    return type;
+  }
+
   private void writeDefaultOverloadedMethod(int paramCount, List<String> output, String offset) {
     StringBuilder paramList = new StringBuilder();
     StringBuilder argList = new StringBuilder();
@@ -605,6 +687,7 @@ class Field extends Element {
     if ("Route.fulfill.response.body".equals(jsonPath)) {
       output.add(offset + "public String body;");
       output.add(offset + "public byte[] bodyBytes;");
+      output.add(offset + "public ByteBuffer bodyBuffer;");
       return;
     }
     if (asList("Page.emulateMedia.params.media",
@@ -707,6 +790,10 @@ class Field extends Element {
       output.add(offset + "  this.bodyBytes = body;");
       output.add(offset + "  return this;");
       output.add(offset + "}");
+      output.add(offset + "public FulfillResponse withBody(ByteBuffer body) {");
+      output.add(offset + "  this.bodyBuffer = body;");
+      output.add(offset + "  return this;");
+      output.add(offset + "}");
     }
     if (name.equals("httpCredentials")) {
       output.add(offset + "public " + parentClass + " with" + toTitle(name) + "(String username, String password) {");
@@ -759,6 +846,7 @@ class Interface extends TypeDefinition {
     "package com.microsoft.playwright;\n";
 
   private static Set<String> allowedBaseInterfaces = new HashSet<>(asList("Browser", "JSHandle", "BrowserContext"));
+  private static Set<String> asyncInterfaces = new HashSet<>(asList("Page", "Frame"));
 
   Interface(JsonObject jsonElement) {
     super(null, jsonElement);
@@ -777,18 +865,31 @@ class Interface extends TypeDefinition {
   void writeTo(List<String> output, String offset) {
     output.add(header);
     if (jsonName.equals("Route")) {
+      output.add("import java.nio.ByteBuffer;");
       output.add("import java.nio.charset.StandardCharsets;");
     }
+    if ("Response".equals(jsonName)) {
+      output.add("import java.io.InputStream;");
+    }
     if ("Download".equals(jsonName)) {
+      output.add("import java.io.IOException;");
       output.add("import java.io.InputStream;");
+      output.add("import java.nio.channels.WritableByteChannel;");
+    }
+    if ("Page".equals(jsonName)) {
+      output.add("import java.nio.channels.WritableByteChannel;");
     }
-    if (asList("Page", "Frame", "ElementHandle", "FileChooser", "Browser", "BrowserContext", "BrowserType", "Download", "Route", "Selectors").contains(jsonName)) {
+    if (asList("Page", "Frame", "ElementHandle", "FileChooser", "Browser", "BrowserContext", "BrowserType", "Download", "Response", "Route", "Selectors").contains(jsonName)) {
       output.add("import java.nio.file.Path;");
     }
     output.add("import java.util.*;");
     if (asList("Page", "BrowserContext").contains(jsonName)) {
+      output.add("import java.util.concurrent.CompletionStage;");
       output.add("import java.util.function.Consumer;");
     }
+    if ("BrowserContext".equals(jsonName)) {
+      output.add("import java.util.function.Function;");
+    }
     if (asList("Page", "Frame", "BrowserContext", "WebSocket").contains(jsonName)) {
       output.add("import java.util.function.Predicate;");
     }
@@ -817,6 +918,103 @@ class Interface extends TypeDefinition {
     if ("Worker".equals(jsonName)) {
       output.add(offset + "Deferred<Event<EventType>> waitForEvent(EventType event);");
     }
+    if ("Response".equals(jsonName)) {
+      writeJavadoc(output, offset, "Returns a stream over the response body. Unlike {@link #body()} it does not copy the body into an array, so it\n" +
+        "suits large bodies. The stream should be closed to release the body.");
+      output.add(offset + "InputStream bodyStream();");
+      writeJavadoc(output, offset, "Saves the response body to a file without copying it into an array.\n" +
+        "@param path Path where the body should be saved.");
+      output.add(offset + "void bodyTo(Path path);");
+    }
+    if ("Download".equals(jsonName)) {
+      writeJavadoc(output, offset, "Writes the whole download to {@code channel} and returns the number of bytes written. Returns {@code -1} if download\n" +
+        "failed.\n" +
+        "@param channel Channel to write the download to. It is not closed by this method.");
+      output.add(offset + "long transferTo(WritableByteChannel channel) throws IOException;");
+    }
+    if (hasAsyncInterface()) {
+      writeJavadoc(output, offset, "Returns a view of this object whose methods don't block and return {@code CompletableFuture} instead.");
+      output.add(offset + jsonName + "Async async();");
+    }
+    if (asList("Page", "BrowserContext").contains(jsonName)) {
+      // Page.Function hides java.util.function.Function inside Page.
+      String function = "Page".equals(jsonName) ? "java.util.function.Function" : "Function";
+      output.add(offset + "void routeAsync(String url, " + function + "<Route, CompletionStage<?>> handler);");
+      output.add(offset + "void routeAsync(Pattern url, " + function + "<Route, CompletionStage<?>> handler);");
+      writeJavadoc(output, offset, "Same as {@code route()}, but {@code handler} is only expected to start handling the request, e.g. on an\n" +
+        "{@code Executor}, and return a stage that completes when it is done. The dispatcher thread is not blocked meanwhile, so\n" +
+        "that many requests can be handled concurrently. The route is continued if the handler didn't handle it, aborted if the\n" +
+        "stage completed exceptionally or didn't complete within the default timeout.\n" +
+        "@param url A glob pattern, regex pattern or predicate receiving URL to match while routing.\n" +
+        "@param handler handler function to route the request.");
+      output.add(offset + "void routeAsync(Predicate<String> url, " + function + "<Route, CompletionStage<?>> handler);");
+      writeJavadoc(output, offset, "Returns statistics of the routes registered with {@code route()}, in registration order.");
+      output.add(offset + "List<RouteStats> routeStats();");
+      writeJavadoc(output, offset, "Adds a declarative rule that continues or aborts matching requests. Rules are evaluated on the dispatcher thread as\n" +
+        "soon as a request is intercepted and before any route handlers, the first matching rule decides. Requests that no rule\n" +
+        "or route handles are continued without waiting for the driver.");
+      output.add(offset + "void addRouteRule(RouteRule rule);");
+      writeJavadoc(output, offset, "Removes a rule added with {@code addRouteRule()}.");
+      output.add(offset + "void removeRouteRule(RouteRule rule);");
+    }
+    if ("BrowserContext".equals(jsonName)) {
+      writeJavadoc(output, offset, "Fulfills the requests of all pages in the context from the entries of a HAR file, e.g. recorded with\n" +
+        "{@code recordHar}, without touching the network. The entries are matched by method and URL, and by post data if several\n" +
+        "entries only differ in it. Requests without an entry are aborted. The file is read once when the route is added.\n" +
+        "@param har Path to the HAR file.");
+      output.add(offset + "void routeFromHar(Path har);");
+    }
+    if ("Page".equals(jsonName)) {
+      writeJavadoc(output, offset, "Runs the commands issued on {@code commands} in order and waits for all of them to complete. Consecutive commands that\n" +
+        "only read the page, such as {@code textContent()} or {@code getAttribute()}, are sent to the driver together without\n" +
+        "waiting for each other's replies. Commands that may change the page, such as {@code fill()} or {@code click()}, are not\n" +
+        "batched: each of them is sent once the commands before it are done, so they cost a round trip each, the same as calling\n" +
+        "them one by one. The returned futures are completed when this method returns, waiting for them inside {@code commands}\n" +
+        "throws.");
+      output.add(offset + "BatchResults batch(Consumer<PageAsync> commands);");
+    }
+    if ("Page".equals(jsonName)) {
+      writeJavadoc(output, offset, "Same as {@link #screenshot(ScreenshotOptions)} but writes the image to {@code channel} instead of returning it, and\n" +
+        "returns the number of bytes written. The image is decoded into a pooled buffer, or a temporary file if it is very large,\n" +
+        "and written from there, which saves the {@code byte[]} copy but not the decoded one. If {@code path} option is set the\n" +
+        "image is saved to that file too.\n" +
+        "@param channel Channel to write the image to. It is not closed by this method.");
+      output.add(offset + "long screenshot(WritableByteChannel channel, ScreenshotOptions options);");
+      writeJavadoc(output, offset, "Same as {@link #pdf(PdfOptions)} but writes the pdf to {@code channel} instead of returning it, and returns the number\n" +
+        "of bytes written. The pdf is decoded into a pooled buffer, or a temporary file if it is very large, and written from\n" +
+        "there, which saves the {@code byte[]} copy but not the decoded one. If {@code path} option is set the pdf is saved to\n" +
+        "that file too.\n" +
+        "@param channel Channel to write the pdf to. It is not closed by this method.");
+      output.add(offset + "long pdf(WritableByteChannel channel, PdfOptions options);");
+    }
+    output.add("}");
+    output.add("\n");
+  }
+
+  boolean hasAsyncInterface() {
+    return asyncInterfaces.contains(jsonName);
+  }
+
+  void writeAsyncTo(List<String> output) {
+    output.add(header);
+    output.add("import com.microsoft.playwright." + jsonName + ".*;");
+    output.add("");
+    output.add("import java.nio.file.Path;");
+    output.add("import java.util.*;");
+    output.add("import java.util.concurrent.CompletableFuture;");
+    if ("Page".equals(jsonName)) {
+      output.add("import java.util.function.Predicate;");
+      output.add("import java.util.regex.Pattern;");
+    }
+    output.add("");
+    writeJavadoc(output, "", "Asynchronous version of {@link " + jsonName + "}. All methods return immediately, the returned futures\n" +
+      "are completed on the Playwright dispatcher thread. See {@link " + jsonName + "} for the documentation of each method.");
+    output.add("public interface " + jsonName + "Async {");
+    for (Method m : methods) {
+      if (m.hasAsyncVariant()) {
+        m.writeAsyncTo(output, "  ");
+      }
+    }
     output.add("}");
     output.add("\n");
   }
@@ -1177,11 +1375,19 @@ public class ApiGenerator {
         continue;
       }
       List<String> lines = new ArrayList<>();
-      new Interface(entry.getValue().getAsJsonObject()).writeTo(lines, "");
+      Interface iface = new Interface(entry.getValue().getAsJsonObject());
+      iface.writeTo(lines, "");
       String text = String.join("\n", lines);
       try (FileWriter writer = new FileWriter(new File(dir, name + ".java"))) {
         writer.write(text);
       }
+      if (iface.hasAsyncInterface()) {
+        lines = new ArrayList<>();
+        iface.writeAsyncTo(lines);
+        try (FileWriter writer = new FileWriter(new File(dir, name + "Async.java"))) {
+          writer.write(String.join("\n", lines));
+        }
+      }
     }
   }
 
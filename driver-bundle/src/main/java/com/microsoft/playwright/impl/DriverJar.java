@@ -17,24 +17,203 @@
 package com.microsoft.playwright.impl;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.util.Collections;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Extracts the driver bundled in the jar into a persistent cache directory. The
+ * directory name is derived from the bundled files, so all JVMs using the same
+ * driver share one extraction, and a file lock makes sure only one of them
+ * extracts it. Browsers are installed only if they are missing.
+ */
 public class DriverJar extends Driver {
-  private final Path driverTempDir;
+  // Written last, its presence means the directory is complete.
+  private static final String COMPLETE_MARKER = ".complete";
+  private static final String INSTALLED_MARKER = ".browsers-installed";
+  // Written by playwright-cli into a browser directory once the browser is fully installed.
+  private static final String BROWSER_INSTALLED_MARKER = "INSTALLATION_COMPLETE";
+  // A file lock can't be acquired twice by one JVM, so threads queue here first.
+  private static final ReentrantLock lock = new ReentrantLock();
+  private static final Pattern BROWSER_ENTRY = Pattern.compile("\\{[^{}]*\\}");
+  private static final Pattern NAME = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]+)\"");
+  private static final Pattern REVISION = Pattern.compile("\"revision\"\\s*:\\s*\"([^\"]+)\"");
+  private static final Pattern NO_DOWNLOAD = Pattern.compile("\"download\"\\s*:\\s*false");
+
+  private final Path driverDir;
 
   DriverJar() throws IOException, URISyntaxException, InterruptedException {
-    driverTempDir = Files.createTempDirectory("playwright-java-");
-    driverTempDir.toFile().deleteOnExit();
-    extractDriverToTempDir();
-    installBrowsers();
+    ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+    URI uri = classloader.getResource("driver/" + platformDir()).toURI();
+    // Create zip filesystem if loading from jar.
+    try (FileSystem fileSystem = "jar".equals(uri.getScheme()) ? FileSystems.newFileSystem(uri, Collections.emptyMap()) : null) {
+      driverDir = install(Paths.get(uri), cacheDir(), browsersDir());
+    }
+  }
+
+  DriverJar(Path bundledDir, Path cacheDir, Path browsersDir) throws IOException, InterruptedException {
+    driverDir = install(bundledDir, cacheDir, browsersDir);
+  }
+
+  // Extracts the driver and installs the browsers unless that's already done, returns the driver directory.
+  private static Path install(Path bundledDir, Path cacheDir, Path browsersDir) throws IOException, InterruptedException {
+    Files.createDirectories(cacheDir);
+    String key = contentKey(bundledDir);
+    Path driverDir = cacheDir.resolve("driver-" + key);
+    lock.lock();
+    try (FileChannel lockFile = FileChannel.open(cacheDir.resolve("driver-" + key + ".lock"), CREATE, WRITE)) {
+      // Released when the channel is closed.
+      lockFile.lock();
+      if (!Files.exists(driverDir.resolve(COMPLETE_MARKER))) {
+        extractDriver(bundledDir, driverDir);
+      }
+      if (!areBrowsersInstalled(driverDir, browsersDir)) {
+        installBrowsers(driverDir);
+      }
+    } finally {
+      lock.unlock();
+    }
+    return driverDir;
+  }
+
+  private static Path cacheDir() {
+    String fromProperty = System.getProperty("playwright.driver.cache.dir");
+    if (fromProperty != null) {
+      return Paths.get(fromProperty);
+    }
+    return userCacheDir().resolve("ms-playwright-java");
+  }
+
+  private static Path userCacheDir() {
+    String name = System.getProperty("os.name").toLowerCase();
+    Path home = Paths.get(System.getProperty("user.home"));
+    if (name.contains("windows")) {
+      String localAppData = System.getenv("LOCALAPPDATA");
+      return localAppData != null ? Paths.get(localAppData) : home.resolve("AppData").resolve("Local");
+    }
+    if (name.contains("mac os x")) {
+      return home.resolve("Library").resolve("Caches");
+    }
+    String xdgCache = System.getenv("XDG_CACHE_HOME");
+    return xdgCache != null ? Paths.get(xdgCache) : home.resolve(".cache");
   }
 
-  private void installBrowsers() throws IOException, InterruptedException {
-    Path driver = driverTempDir.resolve("playwright-cli");
+  // Hash of names, sizes and checksums of the bundled files. Inside a jar the
+  // checksums come from the zip directory, so nothing has to be decompressed.
+  static String contentKey(Path bundledDir) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+    boolean isZip = "jar".equals(bundledDir.toUri().getScheme());
+    try (Stream<Path> files = Files.walk(bundledDir)) {
+      for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Object checksum = isZip ? Files.getAttribute(file, "zip:crc") : attributes.lastModifiedTime().toMillis();
+        String entry = bundledDir.relativize(file) + ":" + attributes.size() + ":" + checksum + "\n";
+        digest.update(entry.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    StringBuilder key = new StringBuilder();
+    byte[] hash = digest.digest();
+    for (int i = 0; i < 8; i++) {
+      key.append(String.format("%02x", hash[i]));
+    }
+    return key.toString();
+  }
+
+  private static void extractDriver(Path bundledDir, Path driverDir) throws IOException {
+    // Leftovers of an interrupted extraction.
+    if (Files.exists(driverDir)) {
+      deleteRecursively(driverDir);
+    }
+    Files.createDirectories(driverDir);
+    try (Stream<Path> files = Files.walk(bundledDir)) {
+      files.forEach(from -> {
+        try {
+          Path to = driverDir.resolve(bundledDir.relativize(from).toString());
+          if (Files.isDirectory(from)) {
+            Files.createDirectories(to);
+          } else {
+            Files.copy(from, to, StandardCopyOption.REPLACE_EXISTING);
+            to.toFile().setExecutable(true);
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to extract driver from " + bundledDir.toUri(), e);
+        }
+      });
+    }
+    Files.createFile(driverDir.resolve(COMPLETE_MARKER));
+  }
+
+  private static void deleteRecursively(Path dir) throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  // Checks that every browser listed in the driver's browsers.json is installed in
+  // the browsers directory. Without browsers.json, relies on a previous install.
+  private static boolean areBrowsersInstalled(Path driverDir, Path browsersDir) throws IOException {
+    if (browsersDir == null) {
+      return false;
+    }
+    // The driver's own one, not those of its node_modules.
+    Path browsersJson = driverDir.resolve("package").resolve("browsers.json");
+    if (!Files.exists(browsersJson)) {
+      return Files.exists(driverDir.resolve(INSTALLED_MARKER));
+    }
+    String json = new String(Files.readAllBytes(browsersJson), StandardCharsets.UTF_8);
+    Matcher entries = BROWSER_ENTRY.matcher(json);
+    boolean hasBrowsers = false;
+    while (entries.find()) {
+      String entry = entries.group();
+      Matcher name = NAME.matcher(entry);
+      Matcher revision = REVISION.matcher(entry);
+      if (!name.find() || !revision.find() || NO_DOWNLOAD.matcher(entry).find()) {
+        continue;
+      }
+      hasBrowsers = true;
+      // The directory alone may be left over from an interrupted download.
+      Path browserDir = browsersDir.resolve(name.group(1) + "-" + revision.group(1));
+      if (!Files.exists(browserDir.resolve(BROWSER_INSTALLED_MARKER))) {
+        return false;
+      }
+    }
+    return hasBrowsers;
+  }
+
+  // Where playwright-cli installs browsers, null if they are not in a shared location.
+  private static Path browsersDir() {
+    String fromEnv = System.getenv("PLAYWRIGHT_BROWSERS_PATH");
+    if (fromEnv != null) {
+      return "0".equals(fromEnv) ? null : Paths.get(fromEnv);
+    }
+    return userCacheDir().resolve("ms-playwright");
+  }
+
+  private static void installBrowsers(Path driverDir) throws IOException, InterruptedException {
+    Path driver = driverDir.resolve("playwright-cli");
     ProcessBuilder pb = new ProcessBuilder(driver.toString(), "install");
     pb.redirectError(ProcessBuilder.Redirect.INHERIT);
     pb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
@@ -43,20 +222,8 @@ public class DriverJar extends Driver {
     if (!result) {
       throw new RuntimeException("Timed out waiting for browsers to install");
     }
-  }
-
-  private void extractDriverToTempDir() throws URISyntaxException, IOException {
-    ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-    URI uri = classloader.getResource("driver/" + platformDir()).toURI();
-    // Create zip filesystem if loading from jar.
-    try (FileSystem fileSystem = "jar".equals(uri.getScheme()) ? FileSystems.newFileSystem(uri, Collections.emptyMap()) : null) {
-      Files.list(Paths.get(uri)).forEach(filePath -> {
-        try {
-          extractResource(filePath, driverTempDir);
-        } catch (IOException e) {
-          throw new RuntimeException("Failed to extract driver from " + uri, e);
-        }
-      });
+    if (p.exitValue() == 0) {
+      Files.write(driverDir.resolve(INSTALLED_MARKER), new byte[0]);
     }
   }
 
@@ -74,16 +241,8 @@ public class DriverJar extends Driver {
     throw new RuntimeException("Unexpected os.name value: " + name);
   }
 
-  private static Path extractResource(Path from, Path toDir) throws IOException {
-    Path path = toDir.resolve(from.getFileName().toString());
-    Files.copy(from, path);
-    path.toFile().setExecutable(true);
-    path.toFile().deleteOnExit();
-    return path;
-  }
-
   @Override
   Path driverDir() {
-    return driverTempDir;
+    return driverDir;
   }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The fake playwright-cli is a shell script.
+@DisabledOnOs(OS.WINDOWS)
+public class TestDriverJar {
+  private Path bundledDir;
+  private Path cacheDir;
+  private Path browsersDir;
+  private Path installLog;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Path root = Files.createTempDirectory("driver-jar-");
+    bundledDir = root.resolve("bundled");
+    cacheDir = root.resolve("cache");
+    browsersDir = root.resolve("browsers");
+    installLog = root.resolve("install.log");
+    Files.createDirectories(bundledDir.resolve("package"));
+    // Installs chromium-1 the way playwright-cli does, slowly.
+    write(bundledDir.resolve("playwright-cli"), "#!/bin/sh\n" +
+      "sleep 1\n" +
+      "echo \"$@\" >> '" + installLog + "'\n" +
+      "mkdir -p '" + browsersDir.resolve("chromium-1") + "'\n" +
+      "touch '" + browsersDir.resolve("chromium-1").resolve("INSTALLATION_COMPLETE") + "'\n");
+    write(bundledDir.resolve("package").resolve("browsers.json"), "{\"browsers\": [\n" +
+      "  {\"name\": \"chromium\", \"revision\": \"1\"},\n" +
+      "  {\"name\": \"webkit\", \"revision\": \"2\", \"download\": false}\n" +
+      "]}\n");
+  }
+
+  // Runs DriverJar in a separate JVM.
+  public static void main(String[] args) throws Exception {
+    new DriverJar(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+  }
+
+  private static void write(Path file, String text) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<String> installs() throws IOException {
+    if (!Files.exists(installLog)) {
+      return Collections.emptyList();
+    }
+    return Files.readAllLines(installLog);
+  }
+
+  private Path newDriverDir() throws Exception {
+    return new DriverJar(bundledDir, cacheDir, browsersDir).driverDir();
+  }
+
+  @Test
+  void shouldExtractDriverOnce() throws Exception {
+    Path driverDir = newDriverDir();
+    assertEquals(cacheDir.resolve("driver-" + DriverJar.contentKey(bundledDir)), driverDir);
+    assertTrue(Files.exists(driverDir.resolve(".complete")));
+    assertTrue(Files.isExecutable(driverDir.resolve("playwright-cli")));
+    assertTrue(Files.exists(driverDir.resolve("package").resolve("browsers.json")));
+    assertEquals(Collections.singletonList("install"), installs());
+
+    Path extraFile = driverDir.resolve("extra");
+    Files.createFile(extraFile);
+    assertEquals(driverDir, newDriverDir());
+    assertTrue(Files.exists(extraFile));
+    assertEquals(Collections.singletonList("install"), installs());
+  }
+
+  @Test
+  void shouldExtractAgainIfIncomplete() throws Exception {
+    Path driverDir = newDriverDir();
+    Path extraFile = driverDir.resolve("extra");
+    Files.createFile(extraFile);
+    Files.delete(driverDir.resolve(".complete"));
+    assertEquals(driverDir, newDriverDir());
+    assertFalse(Files.exists(extraFile));
+    assertTrue(Files.exists(driverDir.resolve(".complete")));
+  }
+
+  @Test
+  void shouldUseNewDirectoryForChangedDriver() throws Exception {
+    String key = DriverJar.contentKey(bundledDir);
+    assertEquals(key, DriverJar.contentKey(bundledDir));
+    Path driverDir = newDriverDir();
+    write(bundledDir.resolve("package").resolve("cli.js"), "// changed");
+    assertNotEquals(key, DriverJar.contentKey(bundledDir));
+    Path newDriverDir = newDriverDir();
+    assertNotEquals(driverDir, newDriverDir);
+    assertTrue(Files.exists(newDriverDir.resolve("package").resolve("cli.js")));
+    assertFalse(Files.exists(driverDir.resolve("package").resolve("cli.js")));
+  }
+
+  @Test
+  void shouldSkipInstallIfBrowsersAreInstalled() throws Exception {
+    Files.createDirectories(browsersDir.resolve("chromium-1"));
+    Files.createFile(browsersDir.resolve("chromium-1").resolve("INSTALLATION_COMPLETE"));
+    newDriverDir();
+    assertEquals(Collections.emptyList(), installs());
+  }
+
+  @Test
+  void shouldInstallBrowsersWithoutInstallMarker() throws Exception {
+    // E.g. an interrupted download.
+    Files.createDirectories(browsersDir.resolve("chromium-1"));
+    newDriverDir();
+    assertEquals(Collections.singletonList("install"), installs());
+  }
+
+  @Test
+  void shouldIgnoreBrowsersJsonOfDependencies() throws Exception {
+    write(bundledDir.resolve("package").resolve("node_modules").resolve("a").resolve("browsers.json"),
+      "{\"browsers\": [{\"name\": \"firefox\", \"revision\": \"3\"}]}");
+    newDriverDir();
+    assertEquals(Collections.singletonList("install"), installs());
+    newDriverDir();
+    assertEquals(Collections.singletonList("install"), installs());
+  }
+
+  @Test
+  void shouldExtractOnceForConcurrentThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Path>> driverDirs = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        driverDirs.add(executor.submit(this::newDriverDir));
+      }
+      Path driverDir = driverDirs.get(0).get();
+      for (Future<Path> other : driverDirs) {
+        assertEquals(driverDir, other.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(Collections.singletonList("install"), installs());
+  }
+
+  @Test
+  void shouldExtractOnceForConcurrentProcesses() throws Exception {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    List<Process> processes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      ProcessBuilder pb = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+        TestDriverJar.class.getName(), bundledDir.toString(), cacheDir.toString(), browsersDir.toString());
+      pb.redirectErrorStream(true);
+      pb.redirectOutput(new File("/dev/null"));
+      processes.add(pb.start());
+    }
+    for (Process process : processes) {
+      assertTrue(process.waitFor(1, TimeUnit.MINUTES), "Timed out waiting for the driver to install");
+      assertEquals(0, process.exitValue());
+    }
+    assertEquals(Collections.singletonList("install"), installs());
+  }
+}
@@ -18,6 +18,7 @@ package com.microsoft.playwright.impl;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class provides access to playwright-cli. It can be either preinstalled
@@ -26,6 +27,8 @@ import java.nio.file.Paths;
  */
 public abstract class Driver {
   private static Driver instance;
+  // Not synchronized as installation blocks on I/O and that would pin virtual threads.
+  private static final ReentrantLock lock = new ReentrantLock();
 
   private static class PreinstalledDriver extends Driver {
     private final Path driverDir;
@@ -38,13 +41,18 @@ public abstract class Driver {
     }
   }
 
-  public static synchronized Path ensureDriverInstalled() {
-    if (instance == null) {
-      try {
-        instance = createDriver();
-      } catch (Exception exception) {
-        throw new RuntimeException("Failed to find playwright-cli", exception);
+  public static Path ensureDriverInstalled() {
+    lock.lock();
+    try {
+      if (instance == null) {
+        try {
+          instance = createDriver();
+        } catch (Exception exception) {
+          throw new RuntimeException("Failed to find playwright-cli", exception);
+        }
       }
+    } finally {
+      lock.unlock();
     }
     String name = System.getProperty("os.name").toLowerCase().contains("windows") ?
       "playwright-cli.exe" : "playwright-cli";
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+/**
+ * Outcome of the commands issued in {@link Page#batch}, in the order they were issued.
+ */
+public interface BatchResults {
+  int size();
+  /**
+   * Returns the result of the command or throws its error.
+   */
+  Object get(int index);
+  /**
+   * Returns the error of the command or {@code null} if it succeeded.
+   */
+  PlaywrightException error(int index);
+  boolean hasErrors();
+}
@@ -18,7 +18,9 @@ package com.microsoft.playwright;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -490,5 +492,37 @@ public interface BrowserContext {
    * @param event Event name, same one would pass into {@code browserContext.on(event)}.
    */
   Deferred<Event<EventType>> waitForEvent(EventType event, WaitForEventOptions options);
+  void routeAsync(String url, Function<Route, CompletionStage<?>> handler);
+  void routeAsync(Pattern url, Function<Route, CompletionStage<?>> handler);
+  /**
+   * Same as {@code route()}, but {@code handler} is only expected to start handling the request, e.g. on an
+   * {@code Executor}, and return a stage that completes when it is done. The dispatcher thread is not blocked meanwhile, so
+   * that many requests can be handled concurrently. The route is continued if the handler didn't handle it, aborted if the
+   * stage completed exceptionally or didn't complete within the default timeout.
+   * @param url A glob pattern, regex pattern or predicate receiving URL to match while routing.
+   * @param handler handler function to route the request.
+   */
+  void routeAsync(Predicate<String> url, Function<Route, CompletionStage<?>> handler);
+  /**
+   * Returns statistics of the routes registered with {@code route()}, in registration order.
+   */
+  List<RouteStats> routeStats();
+  /**
+   * Adds a declarative rule that continues or aborts matching requests. Rules are evaluated on the dispatcher thread as
+   * soon as a request is intercepted and before any route handlers, the first matching rule decides. Requests that no rule
+   * or route handles are continued without waiting for the driver.
+   */
+  void addRouteRule(RouteRule rule);
+  /**
+   * Removes a rule added with {@code addRouteRule()}.
+   */
+  void removeRouteRule(RouteRule rule);
+  /**
+   * Fulfills the requests of all pages in the context from the entries of a HAR file, e.g. recorded with
+   * {@code recordHar}, without touching the network. The entries are matched by method and URL, and by post data if several
+   * entries only differ in it. Requests without an entry are aborted. The file is read once when the route is added.
+   * @param har Path to the HAR file.
+   */
+  void routeFromHar(Path har);
 }
 
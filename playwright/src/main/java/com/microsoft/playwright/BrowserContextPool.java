@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.BrowserContextPoolImpl;
+
+/**
+ * Hands out browser contexts with an open page and takes them back for reuse. On release the context is reset:
+ * its pages are replaced with a fresh one, routes and listeners are removed, default timeouts, extra HTTP headers,
+ * geolocation and offline mode are restored from the context options, cookies and permissions are cleared, and the
+ * local storage, IndexedDB, caches and service workers of every origin its pages visited are cleared. Contexts whose
+ * state can't be reset reliably are closed instead: those with init scripts or exposed bindings, those whose pages
+ * loaded a document from a {@code file:} or other non-HTTP URL, and those whose storage couldn't be cleared.
+ */
+public interface BrowserContextPool extends AutoCloseable {
+  interface Lease extends AutoCloseable {
+    BrowserContext context();
+    Page page();
+    /**
+     * How many times the context was handed out before this lease.
+     */
+    int reuseCount();
+    /**
+     * Returns the context to the pool.
+     */
+    @Override
+    void close();
+  }
+
+  class CreateOptions {
+    /**
+     * Options for new contexts.
+     */
+    public Browser.NewContextOptions contextOptions;
+    /**
+     * Number of contexts to create up front. Defaults to 0.
+     */
+    public Integer size;
+    /**
+     * A context is closed instead of reset after being handed out this many times. Defaults to 100.
+     */
+    public Integer maxReuses;
+
+    public CreateOptions withContextOptions(Browser.NewContextOptions contextOptions) {
+      this.contextOptions = contextOptions;
+      return this;
+    }
+    public CreateOptions withSize(int size) {
+      this.size = size;
+      return this;
+    }
+    public CreateOptions withMaxReuses(int maxReuses) {
+      this.maxReuses = maxReuses;
+      return this;
+    }
+  }
+
+  static BrowserContextPool create(Browser browser) {
+    return create(browser, null);
+  }
+
+  static BrowserContextPool create(Browser browser, CreateOptions options) {
+    return new BrowserContextPoolImpl(browser, options);
+  }
+
+  Lease acquire();
+  /**
+   * Total number of times a context was handed out again after a reset.
+   */
+  long reuseCount();
+  /**
+   * Total number of released contexts that were closed because they couldn't be reset.
+   */
+  long disposeCount();
+
+  /**
+   * Closes idle contexts. Contexts that are currently leased are closed when released.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.BrowserPoolImpl;
+
+/**
+ * Keeps warm browsers launched ahead of time, so that getting a browser or a context doesn't wait for a launch.
+ * Spares are kept per distinct {@link BrowserType.LaunchOptions}, replenished in the background and replaced when
+ * they disconnect. Browsers shared by {@link #newContext} are retired after a number of contexts or after some time.
+ */
+public interface BrowserPool extends AutoCloseable {
+  class CreateOptions {
+    /**
+     * Number of idle browsers to keep for each launch options profile. Defaults to 1.
+     */
+    public Integer spares;
+    /**
+     * A browser that served this many contexts is closed once its contexts are closed. Defaults to 100.
+     */
+    public Integer maxContextsPerBrowser;
+    /**
+     * Browsers older than this are not used for new contexts and idle spares are relaunched. Defaults to 30.
+     */
+    public Integer maxBrowserAgeMinutes;
+
+    public CreateOptions withSpares(int spares) {
+      this.spares = spares;
+      return this;
+    }
+    public CreateOptions withMaxContextsPerBrowser(int maxContextsPerBrowser) {
+      this.maxContextsPerBrowser = maxContextsPerBrowser;
+      return this;
+    }
+    public CreateOptions withMaxBrowserAgeMinutes(int maxBrowserAgeMinutes) {
+      this.maxBrowserAgeMinutes = maxBrowserAgeMinutes;
+      return this;
+    }
+  }
+
+  static BrowserPool create(BrowserType browserType) {
+    return create(browserType, null);
+  }
+
+  static BrowserPool create(BrowserType browserType, CreateOptions options) {
+    return new BrowserPoolImpl(browserType, options);
+  }
+
+  default Browser acquire() {
+    return acquire(null);
+  }
+  /**
+   * Takes a warm browser out of the pool. The caller owns it and is responsible for closing it.
+   */
+  Browser acquire(BrowserType.LaunchOptions options);
+  default BrowserContext newContext() {
+    return newContext(null, null);
+  }
+  /**
+   * Creates a context in a browser shared by all contexts with the same launch options.
+   */
+  BrowserContext newContext(BrowserType.LaunchOptions launchOptions, Browser.NewContextOptions options);
+  /**
+   * Makes sure that the spares for the launch options are being launched, e.g. at application startup.
+   */
+  void warmUp(BrowserType.LaunchOptions options);
+
+  /**
+   * Closes spare and shared browsers. Browsers returned by {@link #acquire} are not affected.
+   */
+  @Override
+  void close();
+}
@@ -16,7 +16,9 @@
 
 package com.microsoft.playwright;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -73,5 +75,11 @@ public interface Download {
    * Returns downloaded url.
    */
   String url();
+  /**
+   * Writes the whole download to {@code channel} and returns the number of bytes written. Returns {@code -1} if download
+   * failed.
+   * @param channel Channel to write the download to. It is not closed by this method.
+   */
+  long transferTo(WritableByteChannel channel) throws IOException;
 }
 
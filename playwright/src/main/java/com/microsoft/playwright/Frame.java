@@ -1371,5 +1371,9 @@ public interface Frame {
    * @param timeout A timeout to wait for
    */
   Deferred<Void> waitForTimeout(int timeout);
+  /**
+   * Returns a view of this object whose methods don't block and return {@code CompletableFuture} instead.
+   */
+  FrameAsync async();
 }
 
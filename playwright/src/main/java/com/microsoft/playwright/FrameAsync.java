@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.Frame.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous version of {@link Frame}. All methods return immediately, the returned futures
+ * are completed on the Playwright dispatcher thread. See {@link Frame} for the documentation of each method.
+ */
+public interface FrameAsync {
+  CompletableFuture<ElementHandle> querySelector(String selector);
+  CompletableFuture<List<ElementHandle>> querySelectorAll(String selector);
+  default CompletableFuture<Object> evalOnSelector(String selector, String pageFunction) {
+    return evalOnSelector(selector, pageFunction, null);
+  }
+  CompletableFuture<Object> evalOnSelector(String selector, String pageFunction, Object arg);
+  default CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction) {
+    return evalOnSelectorAll(selector, pageFunction, null);
+  }
+  CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction, Object arg);
+  CompletableFuture<ElementHandle> addScriptTag(AddScriptTagScript script);
+  CompletableFuture<ElementHandle> addStyleTag(AddStyleTagStyle style);
+  default CompletableFuture<Void> check(String selector) {
+    return check(selector, null);
+  }
+  CompletableFuture<Void> check(String selector, CheckOptions options);
+  default CompletableFuture<Void> click(String selector) {
+    return click(selector, null);
+  }
+  CompletableFuture<Void> click(String selector, ClickOptions options);
+  CompletableFuture<String> content();
+  default CompletableFuture<Void> dblclick(String selector) {
+    return dblclick(selector, null);
+  }
+  CompletableFuture<Void> dblclick(String selector, DblclickOptions options);
+  default CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit) {
+    return dispatchEvent(selector, type, eventInit, null);
+  }
+  default CompletableFuture<Void> dispatchEvent(String selector, String type) {
+    return dispatchEvent(selector, type, null);
+  }
+  CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options);
+  default CompletableFuture<Object> evaluate(String pageFunction) {
+    return evaluate(pageFunction, null);
+  }
+  CompletableFuture<Object> evaluate(String pageFunction, Object arg);
+  default CompletableFuture<JSHandle> evaluateHandle(String pageFunction) {
+    return evaluateHandle(pageFunction, null);
+  }
+  CompletableFuture<JSHandle> evaluateHandle(String pageFunction, Object arg);
+  default CompletableFuture<Void> fill(String selector, String value) {
+    return fill(selector, value, null);
+  }
+  CompletableFuture<Void> fill(String selector, String value, FillOptions options);
+  default CompletableFuture<Void> focus(String selector) {
+    return focus(selector, null);
+  }
+  CompletableFuture<Void> focus(String selector, FocusOptions options);
+  CompletableFuture<ElementHandle> frameElement();
+  default CompletableFuture<String> getAttribute(String selector, String name) {
+    return getAttribute(selector, name, null);
+  }
+  CompletableFuture<String> getAttribute(String selector, String name, GetAttributeOptions options);
+  default CompletableFuture<Response> navigate(String url) {
+    return navigate(url, null);
+  }
+  CompletableFuture<Response> navigate(String url, NavigateOptions options);
+  default CompletableFuture<Void> hover(String selector) {
+    return hover(selector, null);
+  }
+  CompletableFuture<Void> hover(String selector, HoverOptions options);
+  default CompletableFuture<String> innerHTML(String selector) {
+    return innerHTML(selector, null);
+  }
+  CompletableFuture<String> innerHTML(String selector, InnerHTMLOptions options);
+  default CompletableFuture<String> innerText(String selector) {
+    return innerText(selector, null);
+  }
+  CompletableFuture<String> innerText(String selector, InnerTextOptions options);
+  default CompletableFuture<Void> press(String selector, String key) {
+    return press(selector, key, null);
+  }
+  CompletableFuture<Void> press(String selector, String key, PressOptions options);
+  default CompletableFuture<List<String>> selectOption(String selector, String value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String value, SelectOptionOptions options) {
+    String[] values = value == null ? null : new String[]{ value };
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String[] values) {
+    return selectOption(selector, values, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String[] values, SelectOptionOptions options) {
+    if (values == null) {
+      return selectOption(selector, new ElementHandle.SelectOption[0], options);
+    }
+    return selectOption(selector, Arrays.asList(values).stream().map(
+      v -> new ElementHandle.SelectOption().withValue(v)).toArray(ElementHandle.SelectOption[]::new), options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption value, SelectOptionOptions options) {
+    ElementHandle.SelectOption[] values = value == null ? null : new ElementHandle.SelectOption[]{value};
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values) {
+    return selectOption(selector, values, null);
+  }
+  CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options);
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle value, SelectOptionOptions options) {
+    ElementHandle[] values = value == null ? null : new ElementHandle[]{value};
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values) {
+    return selectOption(selector, values, null);
+  }
+  CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options);
+  default CompletableFuture<Void> setContent(String html) {
+    return setContent(html, null);
+  }
+  CompletableFuture<Void> setContent(String html, SetContentOptions options);
+  default CompletableFuture<Void> setInputFiles(String selector, Path file) { return setInputFiles(selector, file, null); }
+  default CompletableFuture<Void> setInputFiles(String selector, Path file, SetInputFilesOptions options) { return setInputFiles(selector, new Path[]{ file }, options); }
+  default CompletableFuture<Void> setInputFiles(String selector, Path[] files) { return setInputFiles(selector, files, null); }
+  CompletableFuture<Void> setInputFiles(String selector, Path[] files, SetInputFilesOptions options);
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload file) { return setInputFiles(selector, file, null); }
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload file, SetInputFilesOptions options) { return setInputFiles(selector, new FileChooser.FilePayload[]{ file }, options); }
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files) { return setInputFiles(selector, files, null); }
+  CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options);
+  default CompletableFuture<Void> tap(String selector) {
+    return tap(selector, null);
+  }
+  CompletableFuture<Void> tap(String selector, TapOptions options);
+  default CompletableFuture<String> textContent(String selector) {
+    return textContent(selector, null);
+  }
+  CompletableFuture<String> textContent(String selector, TextContentOptions options);
+  CompletableFuture<String> title();
+  default CompletableFuture<Void> type(String selector, String text) {
+    return type(selector, text, null);
+  }
+  CompletableFuture<Void> type(String selector, String text, TypeOptions options);
+  default CompletableFuture<Void> uncheck(String selector) {
+    return uncheck(selector, null);
+  }
+  CompletableFuture<Void> uncheck(String selector, UncheckOptions options);
+  default CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg) {
+    return waitForFunction(pageFunction, arg, null);
+  }
+  default CompletableFuture<JSHandle> waitForFunction(String pageFunction) {
+    return waitForFunction(pageFunction, null);
+  }
+  CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options);
+  default CompletableFuture<Void> waitForLoadState(LoadState state) {
+    return waitForLoadState(state, null);
+  }
+  default CompletableFuture<Void> waitForLoadState() {
+    return waitForLoadState(null);
+  }
+  CompletableFuture<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options);
+  default CompletableFuture<Response> waitForNavigation() {
+    return waitForNavigation(null);
+  }
+  CompletableFuture<Response> waitForNavigation(WaitForNavigationOptions options);
+  default CompletableFuture<ElementHandle> waitForSelector(String selector) {
+    return waitForSelector(selector, null);
+  }
+  CompletableFuture<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options);
+  CompletableFuture<Void> waitForTimeout(int timeout);
+}
+
@@ -16,8 +16,10 @@
 
 package com.microsoft.playwright;
 
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -2181,5 +2183,59 @@ public interface Page {
   Keyboard keyboard();
   Mouse mouse();
   Touchscreen touchscreen();
+  /**
+   * Returns a view of this object whose methods don't block and return {@code CompletableFuture} instead.
+   */
+  PageAsync async();
+  void routeAsync(String url, java.util.function.Function<Route, CompletionStage<?>> handler);
+  void routeAsync(Pattern url, java.util.function.Function<Route, CompletionStage<?>> handler);
+  /**
+   * Same as {@code route()}, but {@code handler} is only expected to start handling the request, e.g. on an
+   * {@code Executor}, and return a stage that completes when it is done. The dispatcher thread is not blocked meanwhile, so
+   * that many requests can be handled concurrently. The route is continued if the handler didn't handle it, aborted if the
+   * stage completed exceptionally or didn't complete within the default timeout.
+   * @param url A glob pattern, regex pattern or predicate receiving URL to match while routing.
+   * @param handler handler function to route the request.
+   */
+  void routeAsync(Predicate<String> url, java.util.function.Function<Route, CompletionStage<?>> handler);
+  /**
+   * Returns statistics of the routes registered with {@code route()}, in registration order.
+   */
+  List<RouteStats> routeStats();
+  /**
+   * Adds a declarative rule that continues or aborts matching requests. Rules are evaluated on the dispatcher thread as
+   * soon as a request is intercepted and before any route handlers, the first matching rule decides. Requests that no rule
+   * or route handles are continued without waiting for the driver.
+   */
+  void addRouteRule(RouteRule rule);
+  /**
+   * Removes a rule added with {@code addRouteRule()}.
+   */
+  void removeRouteRule(RouteRule rule);
+  /**
+   * Runs the commands issued on {@code commands} in order and waits for all of them to complete. Consecutive commands that
+   * only read the page, such as {@code textContent()} or {@code getAttribute()}, are sent to the driver together without
+   * waiting for each other's replies. Commands that may change the page, such as {@code fill()} or {@code click()}, are not
+   * batched: each of them is sent once the commands before it are done, so they cost a round trip each, the same as calling
+   * them one by one. The returned futures are completed when this method returns, waiting for them inside {@code commands}
+   * throws.
+   */
+  BatchResults batch(Consumer<PageAsync> commands);
+  /**
+   * Same as {@link #screenshot(ScreenshotOptions)} but writes the image to {@code channel} instead of returning it, and
+   * returns the number of bytes written. The image is decoded into a pooled buffer, or a temporary file if it is very large,
+   * and written from there, which saves the {@code byte[]} copy but not the decoded one. If {@code path} option is set the
+   * image is saved to that file too.
+   * @param channel Channel to write the image to. It is not closed by this method.
+   */
+  long screenshot(WritableByteChannel channel, ScreenshotOptions options);
+  /**
+   * Same as {@link #pdf(PdfOptions)} but writes the pdf to {@code channel} instead of returning it, and returns the number
+   * of bytes written. The pdf is decoded into a pooled buffer, or a temporary file if it is very large, and written from
+   * there, which saves the {@code byte[]} copy but not the decoded one. If {@code path} option is set the pdf is saved to
+   * that file too.
+   * @param channel Channel to write the pdf to. It is not closed by this method.
+   */
+  long pdf(WritableByteChannel channel, PdfOptions options);
 }
 
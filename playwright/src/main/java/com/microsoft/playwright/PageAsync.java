@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.Page.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Asynchronous version of {@link Page}. All methods return immediately, the returned futures
+ * are completed on the Playwright dispatcher thread. See {@link Page} for the documentation of each method.
+ */
+public interface PageAsync {
+  CompletableFuture<ElementHandle> querySelector(String selector);
+  CompletableFuture<List<ElementHandle>> querySelectorAll(String selector);
+  default CompletableFuture<Object> evalOnSelector(String selector, String pageFunction) {
+    return evalOnSelector(selector, pageFunction, null);
+  }
+  CompletableFuture<Object> evalOnSelector(String selector, String pageFunction, Object arg);
+  default CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction) {
+    return evalOnSelectorAll(selector, pageFunction, null);
+  }
+  CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction, Object arg);
+  default CompletableFuture<Void> addInitScript(String script) {
+    return addInitScript(script, null);
+  }
+  CompletableFuture<Void> addInitScript(String script, Object arg);
+  CompletableFuture<ElementHandle> addScriptTag(AddScriptTagScript script);
+  CompletableFuture<ElementHandle> addStyleTag(AddStyleTagStyle style);
+  CompletableFuture<Void> bringToFront();
+  default CompletableFuture<Void> check(String selector) {
+    return check(selector, null);
+  }
+  CompletableFuture<Void> check(String selector, CheckOptions options);
+  default CompletableFuture<Void> click(String selector) {
+    return click(selector, null);
+  }
+  CompletableFuture<Void> click(String selector, ClickOptions options);
+  default CompletableFuture<Void> close() {
+    return close(null);
+  }
+  CompletableFuture<Void> close(CloseOptions options);
+  CompletableFuture<String> content();
+  default CompletableFuture<Void> dblclick(String selector) {
+    return dblclick(selector, null);
+  }
+  CompletableFuture<Void> dblclick(String selector, DblclickOptions options);
+  default CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit) {
+    return dispatchEvent(selector, type, eventInit, null);
+  }
+  default CompletableFuture<Void> dispatchEvent(String selector, String type) {
+    return dispatchEvent(selector, type, null);
+  }
+  CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options);
+  CompletableFuture<Void> emulateMedia(EmulateMediaParams params);
+  default CompletableFuture<Object> evaluate(String pageFunction) {
+    return evaluate(pageFunction, null);
+  }
+  CompletableFuture<Object> evaluate(String pageFunction, Object arg);
+  default CompletableFuture<JSHandle> evaluateHandle(String pageFunction) {
+    return evaluateHandle(pageFunction, null);
+  }
+  CompletableFuture<JSHandle> evaluateHandle(String pageFunction, Object arg);
+  default CompletableFuture<Void> fill(String selector, String value) {
+    return fill(selector, value, null);
+  }
+  CompletableFuture<Void> fill(String selector, String value, FillOptions options);
+  default CompletableFuture<Void> focus(String selector) {
+    return focus(selector, null);
+  }
+  CompletableFuture<Void> focus(String selector, FocusOptions options);
+  default CompletableFuture<String> getAttribute(String selector, String name) {
+    return getAttribute(selector, name, null);
+  }
+  CompletableFuture<String> getAttribute(String selector, String name, GetAttributeOptions options);
+  default CompletableFuture<Response> goBack() {
+    return goBack(null);
+  }
+  CompletableFuture<Response> goBack(GoBackOptions options);
+  default CompletableFuture<Response> goForward() {
+    return goForward(null);
+  }
+  CompletableFuture<Response> goForward(GoForwardOptions options);
+  default CompletableFuture<Response> navigate(String url) {
+    return navigate(url, null);
+  }
+  CompletableFuture<Response> navigate(String url, NavigateOptions options);
+  default CompletableFuture<Void> hover(String selector) {
+    return hover(selector, null);
+  }
+  CompletableFuture<Void> hover(String selector, HoverOptions options);
+  default CompletableFuture<String> innerHTML(String selector) {
+    return innerHTML(selector, null);
+  }
+  CompletableFuture<String> innerHTML(String selector, InnerHTMLOptions options);
+  default CompletableFuture<String> innerText(String selector) {
+    return innerText(selector, null);
+  }
+  CompletableFuture<String> innerText(String selector, InnerTextOptions options);
+  CompletableFuture<Page> opener();
+  default CompletableFuture<byte[]> pdf() {
+    return pdf(null);
+  }
+  CompletableFuture<byte[]> pdf(PdfOptions options);
+  default CompletableFuture<Void> press(String selector, String key) {
+    return press(selector, key, null);
+  }
+  CompletableFuture<Void> press(String selector, String key, PressOptions options);
+  default CompletableFuture<Response> reload() {
+    return reload(null);
+  }
+  CompletableFuture<Response> reload(ReloadOptions options);
+  default CompletableFuture<byte[]> screenshot() {
+    return screenshot(null);
+  }
+  CompletableFuture<byte[]> screenshot(ScreenshotOptions options);
+  default CompletableFuture<List<String>> selectOption(String selector, String value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String value, SelectOptionOptions options) {
+    String[] values = value == null ? null : new String[]{ value };
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String[] values) {
+    return selectOption(selector, values, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, String[] values, SelectOptionOptions options) {
+    if (values == null) {
+      return selectOption(selector, new ElementHandle.SelectOption[0], options);
+    }
+    return selectOption(selector, Arrays.asList(values).stream().map(
+      v -> new ElementHandle.SelectOption().withValue(v)).toArray(ElementHandle.SelectOption[]::new), options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption value, SelectOptionOptions options) {
+    ElementHandle.SelectOption[] values = value == null ? null : new ElementHandle.SelectOption[]{value};
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values) {
+    return selectOption(selector, values, null);
+  }
+  CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options);
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle value) {
+    return selectOption(selector, value, null);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle value, SelectOptionOptions options) {
+    ElementHandle[] values = value == null ? null : new ElementHandle[]{value};
+    return selectOption(selector, values, options);
+  }
+  default CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values) {
+    return selectOption(selector, values, null);
+  }
+  CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options);
+  default CompletableFuture<Void> setContent(String html) {
+    return setContent(html, null);
+  }
+  CompletableFuture<Void> setContent(String html, SetContentOptions options);
+  CompletableFuture<Void> setExtraHTTPHeaders(Map<String, String> headers);
+  default CompletableFuture<Void> setInputFiles(String selector, Path file) { return setInputFiles(selector, file, null); }
+  default CompletableFuture<Void> setInputFiles(String selector, Path file, SetInputFilesOptions options) { return setInputFiles(selector, new Path[]{ file }, options); }
+  default CompletableFuture<Void> setInputFiles(String selector, Path[] files) { return setInputFiles(selector, files, null); }
+  CompletableFuture<Void> setInputFiles(String selector, Path[] files, SetInputFilesOptions options);
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload file) { return setInputFiles(selector, file, null); }
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload file, SetInputFilesOptions options) { return setInputFiles(selector, new FileChooser.FilePayload[]{ file }, options); }
+  default CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files) { return setInputFiles(selector, files, null); }
+  CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options);
+  CompletableFuture<Void> setViewportSize(int width, int height);
+  default CompletableFuture<Void> tap(String selector) {
+    return tap(selector, null);
+  }
+  CompletableFuture<Void> tap(String selector, TapOptions options);
+  default CompletableFuture<String> textContent(String selector) {
+    return textContent(selector, null);
+  }
+  CompletableFuture<String> textContent(String selector, TextContentOptions options);
+  CompletableFuture<String> title();
+  default CompletableFuture<Void> type(String selector, String text) {
+    return type(selector, text, null);
+  }
+  CompletableFuture<Void> type(String selector, String text, TypeOptions options);
+  default CompletableFuture<Void> uncheck(String selector) {
+    return uncheck(selector, null);
+  }
+  CompletableFuture<Void> uncheck(String selector, UncheckOptions options);
+  default CompletableFuture<Event<EventType>> waitForEvent(EventType event) {
+    return waitForEvent(event, (WaitForEventOptions) null);
+  }
+  default CompletableFuture<Event<EventType>> waitForEvent(EventType event, Predicate<Event<EventType>> predicate) {
+    WaitForEventOptions options = new WaitForEventOptions();
+    options.predicate = predicate;
+    return waitForEvent(event, options);
+  }
+  CompletableFuture<Event<EventType>> waitForEvent(EventType event, WaitForEventOptions options);
+  default CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg) {
+    return waitForFunction(pageFunction, arg, null);
+  }
+  default CompletableFuture<JSHandle> waitForFunction(String pageFunction) {
+    return waitForFunction(pageFunction, null);
+  }
+  CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options);
+  default CompletableFuture<Void> waitForLoadState(LoadState state) {
+    return waitForLoadState(state, null);
+  }
+  default CompletableFuture<Void> waitForLoadState() {
+    return waitForLoadState(null);
+  }
+  CompletableFuture<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options);
+  default CompletableFuture<Response> waitForNavigation() {
+    return waitForNavigation(null);
+  }
+  CompletableFuture<Response> waitForNavigation(WaitForNavigationOptions options);
+  default CompletableFuture<Request> waitForRequest(String urlGlob) { return waitForRequest(urlGlob, null); }
+  default CompletableFuture<Request> waitForRequest(Pattern urlPattern) { return waitForRequest(urlPattern, null); }
+  default CompletableFuture<Request> waitForRequest(Predicate<String> urlPredicate) { return waitForRequest(urlPredicate, null); }
+  CompletableFuture<Request> waitForRequest(String urlGlob, WaitForRequestOptions options);
+  CompletableFuture<Request> waitForRequest(Pattern urlPattern, WaitForRequestOptions options);
+  CompletableFuture<Request> waitForRequest(Predicate<String> urlPredicate, WaitForRequestOptions options);
+  default CompletableFuture<Response> waitForResponse(String urlGlob) { return waitForResponse(urlGlob, null); }
+  default CompletableFuture<Response> waitForResponse(Pattern urlPattern) { return waitForResponse(urlPattern, null); }
+  default CompletableFuture<Response> waitForResponse(Predicate<String> urlPredicate) { return waitForResponse(urlPredicate, null); }
+  CompletableFuture<Response> waitForResponse(String urlGlob, WaitForResponseOptions options);
+  CompletableFuture<Response> waitForResponse(Pattern urlPattern, WaitForResponseOptions options);
+  CompletableFuture<Response> waitForResponse(Predicate<String> urlPredicate, WaitForResponseOptions options);
+  default CompletableFuture<ElementHandle> waitForSelector(String selector) {
+    return waitForSelector(selector, null);
+  }
+  CompletableFuture<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options);
+  CompletableFuture<Void> waitForTimeout(int timeout);
+}
+
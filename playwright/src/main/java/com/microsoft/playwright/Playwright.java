@@ -21,8 +21,48 @@ import com.microsoft.playwright.impl.PlaywrightImpl;
 import java.util.Map;
 
 public interface Playwright extends AutoCloseable {
+  /**
+   * Determines how a thread blocked on a Playwright call waits for the driver to respond.
+   */
+  enum WaitStrategy {
+    /**
+     * Block until a message arrives or a deadline passes. This is the default.
+     */
+    PARK,
+    /**
+     * Spin for a short while before blocking, trades some CPU for lower latency.
+     */
+    SPIN_THEN_PARK,
+    /**
+     * Never block, burns a core per waiting thread. Only for latency-critical runs.
+     */
+    BUSY_SPIN
+  }
+
+  class CreateOptions {
+    public WaitStrategy waitStrategy;
+    /**
+     * If true, all instances created with this option (and the same wait strategy) share one driver process. The
+     * process exits when the last of them is closed. Closing an instance closes the browsers it launched.
+     */
+    public Boolean sharedDriver;
+
+    public CreateOptions withWaitStrategy(WaitStrategy waitStrategy) {
+      this.waitStrategy = waitStrategy;
+      return this;
+    }
+    public CreateOptions withSharedDriver(boolean sharedDriver) {
+      this.sharedDriver = sharedDriver;
+      return this;
+    }
+  }
+
   static Playwright create() {
-    return PlaywrightImpl.create();
+    return create(null);
+  }
+
+  static Playwright create(CreateOptions options) {
+    return PlaywrightImpl.create(options);
   }
 
   BrowserType chromium();
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import com.microsoft.playwright.impl.PlaywrightPoolImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs several driver processes and spreads browsers and contexts across them, so that the work of the driver is
+ * not limited to a single core. New browsers and contexts are placed on the least loaded driver, judged by the number
+ * of commands waiting for a reply and the recent rate of messages from the driver.
+ */
+public interface PlaywrightPool extends AutoCloseable {
+  class CreateOptions {
+    /**
+     * Number of driver processes, defaults to half of the available processors.
+     */
+    public Integer size;
+    /**
+     * Options for each of the driver processes.
+     */
+    public Playwright.CreateOptions playwrightOptions;
+    /**
+     * Options for the browsers launched by {@link PlaywrightPool#newContext}.
+     */
+    public BrowserType.LaunchOptions launchOptions;
+
+    public CreateOptions withSize(int size) {
+      this.size = size;
+      return this;
+    }
+    public CreateOptions withPlaywrightOptions(Playwright.CreateOptions playwrightOptions) {
+      this.playwrightOptions = playwrightOptions;
+      return this;
+    }
+    public CreateOptions withLaunchOptions(BrowserType.LaunchOptions launchOptions) {
+      this.launchOptions = launchOptions;
+      return this;
+    }
+  }
+
+  static PlaywrightPool create() {
+    return create(null);
+  }
+
+  static PlaywrightPool create(CreateOptions options) {
+    return PlaywrightPoolImpl.create(options);
+  }
+
+  /**
+   * All instances in the pool, one per driver process.
+   */
+  List<Playwright> playwrights();
+  /**
+   * Returns the instance whose driver is currently the least loaded.
+   */
+  Playwright leastLoaded();
+  default Browser launch(Function<Playwright, BrowserType> browserType) {
+    return launch(browserType, null);
+  }
+  /**
+   * Launches a browser on the least loaded driver, e.g. {@code pool.launch(Playwright::chromium, options)}.
+   */
+  Browser launch(Function<Playwright, BrowserType> browserType, BrowserType.LaunchOptions options);
+  default BrowserContext newContext(Function<Playwright, BrowserType> browserType) {
+    return newContext(browserType, null);
+  }
+  /**
+   * Creates a context on the least loaded driver. Each driver launches one browser of every type on first use,
+   * with {@link CreateOptions#launchOptions}, and keeps it until the pool is closed.
+   */
+  BrowserContext newContext(Function<Playwright, BrowserType> browserType, Browser.NewContextOptions options);
+
+  /**
+   * Closes all driver processes of the pool together with their browsers.
+   */
+  @Override
+  void close();
+}
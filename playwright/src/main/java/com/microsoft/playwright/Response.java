@@ -16,6 +16,8 @@
 
 package com.microsoft.playwright;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -62,5 +64,15 @@ public interface Response {
    * Contains the URL of the response.
    */
   String url();
+  /**
+   * Returns a stream over the response body. Unlike {@link #body()} it does not copy the body into an array, so it
+   * suits large bodies. The stream should be closed to release the body.
+   */
+  InputStream bodyStream();
+  /**
+   * Saves the response body to a file without copying it into an array.
+   * @param path Path where the body should be saved.
+   */
+  void bodyTo(Path path);
 }
 
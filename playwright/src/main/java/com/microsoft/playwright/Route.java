@@ -16,6 +16,7 @@
 
 package com.microsoft.playwright;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
@@ -83,6 +84,7 @@ public interface Route {
      */
     public String body;
     public byte[] bodyBytes;
+    public ByteBuffer bodyBuffer;
     /**
      * Optional file path to respond with. The content type will be inferred from file extension. If {@code path} is a relative path, then it is resolved relative to current working directory.
      */
@@ -104,6 +106,10 @@ public interface Route {
       this.bodyBytes = body;
       return this;
     }
+    public FulfillResponse withBody(ByteBuffer body) {
+      this.bodyBuffer = body;
+      return this;
+    }
     public FulfillResponse withBody(String body) {
       this.body = body;
       return this;
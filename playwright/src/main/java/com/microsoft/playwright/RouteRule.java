@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Declarative routing rule, see {@link Page#addRouteRule} and {@link BrowserContext#addRouteRule}. Rules are
+ * evaluated on the Playwright dispatcher thread as soon as the request is intercepted, and the request is continued
+ * or aborted without waiting for the driver reply. A rule matches a request if all of its conditions match, a rule
+ * without conditions matches every request.
+ */
+public class RouteRule {
+  public enum Action { CONTINUE, ABORT }
+
+  public Action action;
+  /**
+   * Glob pattern the request URL must match.
+   */
+  public String url;
+  /**
+   * Resource types of the requests, e.g. {@code image} or {@code font}, see {@link Request#resourceType}.
+   */
+  public Set<String> resourceTypes;
+  /**
+   * Hosts of the requests, subdomains of the hosts match too.
+   */
+  public Set<String> hosts;
+  /**
+   * Error code of aborted requests, see {@link Route#abort}.
+   */
+  public String errorCode;
+
+  public RouteRule(Action action) {
+    this.action = action;
+  }
+
+  public static RouteRule abort() {
+    return new RouteRule(Action.ABORT);
+  }
+
+  public static RouteRule continue_() {
+    return new RouteRule(Action.CONTINUE);
+  }
+
+  public RouteRule withUrl(String url) {
+    this.url = url;
+    return this;
+  }
+  public RouteRule withResourceTypes(String... resourceTypes) {
+    this.resourceTypes = new HashSet<>(Arrays.asList(resourceTypes));
+    return this;
+  }
+  public RouteRule withHosts(String... hosts) {
+    this.hosts = new HashSet<>(Arrays.asList(hosts));
+    return this;
+  }
+  public RouteRule withErrorCode(String errorCode) {
+    this.errorCode = errorCode;
+    return this;
+  }
+}
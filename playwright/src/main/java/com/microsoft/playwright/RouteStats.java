@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+/**
+ * Statistics of a route registered with {@link Page#route} or {@link BrowserContext#route}.
+ */
+public interface RouteStats {
+  /**
+   * Returns the glob, regular expression or predicate the route was registered with.
+   */
+  String url();
+  /**
+   * Returns the number of requests handled by the route.
+   */
+  long hitCount();
+  /**
+   * Returns the number of requests passed to an asynchronous handler whose completion stage has neither completed nor
+   * timed out yet.
+   */
+  long pendingCount();
+  /**
+   * Returns the number of requests that an asynchronous handler didn't handle within the default timeout.
+   */
+  long timeoutCount();
+}
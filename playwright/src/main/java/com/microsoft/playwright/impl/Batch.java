@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.BatchResults;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Commands are collected first, then sent in order: a command that may change the page
+// is sent once everything before it is done, consecutive read-only commands are sent
+// back-to-back. Each group is sent from the completion of the previous one, on the
+// dispatcher thread. The futures are completed once all of them are done.
+class Batch implements BatchResults, Waitable<BatchResults> {
+  private final Connection connection;
+  private final List<Command> commands = new ArrayList<>();
+  // The thread that runs batch().
+  private final Thread thread = Thread.currentThread();
+  private volatile boolean isCollecting = true;
+  private volatile boolean isComplete;
+  private boolean isDisposed;
+  // Commands [groupStart, sentCount) are in flight.
+  private volatile int groupStart;
+  private volatile int sentCount;
+
+  Batch(Connection connection) {
+    this.connection = connection;
+  }
+
+  private static class Command {
+    final Supplier<? extends Waitable<?>> action;
+    final boolean isReadOnly;
+    final BatchFuture<Object> future;
+    volatile Waitable<?> waitable;
+
+    Command(Supplier<? extends Waitable<?>> action, boolean isReadOnly, BatchFuture<Object> future) {
+      this.action = action;
+      this.isReadOnly = isReadOnly;
+      this.future = future;
+    }
+  }
+
+  // The results are only known after batch() returns, waiting for them earlier would deadlock.
+  private class BatchFuture<T> extends CompletableFuture<T> {
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+      checkNotCollecting();
+      return super.get();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      checkNotCollecting();
+      return super.get(timeout, unit);
+    }
+
+    @Override
+    public T join() {
+      checkNotCollecting();
+      return super.join();
+    }
+  }
+
+  private void checkNotCollecting() {
+    if (isCollecting && Thread.currentThread() == thread) {
+      throw new PlaywrightException("Results of batched commands are only available after batch() returns");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> CompletableFuture<T> add(Supplier<Waitable<T>> action, boolean isReadOnly) {
+    if (!isCollecting || Thread.currentThread() != thread) {
+      throw new PlaywrightException("Commands can only be added to a batch from within batch()");
+    }
+    BatchFuture<Object> future = new BatchFuture<>();
+    commands.add(new Command(action, isReadOnly, future));
+    return (CompletableFuture<T>) future;
+  }
+
+  // Called once all commands have been added.
+  void start() {
+    isCollecting = false;
+    sendGroup(0);
+  }
+
+  // Sends the commands from start up to the next one that may change the page, or just that
+  // one. The next group is sent when all replies of this one have arrived.
+  private synchronized void sendGroup(int start) {
+    if (isDisposed) {
+      return;
+    }
+    if (start == commands.size()) {
+      isComplete = true;
+      return;
+    }
+    int end = start + 1;
+    if (commands.get(start).isReadOnly) {
+      while (end < commands.size() && commands.get(end).isReadOnly) {
+        end++;
+      }
+    }
+    CompletableFuture<?>[] replies = new CompletableFuture<?>[end - start];
+    for (int i = start; i < end; i++) {
+      Command command = commands.get(i);
+      Waitable<?> waitable;
+      try {
+        waitable = command.action.get();
+      } catch (RuntimeException e) {
+        WaitableResult<Object> failed = new WaitableResult<>();
+        failed.completeExceptionally(e);
+        waitable = failed;
+      }
+      command.waitable = waitable;
+      replies[i - start] = connection.toFuture(waitable);
+    }
+    groupStart = start;
+    sentCount = end;
+    int next = end;
+    // Failed commands don't stop the batch, their errors are reported through their futures.
+    CompletableFuture.allOf(replies).whenComplete((result, error) -> sendGroup(next));
+  }
+
+  @Override
+  public boolean isDone() {
+    return isComplete;
+  }
+
+  @Override
+  public BatchResults get() {
+    for (Command command : commands) {
+      try {
+        command.future.complete(command.waitable.get());
+      } catch (RuntimeException e) {
+        command.future.completeExceptionally(e);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized void dispose() {
+    isDisposed = true;
+    for (int i = 0; i < sentCount; i++) {
+      commands.get(i).waitable.dispose();
+    }
+    for (int i = sentCount; i < commands.size(); i++) {
+      commands.get(i).future.completeExceptionally(new PlaywrightException("Batch was aborted before the command was sent"));
+    }
+  }
+
+  @Override
+  public long nanosUntilDeadline() {
+    long result = Long.MAX_VALUE;
+    for (int i = groupStart; i < sentCount; i++) {
+      result = Math.min(result, commands.get(i).waitable.nanosUntilDeadline());
+    }
+    return result;
+  }
+
+  @Override
+  public int size() {
+    return commands.size();
+  }
+
+  @Override
+  public Object get(int index) {
+    try {
+      return commands.get(index).future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof PlaywrightException) {
+        throw (PlaywrightException) e.getCause();
+      }
+      throw new PlaywrightException("Command failed", e.getCause());
+    } catch (InterruptedException e) {
+      throw new PlaywrightException("Interrupted", e);
+    }
+  }
+
+  @Override
+  public PlaywrightException error(int index) {
+    try {
+      get(index);
+      return null;
+    } catch (PlaywrightException e) {
+      return e;
+    }
+  }
+
+  @Override
+  public boolean hasErrors() {
+    for (Command command : commands) {
+      if (command.future.isCompletedExceptionally()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Decoded contents of a base64 field. Large fields are decoded straight from
+ * the incoming message into a pooled buffer or a temporary file, see BinaryFields.
+ */
+class BinaryData {
+  private final BufferPool pool;
+  private final long size;
+  // Contents in memory, null if they were spilled to file.
+  private ByteBuffer buffer;
+  private Path file;
+  private boolean isReleased;
+
+  private BinaryData(BufferPool pool, ByteBuffer buffer, Path file, long size) {
+    this.pool = pool;
+    this.buffer = buffer;
+    this.file = file;
+    this.size = size;
+  }
+
+  static BinaryData of(byte[] bytes) {
+    return new BinaryData(null, ByteBuffer.wrap(bytes), null, bytes.length);
+  }
+
+  static BinaryData pooled(BufferPool pool, ByteBuffer buffer) {
+    return new BinaryData(pool, buffer, null, buffer.limit());
+  }
+
+  static BinaryData spilled(Path file, long size) {
+    return new BinaryData(null, null, file, size);
+  }
+
+  long size() {
+    return size;
+  }
+
+  // Returns the contents positioned at 0, spilled contents are mapped into memory.
+  synchronized ByteBuffer buffer() {
+    checkNotReleased();
+    if (buffer != null) {
+      ByteBuffer result = buffer.duplicate();
+      result.position(0);
+      return result;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to read " + file, e);
+    }
+  }
+
+  // Always returns a new array unless the contents were created from one, pooled buffers
+  // are reused for incoming messages once released.
+  byte[] toByteArray() {
+    ByteBuffer contents = buffer();
+    if (pool == null && contents.hasArray() && contents.arrayOffset() == 0 && contents.array().length == size) {
+      return contents.array();
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new PlaywrightException("BinaryData data is too large for an array: " + size + " bytes");
+    }
+    byte[] result = new byte[(int) size];
+    contents.get(result);
+    return result;
+  }
+
+  // Writes the contents to channel and, if path is not null, to that file.
+  long writeTo(WritableByteChannel channel, Path path) {
+    try {
+      writeFully(buffer(), channel);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to write binary data", e);
+    }
+    if (path != null) {
+      writeTo(path);
+    }
+    return size;
+  }
+
+  synchronized void writeTo(Path path) {
+    checkNotReleased();
+    Utils.createParentDirectories(path);
+    try {
+      if (file != null) {
+        Files.copy(file, path, StandardCopyOption.REPLACE_EXISTING);
+        return;
+      }
+      try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        writeFully(buffer(), out);
+      }
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to write to file", e);
+    }
+  }
+
+  // Returns a stream over the contents that releases them when closed.
+  InputStream newInputStream() {
+    ByteBuffer contents = buffer();
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        return contents.hasRemaining() ? contents.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+          return 0;
+        }
+        if (!contents.hasRemaining()) {
+          return -1;
+        }
+        int count = Math.min(len, contents.remaining());
+        contents.get(b, off, count);
+        return count;
+      }
+
+      @Override
+      public long skip(long n) {
+        int count = (int) Math.max(0, Math.min(n, contents.remaining()));
+        contents.position(contents.position() + count);
+        return count;
+      }
+
+      @Override
+      public int available() {
+        return contents.remaining();
+      }
+
+      @Override
+      public void close() {
+        release();
+      }
+    };
+  }
+
+  private static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  // Returns the buffer to the pool or deletes the file. The contents can't be accessed afterwards.
+  synchronized void release() {
+    if (isReleased) {
+      return;
+    }
+    isReleased = true;
+    if (pool != null) {
+      pool.release(buffer);
+    }
+    buffer = null;
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // The file is also deleted on exit.
+      }
+      file = null;
+    }
+  }
+
+  private void checkNotReleased() {
+    if (isReleased) {
+      throw new IllegalStateException("BinaryData data accessed after release");
+    }
+  }
+}
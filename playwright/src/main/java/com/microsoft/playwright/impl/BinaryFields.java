@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes large base64 fields of incoming messages before the messages are parsed,
+ * so that their text never becomes a Java string. The decoded data goes to a pooled
+ * buffer, or to a temporary file past SPILL_THRESHOLD, and the field value in the
+ * message is overwritten with a short reference that is resolved by get(). Whoever
+ * resolves a reference owns the data and releases it, data that is never resolved is
+ * released once the message that references it has been garbage collected.
+ */
+class BinaryFields {
+  // Shorter base64 values are left in place.
+  static final int MIN_LENGTH = 64 * 1024;
+  // Decoded values larger than this are written to a temporary file.
+  static final int SPILL_THRESHOLD = 32 * 1024 * 1024;
+  // Must be a multiple of 4.
+  private static final int BLOCK_SIZE = 64 * 1024;
+  // Can't occur in base64.
+  private static final String REFERENCE_PREFIX = "#binary:";
+  private static final byte[][] FIELD_PREFIXES = {
+    fieldPrefix("binary"),
+    fieldPrefix("pdf"),
+    fieldPrefix("postData"),
+    // Binary websocket frames, the driver sends the opcode first.
+    "\"opcode\":2,\"data\":\"".getBytes(StandardCharsets.UTF_8),
+  };
+
+  private final BufferPool pool;
+  private final int spillThreshold;
+  // Data of the parsed messages that hasn't been resolved yet, by reference id.
+  private final Map<Integer, Unresolved> references = new ConcurrentHashMap<>();
+  // The reference strings of collected messages.
+  private final ReferenceQueue<String> collected = new ReferenceQueue<>();
+  private final byte[] encodedBlock = new byte[BLOCK_SIZE];
+  private final byte[] decodedBlock = new byte[BLOCK_SIZE / 4 * 3];
+  private int lastId;
+
+  // Tracks the reference string of the parsed message, it is collected together with the message.
+  private static class Unresolved extends WeakReference<String> {
+    final int id;
+    final BinaryData binary;
+
+    Unresolved(String reference, int id, BinaryData binary, ReferenceQueue<String> queue) {
+      super(reference, queue);
+      this.id = id;
+      this.binary = binary;
+    }
+  }
+
+  BinaryFields(BufferPool pool) {
+    this(pool, SPILL_THRESHOLD);
+  }
+
+  BinaryFields(BufferPool pool, int spillThreshold) {
+    this.pool = pool;
+    this.spillThreshold = spillThreshold;
+  }
+
+  private static byte[] fieldPrefix(String name) {
+    return ("\"" + name + "\":\"").getBytes(StandardCharsets.UTF_8);
+  }
+
+  // Returns the decoded contents of a base64 field, the caller must release them.
+  BinaryData get(JsonElement field) {
+    releaseCollected();
+    String value = field.getAsString();
+    if (value.startsWith(REFERENCE_PREFIX)) {
+      Unresolved unresolved = references.remove(referenceId(value));
+      if (unresolved == null) {
+        throw new PlaywrightException("Unknown or already resolved binary reference: " + value);
+      }
+      unresolved.clear();
+      return unresolved.binary;
+    }
+    return BinaryData.of(Base64.getDecoder().decode(value));
+  }
+
+  // Number of extracted fields that haven't been resolved or released yet.
+  int unresolvedCount() {
+    releaseCollected();
+    return references.size();
+  }
+
+  private void releaseCollected() {
+    Reference<? extends String> reference;
+    while ((reference = collected.poll()) != null) {
+      Unresolved unresolved = (Unresolved) reference;
+      if (references.remove(unresolved.id, unresolved)) {
+        unresolved.binary.release();
+      }
+    }
+  }
+
+  private static int referenceId(String reference) {
+    return Integer.parseInt(reference.substring(REFERENCE_PREFIX.length()));
+  }
+
+  // Decodes large base64 fields of the message in place, returns them by reference
+  // or null if there are none. Called on the dispatcher thread only.
+  Map<String, BinaryData> extract(ByteBuffer message) {
+    if (message.remaining() < MIN_LENGTH || !message.hasArray()) {
+      return null;
+    }
+    releaseCollected();
+    Map<String, BinaryData> result = null;
+    byte[] bytes = message.array();
+    int end = message.arrayOffset() + message.limit();
+    for (int i = message.arrayOffset() + message.position(); i < end - MIN_LENGTH; i++) {
+      if (bytes[i] != '"' || isEscaped(bytes, i)) {
+        continue;
+      }
+      byte[] prefix = matchingPrefix(bytes, i, end);
+      if (prefix == null) {
+        continue;
+      }
+      int valueStart = i + prefix.length;
+      int valueEnd = valueStart;
+      while (valueEnd < end && bytes[valueEnd] != '"' && bytes[valueEnd] != '\\') {
+        valueEnd++;
+      }
+      if (valueEnd == end || bytes[valueEnd] != '"') {
+        // Not a plain base64 string.
+        i = valueEnd;
+        continue;
+      }
+      if (valueEnd - valueStart >= MIN_LENGTH) {
+        BinaryData binary = decode(bytes, valueStart, valueEnd);
+        if (binary != null) {
+          String reference = REFERENCE_PREFIX + (++lastId);
+          writeReference(bytes, valueStart, valueEnd, reference);
+          if (result == null) {
+            result = new HashMap<>();
+          }
+          result.put(reference, binary);
+        }
+      }
+      i = valueEnd;
+    }
+    return result;
+  }
+
+  // Returns a reader that resolves references to the extracted fields as the strings are read.
+  JsonReader newReader(Reader in, Map<String, BinaryData> extracted) {
+    return new JsonReader(in) {
+      @Override
+      public String nextString() throws IOException {
+        String value = super.nextString();
+        if (value.startsWith(REFERENCE_PREFIX)) {
+          BinaryData binary = extracted.remove(value);
+          if (binary != null) {
+            int id = referenceId(value);
+            references.put(id, new Unresolved(value, id, binary, collected));
+          }
+        }
+        return value;
+      }
+    };
+  }
+
+  private static boolean isEscaped(byte[] bytes, int i) {
+    int backslashes = 0;
+    while (i - backslashes > 0 && bytes[i - backslashes - 1] == '\\') {
+      backslashes++;
+    }
+    return backslashes % 2 == 1;
+  }
+
+  private static byte[] matchingPrefix(byte[] bytes, int start, int end) {
+    for (byte[] prefix : FIELD_PREFIXES) {
+      if (end - start < prefix.length) {
+        continue;
+      }
+      int j = 1;
+      while (j < prefix.length && bytes[start + j] == prefix[j]) {
+        j++;
+      }
+      if (j == prefix.length) {
+        return prefix;
+      }
+    }
+    return null;
+  }
+
+  // Overwrites the value with the reference, the closing quote is replaced with whitespace.
+  private static void writeReference(byte[] bytes, int valueStart, int valueEnd, String reference) {
+    int i = valueStart;
+    for (int j = 0; j < reference.length(); j++) {
+      bytes[i++] = (byte) reference.charAt(j);
+    }
+    bytes[i++] = '"';
+    Arrays.fill(bytes, i, valueEnd + 1, (byte) ' ');
+  }
+
+  // Returns null if the value is not valid base64.
+  private BinaryData decode(byte[] bytes, int start, int end) {
+    int length = end - start;
+    int decodedSize = length / 4 * 3;
+    if (length % 4 != 0) {
+      return null;
+    }
+    if (bytes[end - 1] == '=') {
+      decodedSize--;
+      if (bytes[end - 2] == '=') {
+        decodedSize--;
+      }
+    }
+    if (decodedSize > spillThreshold) {
+      return spill(bytes, start, end, decodedSize);
+    }
+    ByteBuffer buffer = pool.acquire(decodedSize);
+    try {
+      for (int position = start; position < end; position += BLOCK_SIZE) {
+        buffer.put(decodedBlock, 0, decodeBlock(bytes, position, Math.min(BLOCK_SIZE, end - position)));
+      }
+    } catch (IllegalArgumentException e) {
+      pool.release(buffer);
+      return null;
+    }
+    buffer.flip();
+    return BinaryData.pooled(pool, buffer);
+  }
+
+  private BinaryData spill(byte[] bytes, int start, int end, long decodedSize) {
+    Path file = null;
+    try {
+      file = Files.createTempFile("playwright-binary-", ".bin");
+      file.toFile().deleteOnExit();
+      try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        for (int position = start; position < end; position += BLOCK_SIZE) {
+          ByteBuffer block = ByteBuffer.wrap(decodedBlock, 0, decodeBlock(bytes, position, Math.min(BLOCK_SIZE, end - position)));
+          while (block.hasRemaining()) {
+            out.write(block);
+          }
+        }
+      }
+      return BinaryData.spilled(file, decodedSize);
+    } catch (IllegalArgumentException e) {
+      deleteQuietly(file);
+      return null;
+    } catch (IOException e) {
+      deleteQuietly(file);
+      throw new PlaywrightException("Failed to write binary data to " + file, e);
+    }
+  }
+
+  private int decodeBlock(byte[] bytes, int position, int length) {
+    byte[] src = length == BLOCK_SIZE ? encodedBlock : new byte[length];
+    System.arraycopy(bytes, position, src, 0, length);
+    return Base64.getDecoder().decode(src, decodedBlock);
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // Deleted on exit.
+    }
+  }
+
+  // Frees the fields that nobody read, e.g. from skipped event params.
+  static void releaseUnread(Map<String, BinaryData> extracted) {
+    for (BinaryData binary : extracted.values()) {
+      binary.release();
+    }
+  }
+}
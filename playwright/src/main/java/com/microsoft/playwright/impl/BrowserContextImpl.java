@@ -24,9 +24,16 @@ import com.microsoft.playwright.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -36,13 +43,23 @@ import static com.microsoft.playwright.impl.Utils.isSafeCloseError;
 
 class BrowserContextImpl extends ChannelOwner implements BrowserContext {
   private final BrowserImpl browser;
-  final List<PageImpl> pages = new ArrayList<>();
-  final Router routes = new Router();
-  private boolean isClosedOrClosing;
-  final Map<String, Page.Binding> bindings = new HashMap<>();
+  final List<PageImpl> pages = new CopyOnWriteArrayList<>();
+  private volatile boolean isClosedOrClosing;
+  final Map<String, Page.Binding> bindings = new ConcurrentHashMap<>();
+  // Set by calls whose effect can't be undone without creating a new context, and once a
+  // page has loaded a document whose storage can't be cleared, e.g. from a file: URL.
+  volatile boolean hasPersistentState;
+  // Set by setters that a reused context restores from its options.
+  volatile boolean hasChangedSettings;
+  // Origins of the documents loaded by the pages, their storage is cleared before reuse.
+  final Set<String> visitedOrigins = ConcurrentHashMap.newKeySet();
   PageImpl ownerPage;
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
+  enum InternalEventType { CLOSE }
+  // Listeners of the pools, kept when the user's listeners are removed.
+  final ListenerCollection<InternalEventType> internalListeners = new ListenerCollection<>();
   final TimeoutSettings timeoutSettings = new TimeoutSettings();
+  final Router routes = new Router(timeoutSettings);
 
   protected BrowserContextImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -87,6 +104,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
 
   @Override
   public void addInitScript(String script, Object arg) {
+    hasPersistentState = true;
     // TODO: serialize arg
     JsonObject params = new JsonObject();
     if (isFunctionBody(script)) {
@@ -125,6 +143,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
 
   @Override
   public void exposeBinding(String name, Page.Binding playwrightBinding, ExposeBindingOptions options) {
+    hasPersistentState = true;
     if (bindings.containsKey(name)) {
       throw new PlaywrightException("Function \"" + name + "\" has been already registered");
     }
@@ -190,21 +209,68 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
     route(new UrlMatcher(url), handler);
   }
 
+  @Override
+  public void routeFromHar(Path har) {
+    route(new UrlMatcher("**/*"), new HarRouter(har));
+  }
+
   private void route(UrlMatcher matcher, Consumer<Route> handler) {
     routes.add(matcher, handler);
     if (routes.size() == 1) {
-      JsonObject params = new JsonObject();
-      params.addProperty("enabled", true);
-      sendMessage("setNetworkInterceptionEnabled", params);
+      setNetworkInterceptionEnabled(true);
+    }
+  }
+
+  @Override
+  public void routeAsync(String url, Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  @Override
+  public void routeAsync(Pattern url, Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  @Override
+  public void routeAsync(Predicate<String> url, Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  private void routeAsync(UrlMatcher matcher, Function<Route, CompletionStage<?>> handler) {
+    routes.addAsync(matcher, handler);
+    if (routes.size() == 1) {
+      setNetworkInterceptionEnabled(true);
+    }
+  }
+
+  @Override
+  public void addRouteRule(RouteRule rule) {
+    routes.addRule(rule);
+    if (routes.size() == 1) {
+      setNetworkInterceptionEnabled(true);
+    }
+  }
+
+  @Override
+  public void removeRouteRule(RouteRule rule) {
+    routes.removeRule(rule);
+    if (routes.size() == 0) {
+      setNetworkInterceptionEnabled(false);
     }
   }
 
+  private void setNetworkInterceptionEnabled(boolean enabled) {
+    JsonObject params = new JsonObject();
+    params.addProperty("enabled", enabled);
+    sendMessage("setNetworkInterceptionEnabled", params);
+  }
+
   @Override
   public void setDefaultNavigationTimeout(int timeout) {
     timeoutSettings.setDefaultNavigationTimeout(timeout);
     JsonObject params = new JsonObject();
     params.addProperty("timeout", timeout);
-    sendMessage("setDefaultNavigationTimeoutNoReply", params);
+    sendMessageNoReply("setDefaultNavigationTimeoutNoReply", params);
   }
 
   @Override
@@ -212,11 +278,12 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
     timeoutSettings.setDefaultTimeout(timeout);
     JsonObject params = new JsonObject();
     params.addProperty("timeout", timeout);
-    sendMessage("setDefaultTimeoutNoReply", params);
+    sendMessageNoReply("setDefaultTimeoutNoReply", params);
   }
 
   @Override
   public void setExtraHTTPHeaders(Map<String, String> headers) {
+    hasChangedSettings = true;
     JsonObject params = new JsonObject();
     JsonArray jsonHeaders = new JsonArray();
     for (Map.Entry<String, String> e : headers.entrySet()) {
@@ -226,11 +293,12 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
       jsonHeaders.add(header);
     }
     params.add("headers", jsonHeaders);
-    sendMessage("setExtraHTTPHeaders", params);
+    sendMessageNoReply("setExtraHTTPHeaders", params);
   }
 
   @Override
   public void setGeolocation(Geolocation geolocation) {
+    hasChangedSettings = true;
     JsonObject params = new JsonObject();
     if (geolocation != null) {
       params.add("geolocation", gson().toJsonTree(geolocation));
@@ -240,9 +308,10 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
 
   @Override
   public void setOffline(boolean offline) {
+    hasChangedSettings = true;
     JsonObject params = new JsonObject();
     params.addProperty("offline", offline);
-    sendMessage("setOffline", params);
+    sendMessageNoReply("setOffline", params);
   }
 
   @Override
@@ -288,22 +357,58 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
     return toDeferred(new WaitableRace<>(waitables));
   }
 
+  @Override
+  public List<RouteStats> routeStats() {
+    return routes.stats();
+  }
+
+  void documentLoaded(String url) {
+    if (url.startsWith("http:") || url.startsWith("https:")) {
+      try {
+        URI uri = new URI(url);
+        visitedOrigins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+      } catch (URISyntaxException e) {
+        hasPersistentState = true;
+      }
+    } else if (!url.startsWith("about:") && !url.startsWith("data:") && !url.startsWith("blob:") && !url.startsWith("chrome-error:")) {
+      hasPersistentState = true;
+    }
+  }
+
+  // Removes the user's listeners and restores the default timeouts.
+  void resetListenersAndTimeouts() {
+    listeners.clear();
+    if (timeoutSettings.hasDefaults()) {
+      timeoutSettings.clearDefaults();
+      JsonObject params = new JsonObject();
+      params.addProperty("timeout", timeoutSettings.timeout(null));
+      sendMessageNoReply("setDefaultTimeoutNoReply", params);
+      sendMessageNoReply("setDefaultNavigationTimeoutNoReply", params);
+    }
+  }
+
+  void unrouteAll() {
+    if (routes.size() == 0) {
+      return;
+    }
+    routes.clear();
+    setNetworkInterceptionEnabled(false);
+  }
+
   private void unroute(UrlMatcher matcher, Consumer<Route> handler) {
     routes.remove(matcher, handler);
     if (routes.size() == 0) {
-      JsonObject params = new JsonObject();
-      params.addProperty("enabled", false);
-      sendMessage("setNetworkInterceptionEnabled", params);
+      setNetworkInterceptionEnabled(false);
     }
   }
 
   @Override
   protected void handleEvent(String event, JsonObject params) {
     if ("route".equals(event)) {
-      Route route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
+      RouteImpl route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
       boolean handled = routes.handle(route);
-      if (!handled) {
-        route.continue_();
+      if (!handled && route.markHandled()) {
+        route.continueNoWait();
       }
     } else if ("page".equals(event)) {
       PageImpl page = connection.getExistingObject(params.getAsJsonObject("page").get("guid").getAsString());
@@ -321,6 +426,7 @@ class BrowserContextImpl extends ChannelOwner implements BrowserContext {
         browser.contexts.remove(this);
       }
       listeners.notify(EventType.CLOSE, null);
+      internalListeners.notify(InternalEventType.CLOSE, null);
     }
   }
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BrowserContextPoolImpl implements BrowserContextPool {
+  // Returns false if IndexedDB databases can't be listed, and fails if one can't be deleted.
+  private static final String CLEAR_STORAGE_SCRIPT = "async () => {\n" +
+    "  localStorage.clear();\n" +
+    "  sessionStorage.clear();\n" +
+    "  if (window.caches) {\n" +
+    "    for (const key of await caches.keys())\n" +
+    "      await caches.delete(key);\n" +
+    "  }\n" +
+    "  if (navigator.serviceWorker) {\n" +
+    "    for (const registration of await navigator.serviceWorker.getRegistrations())\n" +
+    "      await registration.unregister();\n" +
+    "  }\n" +
+    "  if (!indexedDB.databases)\n" +
+    "    return false;\n" +
+    "  for (const database of await indexedDB.databases()) {\n" +
+    "    await new Promise((resolve, reject) => {\n" +
+    "      const request = indexedDB.deleteDatabase(database.name);\n" +
+    "      request.onsuccess = resolve;\n" +
+    "      request.onerror = request.onblocked = () => reject(new Error('Failed to delete ' + database.name));\n" +
+    "    });\n" +
+    "  }\n" +
+    "  return true;\n" +
+    "}";
+
+  private final Browser browser;
+  private final Browser.NewContextOptions contextOptions;
+  private final int maxReuses;
+  private final Deque<Entry> idle = new ArrayDeque<>();
+  private final AtomicLong reuseCount = new AtomicLong();
+  private final AtomicLong disposeCount = new AtomicLong();
+  private boolean isClosed;
+
+  private static class Entry {
+    final BrowserContextImpl context;
+    PageImpl page;
+    int useCount;
+
+    Entry(BrowserContextImpl context, PageImpl page) {
+      this.context = context;
+      this.page = page;
+    }
+  }
+
+  private class LeaseImpl implements Lease {
+    private final Entry entry;
+    private final int reuseCount;
+    private boolean isReleased;
+
+    LeaseImpl(Entry entry) {
+      this.entry = entry;
+      reuseCount = entry.useCount++;
+    }
+
+    @Override
+    public BrowserContext context() {
+      return entry.context;
+    }
+
+    @Override
+    public Page page() {
+      return entry.page;
+    }
+
+    @Override
+    public int reuseCount() {
+      return reuseCount;
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (isReleased) {
+          return;
+        }
+        isReleased = true;
+      }
+      release(entry);
+    }
+  }
+
+  public BrowserContextPoolImpl(Browser browser, CreateOptions options) {
+    if (options == null) {
+      options = new CreateOptions();
+    }
+    this.browser = browser;
+    this.contextOptions = options.contextOptions;
+    this.maxReuses = options.maxReuses == null ? 100 : options.maxReuses;
+    int size = options.size == null ? 0 : options.size;
+    for (int i = 0; i < size; i++) {
+      idle.add(newEntry());
+    }
+  }
+
+  @Override
+  public Lease acquire() {
+    Entry entry;
+    synchronized (this) {
+      if (isClosed) {
+        throw new PlaywrightException("Context pool is closed");
+      }
+      entry = idle.poll();
+    }
+    if (entry == null) {
+      entry = newEntry();
+    } else {
+      reuseCount.incrementAndGet();
+    }
+    return new LeaseImpl(entry);
+  }
+
+  @Override
+  public long reuseCount() {
+    return reuseCount.get();
+  }
+
+  @Override
+  public long disposeCount() {
+    return disposeCount.get();
+  }
+
+  @Override
+  public void close() {
+    List<Entry> toClose;
+    synchronized (this) {
+      isClosed = true;
+      toClose = new ArrayList<>(idle);
+      idle.clear();
+    }
+    for (Entry entry : toClose) {
+      dispose(entry);
+    }
+  }
+
+  private Entry newEntry() {
+    BrowserContextImpl context = (BrowserContextImpl) browser.newContext(contextOptions);
+    return new Entry(context, context.newPage());
+  }
+
+  private void release(Entry entry) {
+    boolean isReset;
+    try {
+      isReset = reset(entry);
+    } catch (PlaywrightException e) {
+      isReset = false;
+    }
+    if (isReset) {
+      synchronized (this) {
+        if (!isClosed) {
+          idle.push(entry);
+          return;
+        }
+      }
+    } else {
+      disposeCount.incrementAndGet();
+    }
+    dispose(entry);
+  }
+
+  // Returns false if the context can't be made indistinguishable from a new one, e.g. after
+  // an init script was added or if the storage of a visited origin couldn't be cleared.
+  private boolean reset(Entry entry) {
+    BrowserContextImpl context = entry.context;
+    if (entry.useCount >= maxReuses || context.hasPersistentState || !browser.isConnected()) {
+      return false;
+    }
+    // Page level state (routes, bindings, init scripts, listeners) goes away with the page.
+    for (Page page : context.pages()) {
+      page.close();
+    }
+    context.resetListenersAndTimeouts();
+    context.unrouteAll();
+    if (context.hasChangedSettings) {
+      restoreSettings(context);
+    }
+    if (!clearOriginStorage(context)) {
+      return false;
+    }
+    context.clearCookies();
+    context.clearPermissions();
+    if (contextOptions != null && contextOptions.permissions != null) {
+      context.grantPermissions(contextOptions.permissions);
+    }
+    BrowserContext.StorageState state = context.storageState(null);
+    if (state.cookies != null && !state.cookies.isEmpty()) {
+      return false;
+    }
+    if (state.origins != null) {
+      for (BrowserContext.StorageState.OriginState origin : state.origins) {
+        if (origin.localStorage != null && !origin.localStorage.isEmpty()) {
+          return false;
+        }
+      }
+    }
+    entry.page = context.newPage();
+    return true;
+  }
+
+  private void restoreSettings(BrowserContextImpl context) {
+    Browser.NewContextOptions options = contextOptions == null ? new Browser.NewContextOptions() : contextOptions;
+    context.setExtraHTTPHeaders(options.extraHTTPHeaders == null ? Collections.emptyMap() : options.extraHTTPHeaders);
+    context.setOffline(options.offline != null && options.offline);
+    context.setGeolocation(options.geolocation);
+    context.hasChangedSettings = false;
+  }
+
+  // Clears local and session storage, IndexedDB, caches and service workers of each origin
+  // the pages have visited. Every origin is loaded from an empty document served by a route,
+  // so nothing is fetched from the network.
+  private static boolean clearOriginStorage(BrowserContextImpl context) {
+    if (context.visitedOrigins.isEmpty()) {
+      return true;
+    }
+    List<String> origins = new ArrayList<>(context.visitedOrigins);
+    Page page = context.newPage();
+    try {
+      page.route("**/*", route -> route.fulfill(new Route.FulfillResponse().withContentType("text/html").withBody("")));
+      for (String origin : origins) {
+        page.navigate(origin + "/");
+        if (!Boolean.TRUE.equals(page.evaluate(CLEAR_STORAGE_SCRIPT))) {
+          return false;
+        }
+      }
+    } finally {
+      page.close();
+    }
+    // Also drops the origins added by the navigations above.
+    context.visitedOrigins.clear();
+    return true;
+  }
+
+  private static void dispose(Entry entry) {
+    try {
+      entry.context.close();
+    } catch (PlaywrightException e) {
+      // Already closed.
+    }
+  }
+}
@@ -24,18 +24,18 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.microsoft.playwright.impl.Serialization.gson;
 import static com.microsoft.playwright.impl.Utils.convertViaJson;
 import static com.microsoft.playwright.impl.Utils.isSafeCloseError;
 
 class BrowserImpl extends ChannelOwner implements Browser {
-  final Set<BrowserContext> contexts = new HashSet<>();
+  final Set<BrowserContext> contexts = ConcurrentHashMap.newKeySet();
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
-  private boolean isConnected = true;
+  private volatile boolean isConnected = true;
 
   BrowserImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
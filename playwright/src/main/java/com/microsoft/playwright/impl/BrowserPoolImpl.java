@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.playwright.impl.Serialization.gson;
+
+public class BrowserPoolImpl implements BrowserPool {
+  private static final long MAINTENANCE_INTERVAL_MS = 1000;
+  private static final long MAX_LAUNCH_BACKOFF_MS = 60_000;
+
+  private final BrowserType browserType;
+  private final int spareCount;
+  private final int maxContextsPerBrowser;
+  private final long maxAgeNanos;
+  // Launch options serialized to JSON -> profile.
+  private final Map<String, Profile> profiles = new HashMap<>();
+  // Browsers handed to newContext() callers that haven't been closed yet.
+  private final Set<PooledBrowser> sharedBrowsers = new HashSet<>();
+  private final ScheduledExecutorService executor;
+  private boolean isClosed;
+
+  private static class Profile {
+    final BrowserType.LaunchOptions options;
+    final Deque<PooledBrowser> spares = new ArrayDeque<>();
+    int launchingCount;
+    // Browser that receives new contexts.
+    PooledBrowser current;
+    // Spares are not launched again before nextLaunchNanos after a failure.
+    int failedLaunchCount;
+    long nextLaunchNanos;
+    RuntimeException lastLaunchFailure;
+
+    Profile(BrowserType.LaunchOptions options) {
+      this.options = options;
+    }
+  }
+
+  private static class PooledBrowser {
+    final Browser browser;
+    final long launchedAtNanos = System.nanoTime();
+    int contextCount;
+    int openContextCount;
+    boolean isRetired;
+
+    PooledBrowser(Browser browser) {
+      this.browser = browser;
+    }
+  }
+
+  public BrowserPoolImpl(BrowserType browserType, CreateOptions options) {
+    if (options == null) {
+      options = new CreateOptions();
+    }
+    this.browserType = browserType;
+    spareCount = options.spares == null ? 1 : options.spares;
+    maxContextsPerBrowser = options.maxContextsPerBrowser == null ? 100 : options.maxContextsPerBrowser;
+    maxAgeNanos = TimeUnit.MINUTES.toNanos(options.maxBrowserAgeMinutes == null ? 30 : options.maxBrowserAgeMinutes);
+    executor = new ScheduledThreadPoolExecutor(1, task -> {
+      Thread thread = new Thread(task, "Playwright-BrowserPool");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::maintain, MAINTENANCE_INTERVAL_MS, MAINTENANCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public Browser acquire(BrowserType.LaunchOptions options) {
+    PooledBrowser spare;
+    Profile profile;
+    synchronized (this) {
+      profile = profile(options);
+      spare = takeSpare(profile);
+      replenish(profile);
+    }
+    if (spare != null) {
+      return spare.browser;
+    }
+    return launchNow(profile);
+  }
+
+  @Override
+  public BrowserContext newContext(BrowserType.LaunchOptions launchOptions, Browser.NewContextOptions options) {
+    PooledBrowser pooled;
+    synchronized (this) {
+      Profile profile = profile(launchOptions);
+      pooled = currentBrowser(profile);
+      replenish(profile);
+    }
+    if (pooled == null) {
+      // No spare available, launch while the caller waits.
+      Profile launchProfile;
+      synchronized (this) {
+        launchProfile = profile(launchOptions);
+      }
+      PooledBrowser launched = track(launchProfile, launchNow(launchProfile));
+      synchronized (this) {
+        if (!isClosed) {
+          Profile profile = profile(launchOptions);
+          sharedBrowsers.add(launched);
+          if (profile.current == null) {
+            profile.current = launched;
+          } else {
+            // Another thread was faster, use this one just once.
+            launched.isRetired = true;
+          }
+          pooled = launched;
+          addContext(profile, pooled);
+        }
+      }
+      if (pooled == null) {
+        closeQuietly(launched.browser);
+        throw new PlaywrightException("Browser pool is closed");
+      }
+    }
+    BrowserContext context;
+    try {
+      context = pooled.browser.newContext(options);
+    } catch (RuntimeException e) {
+      contextClosed(pooled);
+      throw e;
+    }
+    PooledBrowser browser = pooled;
+    ((BrowserContextImpl) context).internalListeners.add(BrowserContextImpl.InternalEventType.CLOSE, event -> contextClosed(browser));
+    return context;
+  }
+
+  @Override
+  public synchronized void warmUp(BrowserType.LaunchOptions options) {
+    replenish(profile(options));
+  }
+
+  @Override
+  public void close() {
+    List<Browser> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+      for (Profile profile : profiles.values()) {
+        for (PooledBrowser spare : profile.spares) {
+          toClose.add(spare.browser);
+        }
+        profile.spares.clear();
+        profile.current = null;
+      }
+      for (PooledBrowser shared : sharedBrowsers) {
+        toClose.add(shared.browser);
+      }
+      sharedBrowsers.clear();
+    }
+    executor.shutdownNow();
+    for (Browser browser : toClose) {
+      closeQuietly(browser);
+    }
+  }
+
+  private Profile profile(BrowserType.LaunchOptions options) {
+    if (isClosed) {
+      throw new PlaywrightException("Browser pool is closed");
+    }
+    String key = gson().toJson(options == null ? new BrowserType.LaunchOptions() : options);
+    return profiles.computeIfAbsent(key, k -> new Profile(options));
+  }
+
+  // Returns a healthy spare or null.
+  private PooledBrowser takeSpare(Profile profile) {
+    PooledBrowser spare;
+    while ((spare = profile.spares.poll()) != null) {
+      if (spare.browser.isConnected() && !isExpired(spare)) {
+        return spare;
+      }
+      closeInBackground(spare.browser);
+    }
+    return null;
+  }
+
+  // Returns the browser for the next context of the profile, counting the context against it.
+  private PooledBrowser currentBrowser(Profile profile) {
+    PooledBrowser current = profile.current;
+    if (current != null && (current.isRetired || !current.browser.isConnected() || isExpired(current))) {
+      retire(current);
+      profile.current = null;
+      current = null;
+    }
+    if (current == null) {
+      current = takeSpare(profile);
+      if (current == null) {
+        return null;
+      }
+      profile.current = current;
+      sharedBrowsers.add(current);
+    }
+    addContext(profile, current);
+    return current;
+  }
+
+  private void addContext(Profile profile, PooledBrowser pooled) {
+    pooled.contextCount++;
+    pooled.openContextCount++;
+    if (pooled.contextCount >= maxContextsPerBrowser) {
+      pooled.isRetired = true;
+      if (profile.current == pooled) {
+        profile.current = null;
+      }
+    }
+  }
+
+  private synchronized void contextClosed(PooledBrowser pooled) {
+    pooled.openContextCount--;
+    if (pooled.isRetired && pooled.openContextCount == 0 && sharedBrowsers.remove(pooled)) {
+      closeInBackground(pooled.browser);
+    }
+  }
+
+  private void retire(PooledBrowser pooled) {
+    pooled.isRetired = true;
+    if (pooled.openContextCount == 0 && sharedBrowsers.remove(pooled)) {
+      closeInBackground(pooled.browser);
+    }
+  }
+
+  private boolean isExpired(PooledBrowser pooled) {
+    return System.nanoTime() - pooled.launchedAtNanos > maxAgeNanos;
+  }
+
+  // Launches a browser while the caller waits. If it fails and launching spares has failed
+  // too, the last spare failure is attached to the exception.
+  private Browser launchNow(Profile profile) {
+    RuntimeException spareFailure;
+    synchronized (this) {
+      spareFailure = profile.lastLaunchFailure;
+    }
+    Browser browser;
+    try {
+      browser = browserType.launch(profile.options);
+    } catch (RuntimeException e) {
+      if (spareFailure != null && spareFailure != e) {
+        e.addSuppressed(spareFailure);
+      }
+      throw e;
+    }
+    synchronized (this) {
+      // Launching works again, don't wait for the backoff to end.
+      profile.failedLaunchCount = 0;
+      profile.lastLaunchFailure = null;
+    }
+    return browser;
+  }
+
+  private PooledBrowser track(Profile profile, Browser browser) {
+    PooledBrowser pooled = new PooledBrowser(browser);
+    browser.addListener(Browser.EventType.DISCONNECTED, event -> browserDisconnected(profile, pooled));
+    return pooled;
+  }
+
+  // Forgets the browser, also if contexts of it are still open.
+  private synchronized void browserDisconnected(Profile profile, PooledBrowser pooled) {
+    pooled.isRetired = true;
+    profile.spares.remove(pooled);
+    if (profile.current == pooled) {
+      profile.current = null;
+    }
+    sharedBrowsers.remove(pooled);
+  }
+
+  private void replenish(Profile profile) {
+    if (profile.failedLaunchCount > 0 && System.nanoTime() - profile.nextLaunchNanos < 0) {
+      return;
+    }
+    int missing = spareCount - profile.spares.size() - profile.launchingCount;
+    for (int i = 0; i < missing; i++) {
+      profile.launchingCount++;
+      executor.execute(() -> launchSpare(profile));
+    }
+  }
+
+  private void launchSpare(Profile profile) {
+    Browser browser;
+    try {
+      browser = browserType.launch(profile.options);
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        profile.launchingCount--;
+        // Retried by the maintenance with exponential backoff, reported by launches
+        // that callers wait for.
+        profile.failedLaunchCount++;
+        profile.lastLaunchFailure = e;
+        long backoffMs = Math.min(MAX_LAUNCH_BACKOFF_MS, MAINTENANCE_INTERVAL_MS << Math.min(profile.failedLaunchCount - 1, 16));
+        profile.nextLaunchNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+      }
+      return;
+    }
+    synchronized (this) {
+      profile.launchingCount--;
+      profile.failedLaunchCount = 0;
+      profile.lastLaunchFailure = null;
+      if (!isClosed) {
+        profile.spares.add(track(profile, browser));
+        return;
+      }
+    }
+    closeQuietly(browser);
+  }
+
+  // Drops disconnected and expired browsers and launches the missing spares.
+  private synchronized void maintain() {
+    if (isClosed) {
+      return;
+    }
+    for (Profile profile : profiles.values()) {
+      for (Iterator<PooledBrowser> it = profile.spares.iterator(); it.hasNext(); ) {
+        PooledBrowser spare = it.next();
+        if (!spare.browser.isConnected() || isExpired(spare)) {
+          it.remove();
+          closeInBackground(spare.browser);
+        }
+      }
+      PooledBrowser current = profile.current;
+      if (current != null && (!current.browser.isConnected() || isExpired(current))) {
+        retire(current);
+        profile.current = null;
+      }
+      replenish(profile);
+    }
+  }
+
+  private void closeInBackground(Browser browser) {
+    if (executor.isShutdown()) {
+      closeQuietly(browser);
+      return;
+    }
+    executor.execute(() -> closeQuietly(browser));
+  }
+
+  private static void closeQuietly(Browser browser) {
+    try {
+      browser.close();
+    } catch (PlaywrightException e) {
+      // Already closed or the driver is gone.
+    }
+  }
+}
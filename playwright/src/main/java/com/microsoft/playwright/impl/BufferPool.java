@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recycles message buffers. Buffers are grouped by power of two capacity between
+ * MIN_CAPACITY and MAX_CAPACITY, larger buffers are allocated on demand and never pooled.
+ */
+class BufferPool {
+  private static final int MIN_CAPACITY_SHIFT = 12;
+  private static final int MAX_CAPACITY_SHIFT = 20;
+  static final int MIN_CAPACITY = 1 << MIN_CAPACITY_SHIFT;
+  static final int MAX_CAPACITY = 1 << MAX_CAPACITY_SHIFT;
+  private static final int MAX_BUFFERS_PER_BUCKET = 16;
+
+  private final Bucket[] buckets = new Bucket[MAX_CAPACITY_SHIFT - MIN_CAPACITY_SHIFT + 1];
+
+  private static class Bucket {
+    final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    final AtomicInteger size = new AtomicInteger();
+  }
+
+  BufferPool() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket();
+    }
+  }
+
+  // Returns a buffer with position 0 and limit set to the requested size.
+  ByteBuffer acquire(int size) {
+    if (size > MAX_CAPACITY) {
+      return ByteBuffer.allocate(size);
+    }
+    int index = bucketIndex(size);
+    Bucket bucket = buckets[index];
+    ByteBuffer buffer = bucket.buffers.poll();
+    if (buffer == null) {
+      buffer = ByteBuffer.allocate(1 << (index + MIN_CAPACITY_SHIFT));
+    } else {
+      bucket.size.decrementAndGet();
+      buffer.clear();
+    }
+    buffer.limit(size);
+    return buffer;
+  }
+
+  void release(ByteBuffer buffer) {
+    int capacity = buffer.capacity();
+    if (capacity > MAX_CAPACITY || capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    Bucket bucket = buckets[bucketIndex(capacity)];
+    if (bucket.size.incrementAndGet() > MAX_BUFFERS_PER_BUCKET) {
+      bucket.size.decrementAndGet();
+      return;
+    }
+    bucket.buffers.offer(buffer);
+  }
+
+  private static int bucketIndex(int size) {
+    if (size <= MIN_CAPACITY) {
+      return 0;
+    }
+    // Number of bits needed to represent size - 1, i.e. ceil(log2(size)).
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_CAPACITY_SHIFT;
+  }
+}
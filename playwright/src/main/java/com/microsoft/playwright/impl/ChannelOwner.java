@@ -20,14 +20,17 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.Deferred;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 class ChannelOwner {
   final Connection connection;
   private final ChannelOwner parent;
-  private final Map<String, ChannelOwner> objects = new HashMap<>();
+  private final Map<String, ChannelOwner> objects = new ConcurrentHashMap<>();
 
   final String type;
   final String guid;
@@ -68,10 +71,18 @@ class ChannelOwner {
     objects.clear();
   }
 
-  WaitableResult<JsonElement> sendMessageAsync(String method, JsonObject params) {
+  Waitable<JsonElement> sendMessageAsync(String method, JsonObject params) {
     return connection.sendMessageAsync(guid, method, params);
   }
 
+  Waitable<JsonElement> sendMessageAsync(String method, JsonObject params, String binaryField, ByteBuffer binary) {
+    return connection.sendMessageAsync(guid, method, params, binaryField, binary);
+  }
+
+  Waitable<JsonElement> sendMessageAsync(String method, JsonObject params, String binaryField, OutgoingBinary binary) {
+    return connection.sendMessageAsync(guid, method, params, binaryField, binary);
+  }
+
   JsonElement sendMessage(String method) {
     return sendMessage(method, new JsonObject());
   }
@@ -88,14 +99,42 @@ class ChannelOwner {
     connection.sendMessageNoWait(guid, method, params);
   }
 
+  // For commands without a useful result, errors are thrown from the next command sent to this object.
+  void sendMessageNoReply(String method, JsonObject params) {
+    connection.sendMessageNoReply(guid, method, params);
+  }
+
+  // Errors of no-reply commands are reported by the next command sent to an object of the same scope.
+  String noReplyScope() {
+    return guid;
+  }
+
   @SuppressWarnings("unchecked")
   <T> Deferred<T> toDeferred(Waitable waitable) {
-    return () -> {
-      while (!waitable.isDone()) {
-        connection.processOneMessage();
-      }
-      return (T) waitable.get();
-    };
+    return () -> (T) connection.waitFor(waitable);
+  }
+
+  <T> T waitFor(Waitable<T> waitable) {
+    return connection.waitFor(waitable);
+  }
+
+  // Starts the action and returns a future of its result, an exception thrown
+  // while starting the action completes the future too.
+  <T> CompletableFuture<T> runAsync(Supplier<Waitable<T>> action) {
+    Waitable<T> waitable;
+    try {
+      waitable = action.get();
+    } catch (RuntimeException e) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+      return result;
+    }
+    return connection.toFuture(waitable);
+  }
+
+  // Override to look at the event before its parameters are parsed.
+  void handleEvent(String event, LazyParams parameters) {
+    handleEvent(event, parameters.get());
   }
 
   void handleEvent(String event, JsonObject parameters) {
@@ -15,17 +15,32 @@
  */
 package com.microsoft.playwright.impl;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.PlaywrightException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.time.Duration;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.microsoft.playwright.impl.Serialization.gson;
 
@@ -52,11 +67,225 @@ class Message {
 
 
 public class Connection {
+  private static final String BINARY_PLACEHOLDER = "#binary#";
+  private static final int MAX_MESSAGES_BETWEEN_ASYNC_SCANS = 32;
   private final Transport transport;
-  private final Map<String, ChannelOwner> objects = new HashMap<>();
+  private final Map<String, ChannelOwner> objects = new ConcurrentHashMap<>();
   private final Root root;
-  private int lastId = 0;
-  private final Map<Integer, WaitableResult<JsonElement>> callbacks = new HashMap<>();
+  private final PendingCommands callbacks = new PendingCommands();
+  // No-reply commands whose errors haven't been reported yet, by object guid.
+  private final Map<String, Queue<NoReplyCommand>> noReplyCommands = new ConcurrentHashMap<>();
+  // Messages of each thread are held back until the driver has replied to its no-reply commands.
+  private final ThreadLocal<Outbox> outbox = ThreadLocal.withInitial(Outbox::new);
+  // Those that hold back messages, flushed as replies arrive.
+  private final Set<Outbox> blockedOutboxes = ConcurrentHashMap.newKeySet();
+  private final Playwright.WaitStrategy waitStrategy;
+  private final Thread dispatcher;
+  private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+  private final Set<AsyncWaiter<?>> asyncWaiters = ConcurrentHashMap.newKeySet();
+  // The async waiters that have a deadline, the earliest first.
+  private final ConcurrentSkipListSet<AsyncWaiter<?>> asyncDeadlines = new ConcurrentSkipListSet<>(
+    Comparator.<AsyncWaiter<?>>comparingLong(waiter -> waiter.deadlineNanos).thenComparingLong(waiter -> waiter.sequence));
+  private final AtomicLong lastAsyncWaiterSequence = new AtomicLong();
+  // Only used by the thread that processes messages.
+  private int messagesSinceAsyncScan;
+  private final Queue<RuntimeException> dispatchErrors = new ConcurrentLinkedQueue<>();
+  private volatile boolean isClosed;
+  // Only used by the thread that processes messages.
+  private final Utf8Reader messageReader = new Utf8Reader();
+  private final BinaryFields binaryFields;
+  private boolean isReadingMessage;
+  // Only incremented by the thread that processes messages.
+  private volatile long messageCount;
+
+  private static class NoReplyCommand {
+    final String method;
+    final WaitableResult<JsonElement> result;
+
+    NoReplyCommand(String method, WaitableResult<JsonElement> result) {
+      this.method = method;
+      this.result = result;
+    }
+
+    boolean succeeded() {
+      try {
+        result.get();
+        return true;
+      } catch (PlaywrightException e) {
+        return false;
+      }
+    }
+  }
+
+  private static class OutgoingCommand {
+    final String message;
+    final OutgoingBinary binary;
+    final WaitableResult<JsonElement> result;
+    final boolean isNoReply;
+
+    OutgoingCommand(String message, OutgoingBinary binary, WaitableResult<JsonElement> result, boolean isNoReply) {
+      this.message = message;
+      this.binary = binary;
+      this.result = result;
+      this.isNoReply = isNoReply;
+    }
+  }
+
+  // Sends the messages of one thread in order. A command sent after a no-reply command is
+  // held back until the driver has replied to the latter, so that the setter takes effect
+  // before it, without blocking the sending thread.
+  private class Outbox {
+    private final Queue<WaitableResult<JsonElement>> noReplyResults = new ArrayDeque<>();
+    private final Queue<OutgoingCommand> heldBack = new ArrayDeque<>();
+
+    void send(OutgoingCommand command) {
+      synchronized (this) {
+        if (heldBack.isEmpty() && (command.isNoReply || !hasPendingNoReplyCommands())) {
+          sendNow(command);
+          return;
+        }
+        heldBack.add(command);
+      }
+      blockedOutboxes.add(this);
+      // The reply may have arrived before the outbox was added.
+      flush();
+    }
+
+    synchronized void flush() {
+      while (!heldBack.isEmpty()) {
+        if (!heldBack.peek().isNoReply && hasPendingNoReplyCommands()) {
+          return;
+        }
+        OutgoingCommand command = heldBack.poll();
+        try {
+          sendNow(command);
+        } catch (PlaywrightException e) {
+          // E.g. the connection has closed meanwhile, reported to whoever waits for it.
+          command.result.completeExceptionally(e);
+        }
+      }
+      blockedOutboxes.remove(this);
+    }
+
+    private boolean hasPendingNoReplyCommands() {
+      noReplyResults.removeIf(WaitableResult::isDone);
+      return !noReplyResults.isEmpty();
+    }
+
+    private void sendNow(OutgoingCommand command) {
+      if (command.binary == null) {
+        transport.send(command.message);
+      } else {
+        transport.send(command.message, BINARY_PLACEHOLDER, command.binary);
+      }
+      if (command.isNoReply) {
+        noReplyResults.add(command.result);
+      }
+    }
+  }
+
+  // The reply to a command that also reports the errors of the no-reply commands
+  // previously sent to the same object.
+  private static class WaitableWithNoReplyErrors implements Waitable<JsonElement> {
+    private final List<NoReplyCommand> commands;
+    private final Waitable<JsonElement> result;
+
+    WaitableWithNoReplyErrors(List<NoReplyCommand> commands, Waitable<JsonElement> result) {
+      this.commands = commands;
+      this.result = result;
+    }
+
+    @Override
+    public boolean isDone() {
+      if (!result.isDone()) {
+        return false;
+      }
+      for (NoReplyCommand command : commands) {
+        if (!command.result.isDone()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public JsonElement get() {
+      for (NoReplyCommand command : commands) {
+        try {
+          command.result.get();
+        } catch (PlaywrightException e) {
+          throw new PlaywrightException("Error in " + command.method + ": " + e.getMessage(), e);
+        }
+      }
+      return result.get();
+    }
+
+    @Override
+    public void dispose() {
+      result.dispose();
+    }
+  }
+
+  // A thread blocked in waitFor() until the dispatcher observes that its waitable is done.
+  private static class Waiter {
+    final Waitable<?> waitable;
+    final Thread thread = Thread.currentThread();
+    volatile boolean isSignaled;
+
+    Waiter(Waitable<?> waitable) {
+      this.waitable = waitable;
+    }
+  }
+
+  // A future that is completed by the dispatcher once its waitable is done.
+  private class AsyncWaiter<T> {
+    final Waitable<T> waitable;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    final long sequence = lastAsyncWaiterSequence.incrementAndGet();
+    // System.nanoTime() when the waitable may complete on its own, Long.MAX_VALUE if never.
+    final long deadlineNanos;
+    private final AtomicBoolean isCompleted = new AtomicBoolean();
+
+    AsyncWaiter(Waitable<T> waitable) {
+      this.waitable = waitable;
+      long nanosUntilDeadline = waitable.nanosUntilDeadline();
+      deadlineNanos = nanosUntilDeadline == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + nanosUntilDeadline;
+    }
+
+    boolean hasDeadline() {
+      return deadlineNanos != Long.MAX_VALUE;
+    }
+
+    void tryComplete() {
+      if (!waitable.isDone() || !isCompleted.compareAndSet(false, true)) {
+        return;
+      }
+      remove();
+      try {
+        future.complete(waitable.get());
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    private void remove() {
+      asyncWaiters.remove(this);
+      if (hasDeadline()) {
+        asyncDeadlines.remove(this);
+      }
+    }
+
+    void cancel(RuntimeException exception) {
+      if (!isCompleted.compareAndSet(false, true)) {
+        return;
+      }
+      remove();
+      waitable.dispose();
+      if (exception != null) {
+        future.completeExceptionally(exception);
+      }
+    }
+  }
 
   class Root extends ChannelOwner {
     Root(Connection connection) {
@@ -65,44 +294,318 @@ public class Connection {
   }
 
   public Connection(InputStream in, OutputStream out) {
-    transport = new Transport(in, out);
+    this(in, out, null);
+  }
+
+  public Connection(InputStream in, OutputStream out, Playwright.WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy == null ? Playwright.WaitStrategy.PARK : waitStrategy;
+    transport = new Transport(in, out, this.waitStrategy);
+    binaryFields = new BinaryFields(transport.bufferPool());
     root = new Root(this);
+    dispatcher = Threads.newThread("Playwright-Dispatcher", this::dispatchLoop);
+    dispatcher.setDaemon(true);
+    dispatcher.start();
   }
 
   void close() throws IOException {
     transport.close();
   }
 
+  private void dispatchLoop() {
+    while (true) {
+      try {
+        processOneMessage(nanosUntilAsyncDeadline());
+      } catch (PlaywrightException e) {
+        if (transport.isClosed()) {
+          break;
+        }
+        reportDispatchError(e);
+      } catch (RuntimeException e) {
+        reportDispatchError(e);
+      }
+    }
+    isClosed = true;
+    for (Waiter waiter : waiters) {
+      waiter.isSignaled = true;
+      LockSupport.unpark(waiter.thread);
+    }
+    for (AsyncWaiter<?> waiter : asyncWaiters) {
+      waiter.cancel(new PlaywrightException("Playwright connection closed"));
+    }
+  }
+
+  // Errors thrown while dispatching, e.g. by listeners, would have reached the API call that
+  // pumped the message before messages were dispatched on a separate thread. They are
+  // thrown from a waiting call, or from the next one if no call is waiting.
+  private void reportDispatchError(RuntimeException error) {
+    dispatchErrors.add(error);
+    for (Waiter waiter : waiters) {
+      waiter.isSignaled = true;
+      LockSupport.unpark(waiter.thread);
+    }
+  }
+
+  private void throwDispatchError() {
+    RuntimeException error = dispatchErrors.poll();
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  // Returns a future that is completed on the dispatcher thread when the waitable is done,
+  // the calling thread is not blocked.
+  <T> CompletableFuture<T> toFuture(Waitable<T> waitable) {
+    AsyncWaiter<T> waiter = new AsyncWaiter<>(waitable);
+    asyncWaiters.add(waiter);
+    if (waiter.hasDeadline()) {
+      asyncDeadlines.add(waiter);
+    }
+    waiter.future.whenComplete((result, error) -> {
+      if (waiter.future.isCancelled()) {
+        waiter.cancel(null);
+      }
+    });
+    if (isClosed) {
+      waiter.cancel(new PlaywrightException("Playwright connection closed"));
+      return waiter.future;
+    }
+    waiter.tryComplete();
+    if (waiter.hasDeadline() && Thread.currentThread() != dispatcher && firstAsyncDeadline() == waiter) {
+      // Let the dispatcher recompute its poll timeout.
+      transport.wakeup();
+    }
+    return waiter.future;
+  }
+
+  private AsyncWaiter<?> firstAsyncDeadline() {
+    try {
+      return asyncDeadlines.first();
+    } catch (NoSuchElementException e) {
+      return null;
+    }
+  }
+
+  private long nanosUntilAsyncDeadline() {
+    AsyncWaiter<?> first = firstAsyncDeadline();
+    return first == null ? Long.MAX_VALUE : Math.max(0, first.deadlineNanos - System.nanoTime());
+  }
+
+  // Blocks the calling thread until the waitable is done. Messages are dispatched on the
+  // dispatcher thread, if called from there (e.g. in an event handler) the messages are
+  // pumped inline.
+  <T> T waitFor(Waitable<T> waitable) {
+    if (Thread.currentThread() == dispatcher) {
+      while (!waitable.isDone()) {
+        processOneMessage(Math.min(waitable.nanosUntilDeadline(), nanosUntilAsyncDeadline()));
+      }
+      return waitable.get();
+    }
+    throwDispatchError();
+    Waiter waiter = new Waiter(waitable);
+    waiters.add(waiter);
+    try {
+      while (!waitable.isDone()) {
+        throwDispatchError();
+        if (isClosed) {
+          throw new PlaywrightException("Playwright connection closed");
+        }
+        waiter.isSignaled = false;
+        if (waitable.isDone()) {
+          break;
+        }
+        await(waiter, waitable.nanosUntilDeadline());
+      }
+    } finally {
+      waiters.remove(waiter);
+    }
+    return waitable.get();
+  }
+
+  private void await(Waiter waiter, long timeoutNanos) {
+    switch (waitStrategy) {
+      case BUSY_SPIN:
+        spin(waiter, timeoutNanos);
+        break;
+      case SPIN_THEN_PARK:
+        if (!spin(waiter, Math.min(timeoutNanos, Transport.SPIN_NANOS)) && timeoutNanos > Transport.SPIN_NANOS) {
+          park(timeoutNanos == Long.MAX_VALUE ? timeoutNanos : timeoutNanos - Transport.SPIN_NANOS);
+        }
+        break;
+      default:
+        park(timeoutNanos);
+        break;
+    }
+  }
+
+  private static boolean spin(Waiter waiter, long timeoutNanos) {
+    long start = System.nanoTime();
+    do {
+      if (waiter.isSignaled) {
+        return true;
+      }
+    } while (timeoutNanos == Long.MAX_VALUE || System.nanoTime() - start < timeoutNanos);
+    return false;
+  }
+
+  private void park(long timeoutNanos) {
+    if (timeoutNanos == Long.MAX_VALUE) {
+      LockSupport.park(this);
+    } else {
+      LockSupport.parkNanos(this, timeoutNanos);
+    }
+  }
+
+  private void signalWaiters() {
+    // Checking every async waiter after every message is quadratic under load, so they are
+    // checked once the queue is drained, and at least every MAX_MESSAGES_BETWEEN_ASYNC_SCANS.
+    if (!transport.hasIncomingMessages() || ++messagesSinceAsyncScan >= MAX_MESSAGES_BETWEEN_ASYNC_SCANS) {
+      messagesSinceAsyncScan = 0;
+      for (AsyncWaiter<?> waiter : asyncWaiters) {
+        waiter.tryComplete();
+      }
+    }
+    completeExpiredAsyncWaiters();
+    // After the async waiters, whose callbacks may complete what a thread waits for.
+    for (Waiter waiter : waiters) {
+      if (!waiter.isSignaled && waiter.waitable.isDone()) {
+        waiter.isSignaled = true;
+        LockSupport.unpark(waiter.thread);
+      }
+    }
+  }
+
+  // Those past their deadline, e.g. timed out.
+  private void completeExpiredAsyncWaiters() {
+    long now = System.nanoTime();
+    AsyncWaiter<?> waiter;
+    // Strictly past, like WaitableTimeout. The deadline is computed after the waitable's own one.
+    while ((waiter = firstAsyncDeadline()) != null && now - waiter.deadlineNanos > 0) {
+      waiter.tryComplete();
+      // Not done after all, from now on it is only checked when messages arrive.
+      asyncDeadlines.remove(waiter);
+    }
+  }
+
   public JsonElement sendMessage(String guid, String method, JsonObject params) {
     return (JsonElement) root.toDeferred(sendMessageAsync(guid, method, params)).get();
   }
 
-  public WaitableResult<JsonElement> sendMessageAsync(String guid, String method, JsonObject params) {
-    return internalSendMessage(guid, method, params);
+  // Doesn't block. The result also fails if a no-reply command previously sent to the same
+  // object failed.
+  public Waitable<JsonElement> sendMessageAsync(String guid, String method, JsonObject params) {
+    List<NoReplyCommand> previous = takeNoReplyCommands(noReplyScope(guid));
+    return withNoReplyErrors(previous, internalSendMessage(guid, method, params));
+  }
+
+  // Sends the binary base64 encoded as the binaryField of params. It is encoded straight
+  // into the output, so the caller must not modify it until the reply arrives.
+  public Waitable<JsonElement> sendMessageAsync(String guid, String method, JsonObject params, String binaryField, ByteBuffer binary) {
+    return sendMessageAsync(guid, method, params, binaryField, OutgoingBinary.of(binary));
+  }
+
+  // The binary is read while the message is written, e.g. from a file in blocks.
+  Waitable<JsonElement> sendMessageAsync(String guid, String method, JsonObject params, String binaryField, OutgoingBinary binary) {
+    List<NoReplyCommand> previous = takeNoReplyCommands(noReplyScope(guid));
+    // The field is added last, so that the placeholder is the last string of the message.
+    params.addProperty(binaryField, BINARY_PLACEHOLDER);
+    return withNoReplyErrors(previous, internalSendMessage(guid, method, params, binary));
   }
 
   public void sendMessageNoWait(String guid, String method, JsonObject params) {
     internalSendMessage(guid, method, params);
   }
 
+  // Sends the message and returns immediately. Its error is thrown from the next command
+  // sent to the same object. The next command of the same thread, sync or async, is sent
+  // after the driver has replied, so that the setter takes effect before it.
+  public void sendMessageNoReply(String guid, String method, JsonObject params) {
+    WaitableResult<JsonElement> result = internalSendMessage(guid, method, params, null, true);
+    Queue<NoReplyCommand> commands = noReplyCommands.computeIfAbsent(noReplyScope(guid), k -> new ConcurrentLinkedQueue<>());
+    // Succeeded commands have nothing to report.
+    commands.removeIf(command -> command.result.isDone() && command.succeeded());
+    commands.add(new NoReplyCommand(method, result));
+  }
+
+  private String noReplyScope(String guid) {
+    ChannelOwner object = objects.get(guid);
+    return object == null ? guid : object.noReplyScope();
+  }
+
+  private List<NoReplyCommand> takeNoReplyCommands(String scope) {
+    Queue<NoReplyCommand> commands = noReplyCommands.get(scope);
+    if (commands == null) {
+      return null;
+    }
+    List<NoReplyCommand> result = null;
+    NoReplyCommand command;
+    while ((command = commands.poll()) != null) {
+      if (result == null) {
+        result = new ArrayList<>();
+      }
+      result.add(command);
+    }
+    return result;
+  }
+
+  private static Waitable<JsonElement> withNoReplyErrors(List<NoReplyCommand> previous, WaitableResult<JsonElement> result) {
+    return previous == null ? result : new WaitableWithNoReplyErrors(previous, result);
+  }
+
   private WaitableResult<JsonElement> internalSendMessage(String guid, String method, JsonObject params) {
-    int id = ++lastId;
+    return internalSendMessage(guid, method, params, null, false);
+  }
+
+  private WaitableResult<JsonElement> internalSendMessage(String guid, String method, JsonObject params, OutgoingBinary binary) {
+    return internalSendMessage(guid, method, params, binary, false);
+  }
+
+  private WaitableResult<JsonElement> internalSendMessage(String guid, String method, JsonObject params, OutgoingBinary binary, boolean isNoReply) {
     WaitableResult<JsonElement> result = new WaitableResult<>();
-    callbacks.put(id, result);
+    int id = callbacks.add(result);
     JsonObject message = new JsonObject();
     message.addProperty("id", id);
     message.addProperty("guid", guid);
     message.addProperty("method", method);
     message.add("params", params);
-    transport.send(gson().toJson(message));
+    outbox.get().send(new OutgoingCommand(gson().toJson(message), binary, result, isNoReply));
     return result;
   }
 
+  boolean isClosed() {
+    return isClosed;
+  }
+
+  // Total number of messages received from the driver.
+  public long messageCount() {
+    return messageCount;
+  }
+
+  // Number of commands sent to the driver that haven't been answered yet.
+  public int inFlightCommandCount() {
+    return callbacks.size();
+  }
+
+  // How long the oldest unanswered command has been waiting, 0 if there is none.
+  public long oldestPendingCommandNanos() {
+    return callbacks.oldestPendingNanos();
+  }
+
   public ChannelOwner waitForObjectWithKnownName(String guid) {
-    while (!objects.containsKey(guid)) {
-      processOneMessage();
-    }
-    return objects.get(guid);
+    return waitFor(new Waitable<ChannelOwner>() {
+      @Override
+      public boolean isDone() {
+        return objects.containsKey(guid);
+      }
+
+      @Override
+      public ChannelOwner get() {
+        return objects.get(guid);
+      }
+
+      @Override
+      public void dispose() {
+      }
+    });
   }
 
   public <T> T getExistingObject(String guid) {
@@ -118,26 +621,111 @@ public class Connection {
 
   void unregisterObject(String guid) {
     objects.remove(guid);
+    noReplyCommands.remove(guid);
   }
 
-  void processOneMessage() {
-    String messageString = transport.poll(Duration.ofMillis(10));
-    if (messageString == null) {
-      return;
+  // Returns the decoded contents of a base64 field of a message.
+  BinaryData binary(JsonElement field) {
+    return binaryFields.get(field);
+  }
+
+  byte[] binaryBytes(JsonElement field) {
+    BinaryData binary = binaryFields.get(field);
+    try {
+      return binary.toByteArray();
+    } finally {
+      binary.release();
+    }
+  }
+
+  // Blocks until a message is dispatched or timeoutNanos elapse, whichever comes first.
+  void processOneMessage(long timeoutNanos) {
+    ByteBuffer bytes = transport.poll(timeoutNanos);
+    try {
+      if (bytes != null) {
+        // Handlers may process nested messages while this one is still being read.
+        messageCount++;
+        Utf8Reader utf8Reader = isReadingMessage ? new Utf8Reader() : messageReader;
+        boolean isOutermost = !isReadingMessage;
+        isReadingMessage = true;
+        Map<String, BinaryData> extracted = binaryFields.extract(bytes);
+        try {
+          utf8Reader.reset(bytes);
+          readAndDispatch(extracted == null ? new JsonReader(utf8Reader) : binaryFields.newReader(utf8Reader, extracted));
+        } catch (IOException e) {
+          throw new PlaywrightException("Failed to parse message", e);
+        } finally {
+          if (isOutermost) {
+            isReadingMessage = false;
+          }
+          transport.release(bytes);
+          if (extracted != null) {
+            BinaryFields.releaseUnread(extracted);
+          }
+        }
+      }
+    } finally {
+      // Also on timeout, some of the waitables may have expired.
+      signalWaiters();
+    }
+  }
+
+  // Reads the message field by field. Events are dispatched as soon as their
+  // params are reached, so that params nobody looks at are skipped rather
+  // than parsed. The driver always puts guid and method before params.
+  private void readAndDispatch(JsonReader reader) throws IOException {
+    Message message = new Message();
+    boolean isDispatched = false;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "id":
+          message.id = reader.nextInt();
+          break;
+        case "guid":
+          message.guid = reader.nextString();
+          break;
+        case "method":
+          message.method = reader.nextString();
+          break;
+        case "params":
+          if (message.id == 0 && message.guid != null && message.method != null) {
+            LazyParams params = new LazyParams(reader);
+            try {
+              dispatchEvent(message.guid, message.method, params);
+            } finally {
+              params.dispose();
+            }
+            isDispatched = true;
+          } else {
+            JsonElement params = JsonParser.parseReader(reader);
+            message.params = params.isJsonObject() ? params.getAsJsonObject() : null;
+          }
+          break;
+        case "result":
+          message.result = JsonParser.parseReader(reader);
+          break;
+        case "error":
+          message.error = gson().fromJson(reader, SerializedError.class);
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+    reader.endObject();
+    if (!isDispatched) {
+      dispatch(message);
     }
-    Gson gson = gson();
-    Message message = gson.fromJson(messageString, Message.class);
-    dispatch(message);
   }
 
   private void dispatch(Message message) {
 //    System.out.println("Message: " + message.method + " " + message.id);
     if (message.id != 0) {
-      WaitableResult<JsonElement> callback = callbacks.get(message.id);
+      WaitableResult<JsonElement> callback = callbacks.remove(message.id);
       if (callback == null) {
         throw new PlaywrightException("Cannot find command to respond: " + message.id);
       }
-      callbacks.remove(message.id);
 //      System.out.println("Message: " + message.id + " " + message);
       if (message.error == null) {
         callback.complete(message.result);
@@ -148,6 +736,9 @@ public class Connection {
           callback.completeExceptionally(new PlaywrightException(message.error.toString()));
         }
       }
+      for (Outbox blocked : blockedOutboxes) {
+        blocked.flush();
+      }
       return;
     }
 
@@ -155,23 +746,27 @@ public class Connection {
     if (message.method == null) {
       return;
     }
-    if (message.method.equals("__create__")) {
-      createRemoteObject(message.guid, message.params);
+    dispatchEvent(message.guid, message.method, new LazyParams(message.params));
+  }
+
+  private void dispatchEvent(String guid, String method, LazyParams params) {
+    if (method.equals("__create__")) {
+      createRemoteObject(guid, params.get());
       return;
     }
-    if (message.method.equals("__dispose__")) {
-      ChannelOwner object = objects.get(message.guid);
+    if (method.equals("__dispose__")) {
+      ChannelOwner object = objects.get(guid);
       if (object == null) {
-        throw new PlaywrightException("Cannot find object to dispose: " + message.guid);
+        throw new PlaywrightException("Cannot find object to dispose: " + guid);
       }
       object.disconnect();
       return;
     }
-    ChannelOwner object = objects.get(message.guid);
+    ChannelOwner object = objects.get(guid);
     if (object == null) {
-      throw new PlaywrightException("Cannot find object to call " + message.method + ": " + message.guid);
+      throw new PlaywrightException("Cannot find object to call " + method + ": " + guid);
     }
-    object.handleEvent(message.method, message.params);
+    object.handleEvent(method, params);
   }
 
   private ChannelOwner createRemoteObject(String parentGuid, JsonObject params) {
@@ -21,7 +21,7 @@ import com.microsoft.playwright.Dialog;
 import com.microsoft.playwright.PlaywrightException;
 
 public class DialogImpl extends ChannelOwner implements Dialog {
-  private boolean handled;
+  private volatile boolean handled;
   DialogImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
   }
@@ -19,7 +19,9 @@ package com.microsoft.playwright.impl;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.Download;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 
@@ -40,12 +42,29 @@ public class DownloadImpl extends ChannelOwner implements Download {
 
   @Override
   public InputStream createReadStream() {
+    Stream stream = openStream();
+    return stream == null ? null : stream.stream();
+  }
+
+  @Override
+  public long transferTo(WritableByteChannel channel) throws IOException {
+    Stream stream = openStream();
+    if (stream == null) {
+      return -1;
+    }
+    try {
+      return stream.transferTo(channel);
+    } finally {
+      stream.stream().close();
+    }
+  }
+
+  private Stream openStream() {
     JsonObject result = sendMessage("stream").getAsJsonObject();
     if (!result.has("stream")) {
       return null;
     }
-    Stream stream = connection.getExistingObject(result.getAsJsonObject("stream").get("guid").getAsString());
-    return stream.stream();
+    return connection.getExistingObject(result.getAsJsonObject("stream").get("guid").getAsString());
   }
 
   @Override
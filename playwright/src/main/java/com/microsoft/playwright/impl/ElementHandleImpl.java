@@ -28,7 +28,6 @@ import com.microsoft.playwright.Frame;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 
 import static com.microsoft.playwright.impl.Serialization.*;
@@ -261,7 +260,7 @@ public class ElementHandleImpl extends JSHandleImpl implements ElementHandle {
     params.remove("path");
     JsonObject json = sendMessage("screenshot", params).getAsJsonObject();
 
-    byte[] buffer = Base64.getDecoder().decode(json.get("binary").getAsString());
+    byte[] buffer = connection.binaryBytes(json.get("binary"));
     if (options.path != null) {
       Utils.writeToFile(buffer, options.path);
     }
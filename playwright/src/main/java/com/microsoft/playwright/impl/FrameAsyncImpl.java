@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+import com.microsoft.playwright.Frame.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+class FrameAsyncImpl implements FrameAsync {
+  private final FrameImpl frame;
+
+  FrameAsyncImpl(FrameImpl frame) {
+    this.frame = frame;
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> querySelector(String selector) {
+    return frame.runAsync(() -> frame.querySelectorAsync(selector));
+  }
+
+  @Override
+  public CompletableFuture<List<ElementHandle>> querySelectorAll(String selector) {
+    return frame.runAsync(() -> frame.querySelectorAllAsync(selector));
+  }
+
+  @Override
+  public CompletableFuture<Object> evalOnSelector(String selector, String pageFunction, Object arg) {
+    return frame.runAsync(() -> frame.evalOnSelectorAsync(selector, pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction, Object arg) {
+    return frame.runAsync(() -> frame.evalOnSelectorAllAsync(selector, pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> addScriptTag(AddScriptTagScript script) {
+    return frame.runAsync(() -> frame.addScriptTagAsync(script));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> addStyleTag(AddStyleTagStyle style) {
+    return frame.runAsync(() -> frame.addStyleTagAsync(style));
+  }
+
+  @Override
+  public CompletableFuture<Void> check(String selector, CheckOptions options) {
+    return frame.runAsync(() -> frame.checkAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> click(String selector, ClickOptions options) {
+    return frame.runAsync(() -> frame.clickAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> content() {
+    return frame.runAsync(() -> frame.contentAsync());
+  }
+
+  @Override
+  public CompletableFuture<Void> dblclick(String selector, DblclickOptions options) {
+    return frame.runAsync(() -> frame.dblclickAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options) {
+    return frame.runAsync(() -> frame.dispatchEventAsync(selector, type, eventInit, options));
+  }
+
+  @Override
+  public CompletableFuture<Object> evaluate(String pageFunction, Object arg) {
+    return frame.runAsync(() -> frame.evaluateAsync(pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<JSHandle> evaluateHandle(String pageFunction, Object arg) {
+    return frame.runAsync(() -> frame.evaluateHandleAsync(pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<Void> fill(String selector, String value, FillOptions options) {
+    return frame.runAsync(() -> frame.fillAsync(selector, value, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> focus(String selector, FocusOptions options) {
+    return frame.runAsync(() -> frame.focusAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> frameElement() {
+    return frame.runAsync(() -> frame.frameElementAsync());
+  }
+
+  @Override
+  public CompletableFuture<String> getAttribute(String selector, String name, GetAttributeOptions options) {
+    return frame.runAsync(() -> frame.getAttributeAsync(selector, name, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> navigate(String url, NavigateOptions options) {
+    return frame.runAsync(() -> frame.navigateAsync(url, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> hover(String selector, HoverOptions options) {
+    return frame.runAsync(() -> frame.hoverAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> innerHTML(String selector, InnerHTMLOptions options) {
+    return frame.runAsync(() -> frame.innerHTMLAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> innerText(String selector, InnerTextOptions options) {
+    return frame.runAsync(() -> frame.innerTextAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> press(String selector, String key, PressOptions options) {
+    return frame.runAsync(() -> frame.pressAsync(selector, key, options));
+  }
+
+  @Override
+  public CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
+    return frame.runAsync(() -> frame.selectOptionAsync(selector, values, options));
+  }
+
+  @Override
+  public CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options) {
+    return frame.runAsync(() -> frame.selectOptionAsync(selector, values, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setContent(String html, SetContentOptions options) {
+    return frame.runAsync(() -> frame.setContentAsync(html, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setInputFiles(String selector, Path[] files, SetInputFilesOptions options) {
+    return frame.runAsync(() -> frame.setInputFilesAsync(selector, files, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
+    return frame.runAsync(() -> frame.setInputFilesAsync(selector, files, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> tap(String selector, TapOptions options) {
+    return frame.runAsync(() -> frame.tapAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> textContent(String selector, TextContentOptions options) {
+    return frame.runAsync(() -> frame.textContentAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> title() {
+    return frame.runAsync(() -> frame.titleAsync());
+  }
+
+  @Override
+  public CompletableFuture<Void> type(String selector, String text, TypeOptions options) {
+    return frame.runAsync(() -> frame.typeAsync(selector, text, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> uncheck(String selector, UncheckOptions options) {
+    return frame.runAsync(() -> frame.uncheckAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options) {
+    return frame.runAsync(() -> frame.waitForFunctionAsync(pageFunction, arg, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options) {
+    return frame.runAsync(() -> frame.waitForLoadStateAsync(state, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> waitForNavigation(WaitForNavigationOptions options) {
+    return frame.runAsync(() -> frame.waitForNavigationAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options) {
+    return frame.runAsync(() -> frame.waitForSelectorAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> waitForTimeout(int timeout) {
+    return frame.runAsync(() -> frame.waitForTimeoutAsync(timeout));
+  }
+}
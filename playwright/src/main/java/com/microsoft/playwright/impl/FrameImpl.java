@@ -28,21 +28,24 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import static com.microsoft.playwright.Frame.LoadState.*;
 import static com.microsoft.playwright.impl.Serialization.*;
 import static com.microsoft.playwright.impl.Utils.isFunctionBody;
 
 public class FrameImpl extends ChannelOwner implements Frame {
-  private String name;
-  private String url;
+  private volatile String name;
+  private volatile String url;
   FrameImpl parentFrame;
-  Set<FrameImpl> childFrames = new LinkedHashSet<>();
-  private final Set<LoadState> loadStates = new HashSet<>();
+  Set<FrameImpl> childFrames = new CopyOnWriteArraySet<>();
+  private final Set<LoadState> loadStates = ConcurrentHashMap.newKeySet();
   enum InternalEventType { NAVIGATED, LOADSTATE }
   private final ListenerCollection<InternalEventType> internalListeners = new ListenerCollection<>();
-  PageImpl page;
-  boolean isDetached;
+  volatile PageImpl page;
+  volatile boolean isDetached;
+  private final FrameAsyncImpl async = new FrameAsyncImpl(this);
 
   FrameImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -58,6 +61,13 @@ public class FrameImpl extends ChannelOwner implements Frame {
     }
   }
 
+  // Page methods are mostly sent to the main frame.
+  @Override
+  String noReplyScope() {
+    PageImpl page = this.page;
+    return page == null ? guid : page.guid;
+  }
+
   private static LoadState loadStateFromProtocol(String value) {
     switch (value) {
       case "load": return LOAD;
@@ -69,58 +79,89 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public ElementHandle querySelector(String selector) {
+    return waitFor(querySelectorAsync(selector));
+  }
+
+  Waitable<ElementHandle> querySelectorAsync(String selector) {
     JsonObject params = new JsonObject();
     params.addProperty("selector", selector);
-    JsonElement json = sendMessage("querySelector", params);
-    JsonObject element = json.getAsJsonObject().getAsJsonObject("element");
-    if (element == null) {
-      return null;
-    }
-    return connection.getExistingObject(element.get("guid").getAsString());
+    return sendMessageAsync("querySelector", params).apply(json -> {
+      JsonObject element = json.getAsJsonObject().getAsJsonObject("element");
+      if (element == null) {
+        return null;
+      }
+      return connection.getExistingObject(element.get("guid").getAsString());
+    });
   }
 
   @Override
   public List<ElementHandle> querySelectorAll(String selector) {
+    return waitFor(querySelectorAllAsync(selector));
+  }
+
+  Waitable<List<ElementHandle>> querySelectorAllAsync(String selector) {
     JsonObject params = new JsonObject();
     params.addProperty("selector", selector);
-    JsonElement json = sendMessage("querySelectorAll", params);
-    JsonArray elements = json.getAsJsonObject().getAsJsonArray("elements");
-    if (elements == null) {
-      return null;
-    }
-    List<ElementHandle> handles = new ArrayList<>();
-    for (JsonElement item : elements) {
-      handles.add(connection.getExistingObject(item.getAsJsonObject().get("guid").getAsString()));
-    }
-    return handles;
+    return sendMessageAsync("querySelectorAll", params).apply(json -> {
+      JsonArray elements = json.getAsJsonObject().getAsJsonArray("elements");
+      if (elements == null) {
+        return null;
+      }
+      List<ElementHandle> handles = new ArrayList<>();
+      for (JsonElement item : elements) {
+        handles.add(connection.getExistingObject(item.getAsJsonObject().get("guid").getAsString()));
+      }
+      return handles;
+    });
   }
 
   @Override
   public Object evalOnSelector(String selector, String pageFunction, Object arg) {
+    return waitFor(evalOnSelectorAsync(selector, pageFunction, arg));
+  }
+
+  Waitable<Object> evalOnSelectorAsync(String selector, String pageFunction, Object arg) {
     JsonObject params = new JsonObject();
     params.addProperty("selector", selector);
     params.addProperty("expression", pageFunction);
     params.addProperty("isFunction", isFunctionBody(pageFunction));
     params.add("arg", gson().toJsonTree(serializeArgument(arg)));
-    JsonElement json = sendMessage("evalOnSelector", params);
-    SerializedValue value = gson().fromJson(json.getAsJsonObject().get("value"), SerializedValue.class);
-    return deserialize(value);
+    return sendMessageAsync("evalOnSelector", params).apply(FrameImpl::deserializeValue);
   }
 
   @Override
   public Object evalOnSelectorAll(String selector, String pageFunction, Object arg) {
+    return waitFor(evalOnSelectorAllAsync(selector, pageFunction, arg));
+  }
+
+  Waitable<Object> evalOnSelectorAllAsync(String selector, String pageFunction, Object arg) {
     JsonObject params = new JsonObject();
     params.addProperty("selector", selector);
     params.addProperty("expression", pageFunction);
     params.addProperty("isFunction", isFunctionBody(pageFunction));
     params.add("arg", gson().toJsonTree(serializeArgument(arg)));
-    JsonElement json = sendMessage("evalOnSelectorAll", params);
+    return sendMessageAsync("evalOnSelectorAll", params).apply(FrameImpl::deserializeValue);
+  }
+
+  private static Object deserializeValue(JsonElement json) {
     SerializedValue value = gson().fromJson(json.getAsJsonObject().get("value"), SerializedValue.class);
     return deserialize(value);
   }
 
+  private ElementHandle toElementHandle(JsonElement json) {
+    return connection.getExistingObject(json.getAsJsonObject().getAsJsonObject("element").get("guid").getAsString());
+  }
+
+  private static Void toVoid(JsonElement json) {
+    return null;
+  }
+
   @Override
   public ElementHandle addScriptTag(AddScriptTagScript options) {
+    return waitFor(addScriptTagAsync(options));
+  }
+
+  Waitable<ElementHandle> addScriptTagAsync(AddScriptTagScript options) {
     if (options == null) {
       options = new AddScriptTagScript();
     }
@@ -137,12 +178,15 @@ public class FrameImpl extends ChannelOwner implements Frame {
       content += "//# sourceURL=" + options.path.toString().replace("\n", "");
       params.addProperty("content", content);
     }
-    JsonElement json = sendMessage("addScriptTag", params);
-    return connection.getExistingObject(json.getAsJsonObject().getAsJsonObject("element").get("guid").getAsString());
+    return sendMessageAsync("addScriptTag", params).apply(this::toElementHandle);
   }
 
   @Override
   public ElementHandle addStyleTag(AddStyleTagStyle options) {
+    return waitFor(addStyleTagAsync(options));
+  }
+
+  Waitable<ElementHandle> addStyleTagAsync(AddStyleTagStyle options) {
     if (options == null) {
       options = new AddStyleTagStyle();
     }
@@ -159,18 +203,21 @@ public class FrameImpl extends ChannelOwner implements Frame {
       content += "/*# sourceURL=" + options.path.toString().replace("\n", "") + "*/";
       params.addProperty("content", content);
     }
-    JsonElement json = sendMessage("addStyleTag", params);
-    return connection.getExistingObject(json.getAsJsonObject().getAsJsonObject("element").get("guid").getAsString());
+    return sendMessageAsync("addStyleTag", params).apply(this::toElementHandle);
   }
 
   @Override
   public void check(String selector, CheckOptions options) {
+    waitFor(checkAsync(selector, options));
+  }
+
+  Waitable<Void> checkAsync(String selector, CheckOptions options) {
     if (options == null) {
       options = new CheckOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    sendMessage("check", params);
+    return sendMessageAsync("check", params).apply(FrameImpl::toVoid);
   }
 
   @Override
@@ -180,6 +227,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public void click(String selector, ClickOptions options) {
+    waitFor(clickAsync(selector, options));
+  }
+
+  Waitable<Void> clickAsync(String selector, ClickOptions options) {
     if (options == null) {
       options = new ClickOptions();
     }
@@ -196,16 +247,24 @@ public class FrameImpl extends ChannelOwner implements Frame {
       params.add("modifiers", Serialization.toProtocol(options.modifiers));
     }
 
-    sendMessage("click", params);
+    return sendMessageAsync("click", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public String content() {
-    return sendMessage("content").getAsJsonObject().get("value").getAsString();
+    return waitFor(contentAsync());
+  }
+
+  Waitable<String> contentAsync() {
+    return sendMessageAsync("content", new JsonObject()).apply(json -> json.getAsJsonObject().get("value").getAsString());
   }
 
   @Override
   public void dblclick(String selector, DblclickOptions options) {
+    waitFor(dblclickAsync(selector, options));
+  }
+
+  Waitable<Void> dblclickAsync(String selector, DblclickOptions options) {
     if (options == null) {
       options = new DblclickOptions();
     }
@@ -222,11 +281,15 @@ public class FrameImpl extends ChannelOwner implements Frame {
       params.add("modifiers", Serialization.toProtocol(options.modifiers));
     }
 
-    sendMessage("dblclick", params);
+    return sendMessageAsync("dblclick", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public void dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options) {
+    waitFor(dispatchEventAsync(selector, type, eventInit, options));
+  }
+
+  Waitable<Void> dispatchEventAsync(String selector, String type, Object eventInit, DispatchEventOptions options) {
     if (options == null) {
       options = new DispatchEventOptions();
     }
@@ -234,76 +297,103 @@ public class FrameImpl extends ChannelOwner implements Frame {
     params.addProperty("selector", selector);
     params.addProperty("type", type);
     params.add("eventInit", gson().toJsonTree(serializeArgument(eventInit)));
-    sendMessage("dispatchEvent", params);
+    return sendMessageAsync("dispatchEvent", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public Object evaluate(String expression, Object arg) {
+    return waitFor(evaluateAsync(expression, arg));
+  }
+
+  Waitable<Object> evaluateAsync(String expression, Object arg) {
     JsonObject params = new JsonObject();
     params.addProperty("expression", expression);
     params.addProperty("world", "main");
     params.addProperty("isFunction", isFunctionBody(expression));
     params.add("arg", gson().toJsonTree(serializeArgument(arg)));
-    JsonElement json = sendMessage("evaluateExpression", params);
-    SerializedValue value = gson().fromJson(json.getAsJsonObject().get("value"), SerializedValue.class);
-    return deserialize(value);
+    return sendMessageAsync("evaluateExpression", params).apply(FrameImpl::deserializeValue);
   }
 
   @Override
   public JSHandle evaluateHandle(String pageFunction, Object arg) {
+    return waitFor(evaluateHandleAsync(pageFunction, arg));
+  }
+
+  Waitable<JSHandle> evaluateHandleAsync(String pageFunction, Object arg) {
     JsonObject params = new JsonObject();
     params.addProperty("expression", pageFunction);
     params.addProperty("world", "main");
     params.addProperty("isFunction", isFunctionBody(pageFunction));
     params.add("arg", gson().toJsonTree(serializeArgument(arg)));
-    JsonElement json = sendMessage("evaluateExpressionHandle", params);
-    return connection.getExistingObject(json.getAsJsonObject().getAsJsonObject("handle").get("guid").getAsString());
+    return sendMessageAsync("evaluateExpressionHandle", params).apply(json ->
+      connection.getExistingObject(json.getAsJsonObject().getAsJsonObject("handle").get("guid").getAsString()));
   }
 
   @Override
   public void fill(String selector, String value, FillOptions options) {
+    waitFor(fillAsync(selector, value, options));
+  }
+
+  Waitable<Void> fillAsync(String selector, String value, FillOptions options) {
     if (options == null) {
       options = new FillOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
     params.addProperty("value", value);
-    sendMessage("fill", params);
+    return sendMessageAsync("fill", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public void focus(String selector, FocusOptions options) {
+    waitFor(focusAsync(selector, options));
+  }
+
+  Waitable<Void> focusAsync(String selector, FocusOptions options) {
     if (options == null) {
       options = new FocusOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    sendMessage("focus", params);
+    return sendMessageAsync("focus", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public ElementHandle frameElement() {
-    JsonObject json = sendMessage("frameElement").getAsJsonObject();
-    return connection.getExistingObject(json.getAsJsonObject("element").get("guid").getAsString());
+    return waitFor(frameElementAsync());
+  }
+
+  Waitable<ElementHandle> frameElementAsync() {
+    return sendMessageAsync("frameElement", new JsonObject()).apply(this::toElementHandle);
   }
 
   @Override
   public String getAttribute(String selector, String name, GetAttributeOptions options) {
+    return waitFor(getAttributeAsync(selector, name, options));
+  }
+
+  Waitable<String> getAttributeAsync(String selector, String name, GetAttributeOptions options) {
     if (options == null) {
       options = new GetAttributeOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
     params.addProperty("name", name);
-    JsonObject json = sendMessage("getAttribute", params).getAsJsonObject();
-    if (json.has("value")) {
-      return json.get("value").getAsString();
-    }
-    return null;
+    return sendMessageAsync("getAttribute", params).apply(result -> {
+      JsonObject json = result.getAsJsonObject();
+      if (json.has("value")) {
+        return json.get("value").getAsString();
+      }
+      return null;
+    });
   }
 
   @Override
-  public ResponseImpl navigate(String url, NavigateOptions options) {
+  public Response navigate(String url, NavigateOptions options) {
+    return waitFor(navigateAsync(url, options));
+  }
+
+  Waitable<Response> navigateAsync(String url, NavigateOptions options) {
     if (options == null) {
       options = new NavigateOptions();
     }
@@ -313,44 +403,55 @@ public class FrameImpl extends ChannelOwner implements Frame {
       params.remove("waitUntil");
       params.addProperty("waitUntil", toProtocol(options.waitUntil));
     }
-    JsonElement result = sendMessage("goto", params);
-    JsonObject jsonResponse = result.getAsJsonObject().getAsJsonObject("response");
-    if (jsonResponse == null) {
-      return null;
-    }
-    return connection.getExistingObject(jsonResponse.get("guid").getAsString());
+    return sendMessageAsync("goto", params).apply(result -> {
+      JsonObject jsonResponse = result.getAsJsonObject().getAsJsonObject("response");
+      if (jsonResponse == null) {
+        return null;
+      }
+      return connection.getExistingObject(jsonResponse.get("guid").getAsString());
+    });
   }
 
   @Override
   public void hover(String selector, HoverOptions options) {
+    waitFor(hoverAsync(selector, options));
+  }
+
+  Waitable<Void> hoverAsync(String selector, HoverOptions options) {
     if (options == null) {
       options = new HoverOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    sendMessage("hover", params);
+    return sendMessageAsync("hover", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public String innerHTML(String selector, InnerHTMLOptions options) {
+    return waitFor(innerHTMLAsync(selector, options));
+  }
+
+  Waitable<String> innerHTMLAsync(String selector, InnerHTMLOptions options) {
     if (options == null) {
       options = new InnerHTMLOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    JsonObject json = sendMessage("innerHTML", params).getAsJsonObject();
-    return json.get("value").getAsString();
+    return sendMessageAsync("innerHTML", params).apply(json -> json.getAsJsonObject().get("value").getAsString());
   }
 
   @Override
   public String innerText(String selector, InnerTextOptions options) {
+    return waitFor(innerTextAsync(selector, options));
+  }
+
+  Waitable<String> innerTextAsync(String selector, InnerTextOptions options) {
     if (options == null) {
       options = new InnerTextOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    JsonObject json = sendMessage("innerText", params).getAsJsonObject();
-    return json.get("value").getAsString();
+    return sendMessageAsync("innerText", params).apply(json -> json.getAsJsonObject().get("value").getAsString());
   }
 
   @Override
@@ -375,17 +476,25 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public void press(String selector, String key, PressOptions options) {
+    waitFor(pressAsync(selector, key, options));
+  }
+
+  Waitable<Void> pressAsync(String selector, String key, PressOptions options) {
     if (options == null) {
       options = new PressOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
     params.addProperty("key", key);
-    sendMessage("press", params);
+    return sendMessageAsync("press", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public List<String> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
+    return waitFor(selectOptionAsync(selector, values, options));
+  }
+
+  Waitable<List<String>> selectOptionAsync(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
     if (options == null) {
       options = new SelectOptionOptions();
     }
@@ -399,6 +508,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public List<String> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options) {
+    return waitFor(selectOptionAsync(selector, values, options));
+  }
+
+  Waitable<List<String>> selectOptionAsync(String selector, ElementHandle[] values, SelectOptionOptions options) {
     if (options == null) {
       options = new SelectOptionOptions();
     }
@@ -410,9 +523,8 @@ public class FrameImpl extends ChannelOwner implements Frame {
     return selectOption(params);
   }
 
-  private List<String> selectOption(JsonObject params) {
-    JsonObject json = sendMessage("selectOption", params).getAsJsonObject();
-    return parseStringList(json.getAsJsonArray("values"));
+  private Waitable<List<String>> selectOption(JsonObject params) {
+    return sendMessageAsync("selectOption", params).apply(json -> parseStringList(json.getAsJsonObject().getAsJsonArray("values")));
   }
 
   static String toProtocol(LoadState waitUntil) {
@@ -429,6 +541,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public void setContent(String html, SetContentOptions options) {
+    waitFor(setContentAsync(html, options));
+  }
+
+  Waitable<Void> setContentAsync(String html, SetContentOptions options) {
     if (options == null) {
       options = new SetContentOptions();
     }
@@ -436,7 +552,7 @@ public class FrameImpl extends ChannelOwner implements Frame {
     params.addProperty("html", html);
     params.remove("waitUntil");
     params.addProperty("waitUntil", toProtocol(options.waitUntil));
-    sendMessage("setContent", params);
+    return sendMessageAsync("setContent", params).apply(FrameImpl::toVoid);
   }
 
   @Override
@@ -444,19 +560,31 @@ public class FrameImpl extends ChannelOwner implements Frame {
     setInputFiles(selector, Utils.toFilePayloads(files), options);
   }
 
+  Waitable<Void> setInputFilesAsync(String selector, Path[] files, SetInputFilesOptions options) {
+    return setInputFilesAsync(selector, Utils.toFilePayloads(files), options);
+  }
+
   @Override
   public void setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
+    waitFor(setInputFilesAsync(selector, files, options));
+  }
+
+  Waitable<Void> setInputFilesAsync(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
     if (options == null) {
       options = new SetInputFilesOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
     params.add("files", toJsonArray(files));
-    sendMessage("setInputFiles", params);
+    return sendMessageAsync("setInputFiles", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public void tap(String selector, TapOptions options) {
+    waitFor(tapAsync(selector, options));
+  }
+
+  Waitable<Void> tapAsync(String selector, TapOptions options) {
     if (options == null) {
       options = new TapOptions();
     }
@@ -466,44 +594,59 @@ public class FrameImpl extends ChannelOwner implements Frame {
       params.add("modifiers", Serialization.toProtocol(options.modifiers));
     }
     params.addProperty("selector", selector);
-    sendMessage("tap", params);
+    return sendMessageAsync("tap", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public String textContent(String selector, TextContentOptions options) {
+    return waitFor(textContentAsync(selector, options));
+  }
+
+  Waitable<String> textContentAsync(String selector, TextContentOptions options) {
     if (options == null) {
       options = new TextContentOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    return sendMessage("textContent", params).getAsJsonObject().get("value").getAsString();
+    return sendMessageAsync("textContent", params).apply(json -> json.getAsJsonObject().get("value").getAsString());
   }
 
   @Override
   public String title() {
-    JsonElement json = sendMessage("title");
-    return json.getAsJsonObject().get("value").getAsString();
+    return waitFor(titleAsync());
+  }
+
+  Waitable<String> titleAsync() {
+    return sendMessageAsync("title", new JsonObject()).apply(json -> json.getAsJsonObject().get("value").getAsString());
   }
 
   @Override
   public void type(String selector, String text, TypeOptions options) {
+    waitFor(typeAsync(selector, text, options));
+  }
+
+  Waitable<Void> typeAsync(String selector, String text, TypeOptions options) {
     if (options == null) {
       options = new TypeOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
     params.addProperty("text", text);
-    sendMessage("type", params);
+    return sendMessageAsync("type", params).apply(FrameImpl::toVoid);
   }
 
   @Override
   public void uncheck(String selector, UncheckOptions options) {
+    waitFor(uncheckAsync(selector, options));
+  }
+
+  Waitable<Void> uncheckAsync(String selector, UncheckOptions options) {
     if (options == null) {
       options = new UncheckOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.addProperty("selector", selector);
-    sendMessage("uncheck", params);
+    return sendMessageAsync("uncheck", params).apply(FrameImpl::toVoid);
   }
 
   @Override
@@ -513,6 +656,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public Deferred<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options) {
+    return toDeferred(waitForFunctionAsync(pageFunction, arg, options));
+  }
+
+  Waitable<JSHandle> waitForFunctionAsync(String pageFunction, Object arg, WaitForFunctionOptions options) {
     if (options == null) {
       options = new WaitForFunctionOptions();
     }
@@ -520,15 +667,18 @@ public class FrameImpl extends ChannelOwner implements Frame {
     params.addProperty("expression", pageFunction);
     params.addProperty("isFunction", isFunctionBody(pageFunction));
     params.add("arg", gson().toJsonTree(serializeArgument(arg)));
-    Waitable<JSHandle> handle = sendMessageAsync("waitForFunction", params).apply(json -> {
+    return sendMessageAsync("waitForFunction", params).apply(json -> {
       JsonObject element = json.getAsJsonObject().getAsJsonObject("handle");
       return connection.getExistingObject(element.get("guid").getAsString());
     });
-    return toDeferred(handle);
   }
 
   @Override
   public Deferred<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options) {
+    return toDeferred(waitForLoadStateAsync(state, options));
+  }
+
+  Waitable<Void> waitForLoadStateAsync(LoadState state, WaitForLoadStateOptions options) {
     if (options == null) {
       options = new WaitForLoadStateOptions();
     }
@@ -540,18 +690,20 @@ public class FrameImpl extends ChannelOwner implements Frame {
     waitables.add(new WaitForLoadStateHelper(state));
     waitables.add(page.createWaitForCloseHelper());
     waitables.add(page.createWaitableTimeout(options.timeout));
-    return toDeferred(new WaitableRace<>(waitables));
+    return new WaitableRace<>(waitables);
   }
 
   private class WaitForLoadStateHelper implements Waitable<Void>, Listener<InternalEventType> {
     private final LoadState expectedState;
-    private boolean isDone;
+    private volatile boolean isDone;
 
     WaitForLoadStateHelper(LoadState state) {
       expectedState = state;
-      isDone = loadStates.contains(state);
-      if (!isDone) {
-        internalListeners.add(InternalEventType.LOADSTATE, this);
+      // Subscribe before checking current state to not miss an event dispatched in between.
+      internalListeners.add(InternalEventType.LOADSTATE, this);
+      if (loadStates.contains(state)) {
+        isDone = true;
+        dispose();
       }
     }
 
@@ -581,10 +733,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
   private class WaitForNavigationHelper implements Waitable<Response>, Listener<InternalEventType> {
     private final UrlMatcher matcher;
     private final LoadState expectedLoadState;
-    private WaitForLoadStateHelper loadStateHelper;
+    private volatile WaitForLoadStateHelper loadStateHelper;
 
-    private RequestImpl request;
-    private RuntimeException exception;
+    private volatile RequestImpl request;
+    private volatile RuntimeException exception;
 
     WaitForNavigationHelper(UrlMatcher matcher, LoadState expectedLoadState) {
       this.matcher = matcher;
@@ -647,6 +799,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public Deferred<Response> waitForNavigation(WaitForNavigationOptions options) {
+    return toDeferred(waitForNavigationAsync(options));
+  }
+
+  Waitable<Response> waitForNavigationAsync(WaitForNavigationOptions options) {
     if (options == null) {
       options = new WaitForNavigationOptions();
     }
@@ -660,7 +816,7 @@ public class FrameImpl extends ChannelOwner implements Frame {
     waitables.add(page.createWaitForCloseHelper());
     waitables.add(page.createWaitableFrameDetach(this));
     waitables.add(page.createWaitableNavigationTimeout(options.timeout));
-    return toDeferred(new WaitableRace<>(waitables));
+    return new WaitableRace<>(waitables);
   }
 
   private static String toProtocol(WaitForSelectorOptions.State state) {
@@ -669,6 +825,10 @@ public class FrameImpl extends ChannelOwner implements Frame {
 
   @Override
   public Deferred<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options) {
+    return toDeferred(waitForSelectorAsync(selector, options));
+  }
+
+  Waitable<ElementHandle> waitForSelectorAsync(String selector, WaitForSelectorOptions options) {
     if (options == null) {
       options = new WaitForSelectorOptions();
     }
@@ -678,25 +838,33 @@ public class FrameImpl extends ChannelOwner implements Frame {
       params.remove("state");
       params.addProperty("state", toProtocol(options.state));
     }
-    Waitable<ElementHandle> handle = sendMessageAsync("waitForSelector", params).apply(json -> {
+    return sendMessageAsync("waitForSelector", params).apply(json -> {
       JsonObject element = json.getAsJsonObject().getAsJsonObject("element");
       if (element == null) {
         return null;
       }
       return connection.getExistingObject(element.get("guid").getAsString());
     });
-    return toDeferred(handle);
   }
 
   @Override
   public Deferred<Void> waitForTimeout(int timeout) {
-    return toDeferred(new WaitableTimeout<Void>(timeout) {
+    return toDeferred(waitForTimeoutAsync(timeout));
+  }
+
+  Waitable<Void> waitForTimeoutAsync(int timeout) {
+    return new WaitableTimeout<Void>(timeout) {
       @Override
       public Void get() {
         // Override to not throw.
         return null;
       }
-    });
+    };
+  }
+
+  @Override
+  public FrameAsync async() {
+    return async;
   }
 
   protected void handleEvent(String event, JsonObject params) {
@@ -715,6 +883,8 @@ public class FrameImpl extends ChannelOwner implements Frame {
       url = params.get("url").getAsString();
       name = params.get("name").getAsString();
       if (!params.has("error") && page != null) {
+        // Scripts of the document may have stored data for its origin.
+        page.context().documentLoaded(url);
         page.frameNavigated(this);
       }
       internalListeners.notify(InternalEventType.NAVIGATED, params);
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static com.microsoft.playwright.impl.Utils.globToRegex;
+
+/**
+ * Glob matcher with the semantics of {@link Utils#globToRegex} that doesn't use regular
+ * expressions. A glob is compiled into a sequence of literal, '*', '**' and '?' tokens,
+ * with '{a,b}' groups expanded into alternative sequences, and matched without
+ * allocation. Globs that this matcher doesn't handle exactly, e.g. with nested groups or
+ * characters that have a meaning in regular expressions, fall back to a Pattern.
+ * Compiled globs are shared through a bounded cache.
+ */
+abstract class GlobMatcher {
+  private static final int MAX_CACHED_GLOBS = 1024;
+  // Larger groups are matched with a Pattern.
+  private static final int MAX_ALTERNATIVES = 64;
+
+  private static final Map<String, GlobMatcher> cache = new LinkedHashMap<String, GlobMatcher>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, GlobMatcher> eldest) {
+      return size() > MAX_CACHED_GLOBS;
+    }
+  };
+
+  abstract boolean matches(String url);
+
+  static GlobMatcher compile(String glob) {
+    synchronized (cache) {
+      GlobMatcher matcher = cache.get(glob);
+      if (matcher != null) {
+        return matcher;
+      }
+    }
+    GlobMatcher matcher = TokenMatcher.parse(glob);
+    if (matcher == null) {
+      Pattern pattern = Pattern.compile(globToRegex(glob));
+      matcher = new GlobMatcher() {
+        @Override
+        boolean matches(String url) {
+          return pattern.matcher(url).find();
+        }
+      };
+    }
+    synchronized (cache) {
+      cache.put(glob, matcher);
+    }
+    return matcher;
+  }
+
+  private static class TokenMatcher extends GlobMatcher {
+    // Token types.
+    private static final byte LITERAL = 0;
+    // Any run of characters other than '/'.
+    private static final byte STAR = 1;
+    // Nothing, anything ending with '/' or everything up to the end.
+    private static final byte DEEP = 2;
+    // Any character but a line terminator.
+    private static final byte ANY = 3;
+    // Used only while parsing.
+    private static final byte GROUP_START = 4;
+    private static final byte GROUP_SEPARATOR = 5;
+    private static final byte GROUP_END = 6;
+
+    // One token sequence per alternative.
+    private final byte[][] types;
+    private final String[][] literals;
+
+    private TokenMatcher(byte[][] types, String[][] literals) {
+      this.types = types;
+      this.literals = literals;
+    }
+
+    @Override
+    boolean matches(String url) {
+      for (int i = 0; i < types.length; i++) {
+        if (matches(types[i], literals[i], 0, url, 0)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static boolean matches(byte[] types, String[] literals, int token, String url, int position) {
+      for (; token < types.length; token++) {
+        switch (types[token]) {
+          case LITERAL: {
+            String literal = literals[token];
+            if (!url.startsWith(literal, position)) {
+              return false;
+            }
+            position += literal.length();
+            break;
+          }
+          case ANY:
+            if (position == url.length() || isLineTerminator(url.charAt(position))) {
+              return false;
+            }
+            position++;
+            break;
+          case STAR:
+            for (int end = position; ; end++) {
+              if (matches(types, literals, token + 1, url, end)) {
+                return true;
+              }
+              if (end == url.length() || url.charAt(end) == '/') {
+                return false;
+              }
+            }
+          case DEEP:
+            if (matches(types, literals, token + 1, url, position)) {
+              return true;
+            }
+            for (int end = position; end < url.length(); end++) {
+              if (url.charAt(end) == '/' && matches(types, literals, token + 1, url, end + 1)) {
+                return true;
+              }
+            }
+            return position < url.length() && matches(types, literals, token + 1, url, url.length());
+          default:
+            throw new IllegalStateException("Unexpected token: " + types[token]);
+        }
+      }
+      return position == url.length();
+    }
+
+    private static boolean isLineTerminator(char c) {
+      return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // Tokenizes the glob the same way globToRegex does, returns null if the result
+    // can't be matched exactly without a Pattern.
+    static TokenMatcher parse(String glob) {
+      List<Byte> types = new ArrayList<>();
+      List<String> literals = new ArrayList<>();
+      StringBuilder literal = new StringBuilder();
+      boolean inGroup = false;
+      for (int i = 0; i < glob.length(); ++i) {
+        char c = glob.charAt(i);
+        if (c == '*') {
+          boolean beforeDeep = i < 1 || glob.charAt(i - 1) == '/';
+          int starCount = 1;
+          while (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+            starCount++;
+            i++;
+          }
+          boolean afterDeep = i + 1 >= glob.length() || glob.charAt(i + 1) == '/';
+          boolean isDeep = starCount > 1 && beforeDeep && afterDeep;
+          if (isDeep) {
+            i++;
+          }
+          addToken(types, literals, literal, isDeep ? DEEP : STAR);
+          continue;
+        }
+        switch (c) {
+          case '?':
+            addToken(types, literals, literal, ANY);
+            break;
+          case '{':
+            if (inGroup) {
+              return null;
+            }
+            inGroup = true;
+            addToken(types, literals, literal, GROUP_START);
+            break;
+          case '}':
+            if (!inGroup) {
+              return null;
+            }
+            inGroup = false;
+            addToken(types, literals, literal, GROUP_END);
+            break;
+          case ',':
+            if (inGroup) {
+              addToken(types, literals, literal, GROUP_SEPARATOR);
+            } else {
+              literal.append(c);
+            }
+            break;
+          case '[':
+          case ']':
+          case '\\':
+            // Would be a character class or an escape in the regular expression.
+            return null;
+          default:
+            literal.append(c);
+        }
+      }
+      if (inGroup) {
+        return null;
+      }
+      if (literal.length() > 0) {
+        types.add(LITERAL);
+        literals.add(literal.toString());
+      }
+      return expandGroups(types, literals);
+    }
+
+    private static void addToken(List<Byte> types, List<String> literals, StringBuilder literal, byte type) {
+      if (literal.length() > 0) {
+        types.add(LITERAL);
+        literals.add(literal.toString());
+        literal.setLength(0);
+      }
+      types.add(type);
+      literals.add(null);
+    }
+
+    // Replaces each group with its alternatives, producing one token sequence per combination.
+    private static TokenMatcher expandGroups(List<Byte> types, List<String> literals) {
+      List<List<Integer>> sequences = new ArrayList<>();
+      sequences.add(new ArrayList<>());
+      for (int i = 0; i < types.size(); i++) {
+        if (types.get(i) != GROUP_START) {
+          for (List<Integer> sequence : sequences) {
+            sequence.add(i);
+          }
+          continue;
+        }
+        List<List<Integer>> alternatives = new ArrayList<>();
+        List<Integer> alternative = new ArrayList<>();
+        for (i++; types.get(i) != GROUP_END; i++) {
+          if (types.get(i) == GROUP_SEPARATOR) {
+            alternatives.add(alternative);
+            alternative = new ArrayList<>();
+          } else {
+            alternative.add(i);
+          }
+        }
+        alternatives.add(alternative);
+        if (sequences.size() * alternatives.size() > MAX_ALTERNATIVES) {
+          return null;
+        }
+        List<List<Integer>> expanded = new ArrayList<>();
+        for (List<Integer> sequence : sequences) {
+          for (List<Integer> tokens : alternatives) {
+            List<Integer> copy = new ArrayList<>(sequence);
+            copy.addAll(tokens);
+            expanded.add(copy);
+          }
+        }
+        sequences = expanded;
+      }
+      byte[][] resultTypes = new byte[sequences.size()][];
+      String[][] resultLiterals = new String[sequences.size()][];
+      for (int i = 0; i < sequences.size(); i++) {
+        List<Byte> sequenceTypes = new ArrayList<>();
+        List<String> sequenceLiterals = new ArrayList<>();
+        for (int token : sequences.get(i)) {
+          int last = sequenceTypes.size() - 1;
+          // Literals that end up next to each other are merged.
+          if (types.get(token) == LITERAL && last >= 0 && sequenceTypes.get(last) == LITERAL) {
+            sequenceLiterals.set(last, sequenceLiterals.get(last) + literals.get(token));
+            continue;
+          }
+          sequenceTypes.add(types.get(token));
+          sequenceLiterals.add(literals.get(token));
+        }
+        resultTypes[i] = new byte[sequenceTypes.size()];
+        for (int j = 0; j < resultTypes[i].length; j++) {
+          resultTypes[i][j] = sequenceTypes.get(j);
+        }
+        resultLiterals[i] = sequenceLiterals.toArray(new String[0]);
+      }
+      return new TokenMatcher(resultTypes, resultLiterals);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Fulfills requests from the entries of a HAR file, requests without an entry are aborted.
+ * The file is parsed once and the entries are indexed by method and URL. Entries for the
+ * same request that only differ in post data are told apart by a SHA-256 digest of it, a
+ * request whose post data matches none of them is aborted. Large bodies are decoded straight
+ * into temporary files once and streamed from those files on every fulfill.
+ */
+class HarRouter implements Consumer<Route> {
+  // Bodies larger than this are not kept on the heap.
+  private static final int MAX_HEAP_BODY_SIZE = 64 * 1024;
+  private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+    // The body in the HAR is already decoded and its length is known.
+    "content-encoding", "content-length", "transfer-encoding"));
+
+  private final Path har;
+  // Keyed by method and URL, in the order the entries were recorded.
+  private final Map<String, List<Entry>> entries = new HashMap<>();
+  private Path bodiesDir;
+
+  private static class Entry {
+    // Null if the request had no post data.
+    byte[] postDataDigest;
+    int status;
+    Map<String, String> headers;
+    String contentType;
+    // One of them is set.
+    byte[] body;
+    Path bodyFile;
+  }
+
+  HarRouter(Path har) {
+    this.har = har;
+    try (Reader reader = Files.newBufferedReader(har, StandardCharsets.UTF_8)) {
+      readLog(new JsonReader(reader));
+    } catch (IOException | RuntimeException e) {
+      throw new PlaywrightException("Failed to read HAR file: " + har, e);
+    }
+  }
+
+  // Reads log.entries one entry at a time, so that only one body is in memory at once.
+  private void readLog(JsonReader reader) throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (!"log".equals(reader.nextName())) {
+        reader.skipValue();
+        continue;
+      }
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (!"entries".equals(reader.nextName())) {
+          reader.skipValue();
+          continue;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+          addEntry(JsonParser.parseReader(reader).getAsJsonObject());
+        }
+        reader.endArray();
+      }
+      reader.endObject();
+    }
+    reader.endObject();
+  }
+
+  private void addEntry(JsonObject json) throws IOException {
+    JsonObject request = json.getAsJsonObject("request");
+    JsonObject response = json.getAsJsonObject("response");
+    // Failed requests are recorded without a status.
+    if (request == null || response == null || response.get("status").getAsInt() <= 0) {
+      return;
+    }
+    Entry entry = new Entry();
+    JsonObject postData = request.getAsJsonObject("postData");
+    if (postData != null && postData.has("text")) {
+      entry.postDataDigest = digest(postData.get("text").getAsString().getBytes(StandardCharsets.UTF_8));
+    }
+    entry.status = response.get("status").getAsInt();
+    entry.headers = new LinkedHashMap<>();
+    if (response.has("headers")) {
+      for (JsonElement item : response.getAsJsonArray("headers")) {
+        JsonObject header = item.getAsJsonObject();
+        String name = header.get("name").getAsString().toLowerCase();
+        // HTTP/2 pseudo headers can't be fulfilled.
+        if (SKIPPED_HEADERS.contains(name) || name.startsWith(":")) {
+          continue;
+        }
+        String value = header.get("value").getAsString();
+        entry.headers.merge(name, value, (a, b) -> a + ("set-cookie".equals(name) ? "\n" : ", ") + b);
+      }
+    }
+    JsonObject content = response.getAsJsonObject("content");
+    if (content != null) {
+      readContent(entry, content);
+    }
+    if (entry.contentType == null) {
+      entry.contentType = entry.headers.get("content-type");
+    }
+    String key = request.get("method").getAsString() + " " + request.get("url").getAsString();
+    entries.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+  }
+
+  private void readContent(Entry entry, JsonObject content) throws IOException {
+    if (content.has("mimeType") && !content.get("mimeType").getAsString().isEmpty()) {
+      entry.contentType = content.get("mimeType").getAsString();
+    }
+    if (content.has("_file")) {
+      // Recorded with the bodies as separate files next to the HAR.
+      Path dir = har.toAbsolutePath().getParent();
+      entry.bodyFile = dir.resolve(content.get("_file").getAsString());
+      return;
+    }
+    if (!content.has("text")) {
+      entry.body = new byte[0];
+      return;
+    }
+    String text = content.get("text").getAsString();
+    boolean isBase64 = content.has("encoding") && "base64".equals(content.get("encoding").getAsString());
+    // Upper bound of the decoded size, the text itself is already on the heap.
+    long size = isBase64 ? text.length() / 4 * 3L : text.length() * 3L;
+    if (size <= MAX_HEAP_BODY_SIZE) {
+      entry.body = isBase64 ? Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8);
+      return;
+    }
+    if (bodiesDir == null) {
+      bodiesDir = Files.createTempDirectory("playwright-har");
+      bodiesDir.toFile().deleteOnExit();
+    }
+    entry.bodyFile = Files.createTempFile(bodiesDir, "body", "");
+    entry.bodyFile.toFile().deleteOnExit();
+    if (isBase64) {
+      try (InputStream in = Base64.getDecoder().wrap(new AsciiInputStream(text))) {
+        Files.copy(in, entry.bodyFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } else {
+      try (Writer writer = Files.newBufferedWriter(entry.bodyFile, StandardCharsets.UTF_8)) {
+        writer.write(text);
+      }
+    }
+  }
+
+  private static byte[] digest(byte[] data) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(data);
+    } catch (NoSuchAlgorithmException e) {
+      throw new PlaywrightException("Failed to compute post data digest", e);
+    }
+  }
+
+  // Reads base64 text as bytes without copying it into a byte array.
+  private static class AsciiInputStream extends InputStream {
+    private final String text;
+    private int position;
+
+    AsciiInputStream(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public int read() {
+      return position < text.length() ? toByte(text.charAt(position++)) & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (position >= text.length()) {
+        return -1;
+      }
+      int count = Math.min(length, text.length() - position);
+      for (int i = 0; i < count; i++) {
+        buffer[offset + i] = toByte(text.charAt(position++));
+      }
+      return count;
+    }
+
+    // Anything outside ASCII is passed as an illegal byte for the decoder to reject.
+    private static byte toByte(char c) {
+      return c < 0x80 ? (byte) c : (byte) 0xff;
+    }
+  }
+
+  @Override
+  public void accept(Route route) {
+    Entry entry = find(route.request());
+    if (entry == null) {
+      route.abort();
+      return;
+    }
+    Route.FulfillResponse response = new Route.FulfillResponse()
+      .withStatus(entry.status)
+      .withHeaders(entry.headers);
+    if (entry.contentType != null) {
+      response.withContentType(entry.contentType);
+    }
+    if (entry.bodyFile != null) {
+      response.withPath(entry.bodyFile);
+    } else {
+      response.withBody(entry.body);
+    }
+    route.fulfill(response);
+  }
+
+  private Entry find(Request request) {
+    List<Entry> candidates = entries.get(request.method() + " " + request.url());
+    if (candidates == null) {
+      return null;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    byte[] postData = request.postDataBuffer();
+    byte[] digest = postData == null ? null : digest(postData);
+    for (Entry entry : candidates) {
+      if (digest == null ? entry.postDataDigest == null : MessageDigest.isEqual(entry.postDataDigest, digest)) {
+        return entry;
+      }
+    }
+    // Recorded for other bodies only.
+    return null;
+  }
+}
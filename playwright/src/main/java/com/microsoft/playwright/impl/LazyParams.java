@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Event parameters that are parsed from the incoming message only if the
+ * handler asks for them. Valid only while the event is being handled.
+ */
+class LazyParams {
+  private JsonReader reader;
+  private JsonObject params;
+  private boolean isDisposed;
+
+  // The reader must be positioned at the params value.
+  LazyParams(JsonReader reader) {
+    this.reader = reader;
+  }
+
+  LazyParams(JsonObject params) {
+    this.params = params;
+  }
+
+  JsonObject get() {
+    if (isDisposed) {
+      throw new IllegalStateException("Event parameters accessed after the event was handled");
+    }
+    if (reader != null) {
+      JsonElement element = JsonParser.parseReader(reader);
+      params = element.isJsonObject() ? element.getAsJsonObject() : null;
+      reader = null;
+    }
+    return params;
+  }
+
+  // Skips the params if they haven't been parsed.
+  void dispose() throws IOException {
+    if (reader != null) {
+      reader.skipValue();
+      reader = null;
+    }
+    isDisposed = true;
+  }
+}
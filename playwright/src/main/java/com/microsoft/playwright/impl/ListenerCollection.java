@@ -20,13 +20,14 @@ import com.microsoft.playwright.Deferred;
 import com.microsoft.playwright.Event;
 import com.microsoft.playwright.Listener;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 class ListenerCollection <EventType> {
-  private final HashMap<EventType, List<Listener<EventType>>> listeners = new HashMap<>();
+  private final Map<EventType, List<Listener<EventType>>> listeners = new ConcurrentHashMap<>();
 
   void notify(EventType eventType, Object param) {
     List<Listener<EventType>> list = listeners.get(eventType);
@@ -46,29 +47,30 @@ class ListenerCollection <EventType> {
       }
     };
 
-    for (Listener<EventType> listener: new ArrayList<>(list)) {
+    for (Listener<EventType> listener: list) {
       listener.handle(event);
     }
   }
 
   void add(EventType type, Listener<EventType> listener) {
-    List<Listener<EventType>> list = listeners.get(type);
-    if (list == null) {
-      list = new ArrayList<>();
-      listeners.put(type, list);
-    }
-    list.add(listener);
+    listeners.compute(type, (t, list) -> {
+      if (list == null) {
+        list = new CopyOnWriteArrayList<>();
+      }
+      list.add(listener);
+      return list;
+    });
   }
 
   void remove(EventType type, Listener<EventType>  listener) {
-    List<Listener<EventType>> list = listeners.get(type);
-    if (list == null) {
-      return;
-    }
-    list.removeAll(Collections.singleton(listener));
-    if (list.isEmpty()) {
-      listeners.remove(type);
-    }
+    listeners.computeIfPresent(type, (t, list) -> {
+      list.removeAll(Collections.singleton(listener));
+      return list.isEmpty() ? null : list;
+    });
+  }
+
+  void clear() {
+    listeners.clear();
   }
 
   boolean hasListeners(EventType type) {
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+import com.microsoft.playwright.Page.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+class PageAsyncImpl implements PageAsync {
+  private final PageImpl page;
+  // Commands issued through this instance are added to the batch when it's not null.
+  private final Batch batch;
+
+  PageAsyncImpl(PageImpl page) {
+    this(page, null);
+  }
+
+  PageAsyncImpl(PageImpl page, Batch batch) {
+    this.page = page;
+    this.batch = batch;
+  }
+
+  private <T> CompletableFuture<T> run(Supplier<Waitable<T>> action) {
+    if (batch != null) {
+      return batch.add(action, false);
+    }
+    return page.runAsync(action);
+  }
+
+  // For commands that don't change the page, batches send consecutive ones together.
+  private <T> CompletableFuture<T> read(Supplier<Waitable<T>> action) {
+    if (batch != null) {
+      return batch.add(action, true);
+    }
+    return page.runAsync(action);
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> querySelector(String selector) {
+    return read(() -> page.querySelectorAsync(selector));
+  }
+
+  @Override
+  public CompletableFuture<List<ElementHandle>> querySelectorAll(String selector) {
+    return read(() -> page.querySelectorAllAsync(selector));
+  }
+
+  @Override
+  public CompletableFuture<Object> evalOnSelector(String selector, String pageFunction, Object arg) {
+    return run(() -> page.evalOnSelectorAsync(selector, pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<Object> evalOnSelectorAll(String selector, String pageFunction, Object arg) {
+    return run(() -> page.evalOnSelectorAllAsync(selector, pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<Void> addInitScript(String script, Object arg) {
+    return run(() -> page.addInitScriptAsync(script, arg));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> addScriptTag(AddScriptTagScript script) {
+    return run(() -> page.addScriptTagAsync(script));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> addStyleTag(AddStyleTagStyle style) {
+    return run(() -> page.addStyleTagAsync(style));
+  }
+
+  @Override
+  public CompletableFuture<Void> bringToFront() {
+    return run(() -> page.bringToFrontAsync());
+  }
+
+  @Override
+  public CompletableFuture<Void> check(String selector, CheckOptions options) {
+    return run(() -> page.checkAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> click(String selector, ClickOptions options) {
+    return run(() -> page.clickAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> close(CloseOptions options) {
+    return run(() -> page.closeAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<String> content() {
+    return read(() -> page.contentAsync());
+  }
+
+  @Override
+  public CompletableFuture<Void> dblclick(String selector, DblclickOptions options) {
+    return run(() -> page.dblclickAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options) {
+    return run(() -> page.dispatchEventAsync(selector, type, eventInit, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> emulateMedia(EmulateMediaParams params) {
+    return run(() -> page.emulateMediaAsync(params));
+  }
+
+  @Override
+  public CompletableFuture<Object> evaluate(String pageFunction, Object arg) {
+    return run(() -> page.evaluateAsync(pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<JSHandle> evaluateHandle(String pageFunction, Object arg) {
+    return run(() -> page.evaluateHandleAsync(pageFunction, arg));
+  }
+
+  @Override
+  public CompletableFuture<Void> fill(String selector, String value, FillOptions options) {
+    return run(() -> page.fillAsync(selector, value, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> focus(String selector, FocusOptions options) {
+    return run(() -> page.focusAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> getAttribute(String selector, String name, GetAttributeOptions options) {
+    return read(() -> page.getAttributeAsync(selector, name, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> goBack(GoBackOptions options) {
+    return run(() -> page.goBackAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<Response> goForward(GoForwardOptions options) {
+    return run(() -> page.goForwardAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<Response> navigate(String url, NavigateOptions options) {
+    return run(() -> page.navigateAsync(url, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> hover(String selector, HoverOptions options) {
+    return run(() -> page.hoverAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> innerHTML(String selector, InnerHTMLOptions options) {
+    return read(() -> page.innerHTMLAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> innerText(String selector, InnerTextOptions options) {
+    return read(() -> page.innerTextAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Page> opener() {
+    return read(() -> page.openerAsync());
+  }
+
+  @Override
+  public CompletableFuture<byte[]> pdf(PdfOptions options) {
+    return run(() -> page.pdfAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<Void> press(String selector, String key, PressOptions options) {
+    return run(() -> page.pressAsync(selector, key, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> reload(ReloadOptions options) {
+    return run(() -> page.reloadAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<byte[]> screenshot(ScreenshotOptions options) {
+    return run(() -> page.screenshotAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<List<String>> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
+    return run(() -> page.selectOptionAsync(selector, values, options));
+  }
+
+  @Override
+  public CompletableFuture<List<String>> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options) {
+    return run(() -> page.selectOptionAsync(selector, values, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setContent(String html, SetContentOptions options) {
+    return run(() -> page.setContentAsync(html, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setExtraHTTPHeaders(Map<String, String> headers) {
+    return run(() -> page.setExtraHTTPHeadersAsync(headers));
+  }
+
+  @Override
+  public CompletableFuture<Void> setInputFiles(String selector, Path[] files, SetInputFilesOptions options) {
+    return run(() -> page.setInputFilesAsync(selector, files, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
+    return run(() -> page.setInputFilesAsync(selector, files, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> setViewportSize(int width, int height) {
+    return run(() -> page.setViewportSizeAsync(width, height));
+  }
+
+  @Override
+  public CompletableFuture<Void> tap(String selector, TapOptions options) {
+    return run(() -> page.tapAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> textContent(String selector, TextContentOptions options) {
+    return read(() -> page.textContentAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<String> title() {
+    return read(() -> page.titleAsync());
+  }
+
+  @Override
+  public CompletableFuture<Void> type(String selector, String text, TypeOptions options) {
+    return run(() -> page.typeAsync(selector, text, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> uncheck(String selector, UncheckOptions options) {
+    return run(() -> page.uncheckAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Event<EventType>> waitForEvent(EventType event, WaitForEventOptions options) {
+    return run(() -> page.waitForEventAsync(event, options));
+  }
+
+  @Override
+  public CompletableFuture<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options) {
+    return run(() -> page.waitForFunctionAsync(pageFunction, arg, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options) {
+    return run(() -> page.waitForLoadStateAsync(state, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> waitForNavigation(WaitForNavigationOptions options) {
+    return run(() -> page.waitForNavigationAsync(options));
+  }
+
+  @Override
+  public CompletableFuture<Request> waitForRequest(String urlGlob, WaitForRequestOptions options) {
+    return run(() -> page.waitForRequestAsync(urlGlob, options));
+  }
+
+  @Override
+  public CompletableFuture<Request> waitForRequest(Pattern urlPattern, WaitForRequestOptions options) {
+    return run(() -> page.waitForRequestAsync(urlPattern, options));
+  }
+
+  @Override
+  public CompletableFuture<Request> waitForRequest(Predicate<String> urlPredicate, WaitForRequestOptions options) {
+    return run(() -> page.waitForRequestAsync(urlPredicate, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> waitForResponse(String urlGlob, WaitForResponseOptions options) {
+    return run(() -> page.waitForResponseAsync(urlGlob, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> waitForResponse(Pattern urlPattern, WaitForResponseOptions options) {
+    return run(() -> page.waitForResponseAsync(urlPattern, options));
+  }
+
+  @Override
+  public CompletableFuture<Response> waitForResponse(Predicate<String> urlPredicate, WaitForResponseOptions options) {
+    return run(() -> page.waitForResponseAsync(urlPredicate, options));
+  }
+
+  @Override
+  public CompletableFuture<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options) {
+    return run(() -> page.waitForSelectorAsync(selector, options));
+  }
+
+  @Override
+  public CompletableFuture<Void> waitForTimeout(int timeout) {
+    return run(() -> page.waitForTimeoutAsync(timeout));
+  }
+}
@@ -17,12 +17,17 @@
 package com.microsoft.playwright.impl;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import com.microsoft.playwright.*;
 
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -41,14 +46,15 @@ public class PageImpl extends ChannelOwner implements Page {
   private final AccessibilityImpl accessibility;
   private final TouchscreenImpl touchscreen;
   private Viewport viewport;
-  private final Router routes = new Router();
-  private final Set<FrameImpl> frames = new LinkedHashSet<>();
+  private final Router routes;
+  private final Set<FrameImpl> frames = new CopyOnWriteArraySet<>();
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
-  final Map<String, Binding> bindings = new HashMap<>();
+  final Map<String, Binding> bindings = new ConcurrentHashMap<>();
   BrowserContextImpl ownedContext;
-  private boolean isClosed;
-  final Set<Worker> workers = new HashSet<>();
+  private volatile boolean isClosed;
+  final Set<Worker> workers = new CopyOnWriteArraySet<>();
   private final TimeoutSettings timeoutSettings;
+  private final PageAsyncImpl async = new PageAsyncImpl(this);
 
   PageImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -61,6 +67,17 @@ public class PageImpl extends ChannelOwner implements Page {
     accessibility = new AccessibilityImpl(this);
     frames.add(mainFrame);
     timeoutSettings = new TimeoutSettings(browserContext.timeoutSettings);
+    routes = new Router(timeoutSettings);
+  }
+
+  @Override
+  void handleEvent(String event, LazyParams params) {
+    // The most frequent events only need to be parsed when somebody listens to them.
+    EventType type = notifyOnlyEventType(event);
+    if (type != null && !listeners.hasListeners(type)) {
+      return;
+    }
+    super.handleEvent(event, params);
   }
 
   @Override
@@ -156,13 +173,13 @@ public class PageImpl extends ChannelOwner implements Page {
       }
       listeners.notify(EventType.FRAMEDETACHED, frame);
     } else if ("route".equals(event)) {
-      Route route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
+      RouteImpl route = connection.getExistingObject(params.getAsJsonObject("route").get("guid").getAsString());
       boolean handled = routes.handle(route);
       if (!handled) {
         handled = browserContext.routes.handle(route);
       }
-      if (!handled) {
-        route.continue_();
+      if (!handled && route.markHandled()) {
+        route.continueNoWait();
       }
     } else if ("pageError".equals(event)) {
       SerializedError error = gson().fromJson(params.getAsJsonObject("error"), SerializedError.class);
@@ -176,6 +193,22 @@ public class PageImpl extends ChannelOwner implements Page {
     }
   }
 
+  // Returns the event type for events that have no effect besides notifying listeners.
+  private static EventType notifyOnlyEventType(String event) {
+    switch (event) {
+      case "console":
+        return EventType.CONSOLE;
+      case "request":
+        return EventType.REQUEST;
+      case "requestFinished":
+        return EventType.REQUESTFINISHED;
+      case "response":
+        return EventType.RESPONSE;
+      default:
+        return null;
+    }
+  }
+
   private void willAddFileChooserListener() {
     if (!listeners.hasListeners(EventType.FILECHOOSER)) {
       updateFileChooserInterception(true);
@@ -191,7 +224,7 @@ public class PageImpl extends ChannelOwner implements Page {
   private void updateFileChooserInterception(boolean enabled) {
     JsonObject params = new JsonObject();
     params.addProperty("intercepted", enabled);
-    sendMessage("setFileChooserInterceptedNoReply", params);
+    sendMessageNoReply("setFileChooserInterceptedNoReply", params);
   }
 
   @Override
@@ -212,37 +245,74 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public void close(CloseOptions options) {
+    waitFor(closeAsync(options));
+  }
+
+  Waitable<Void> closeAsync(CloseOptions options) {
     JsonObject params = options == null ? new JsonObject() : gson().toJsonTree(options).getAsJsonObject();
-    try {
-      sendMessage("close", params);
-    } catch (PlaywrightException exception) {
-      if (!isSafeCloseError(exception)) {
-        throw exception;
+    Waitable<JsonElement> result = sendMessageAsync("close", params);
+    return new Waitable<Void>() {
+      @Override
+      public boolean isDone() {
+        return result.isDone();
       }
-    }
-    if (ownedContext != null) {
-      ownedContext.close();
-    }
+
+      @Override
+      public Void get() {
+        try {
+          result.get();
+        } catch (PlaywrightException exception) {
+          if (!isSafeCloseError(exception)) {
+            throw exception;
+          }
+        }
+        if (ownedContext != null) {
+          ownedContext.close();
+        }
+        return null;
+      }
+
+      @Override
+      public void dispose() {
+        result.dispose();
+      }
+    };
   }
 
   @Override
   public ElementHandle querySelector(String selector) {
-    return mainFrame.querySelector(selector);
+    return waitFor(querySelectorAsync(selector));
+  }
+
+  Waitable<ElementHandle> querySelectorAsync(String selector) {
+    return mainFrame.querySelectorAsync(selector);
   }
 
   @Override
   public List<ElementHandle> querySelectorAll(String selector) {
-    return mainFrame.querySelectorAll(selector);
+    return waitFor(querySelectorAllAsync(selector));
+  }
+
+  Waitable<List<ElementHandle>> querySelectorAllAsync(String selector) {
+    return mainFrame.querySelectorAllAsync(selector);
   }
 
   @Override
   public Object evalOnSelector(String selector, String pageFunction, Object arg) {
-    return mainFrame.evalOnSelector(selector, pageFunction, arg);
+    return waitFor(evalOnSelectorAsync(selector, pageFunction, arg));
+  }
+
+  Waitable<Object> evalOnSelectorAsync(String selector, String pageFunction, Object arg) {
+    return mainFrame.evalOnSelectorAsync(selector, pageFunction, arg);
   }
 
   @Override
   public Object evalOnSelectorAll(String selector, String pageFunction, Object arg) {
-    return mainFrame.evalOnSelectorAll(selector, pageFunction, arg);
+    return waitFor(evalOnSelectorAllAsync(selector, pageFunction, arg));
+  }
+
+  Waitable<Object> evalOnSelectorAllAsync(String selector, String pageFunction, Object arg) {
+    return mainFrame.evalOnSelectorAllAsync(selector, pageFunction, arg);
   }
 
   @Override
@@ -252,74 +322,126 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public void addInitScript(String script, Object arg) {
+    waitFor(addInitScriptAsync(script, arg));
+  }
+
+  Waitable<Void> addInitScriptAsync(String script, Object arg) {
     JsonObject params = new JsonObject();
     // TODO: support or drop arg
     params.addProperty("source", script);
-    sendMessage("addInitScript", params);
+    return sendMessageAsync("addInitScript", params).apply(PageImpl::toVoid);
+  }
+
+  private static Void toVoid(JsonElement json) {
+    return null;
   }
 
   @Override
   public ElementHandle addScriptTag(AddScriptTagScript options) {
-    return mainFrame.addScriptTag(convertViaJson(options, Frame.AddScriptTagScript.class));
+    return waitFor(addScriptTagAsync(options));
+  }
+
+  Waitable<ElementHandle> addScriptTagAsync(AddScriptTagScript options) {
+    return mainFrame.addScriptTagAsync(convertViaJson(options, Frame.AddScriptTagScript.class));
   }
 
   @Override
   public ElementHandle addStyleTag(AddStyleTagStyle options) {
-    return mainFrame.addStyleTag(convertViaJson(options, Frame.AddStyleTagStyle.class));
+    return waitFor(addStyleTagAsync(options));
+  }
+
+  Waitable<ElementHandle> addStyleTagAsync(AddStyleTagStyle options) {
+    return mainFrame.addStyleTagAsync(convertViaJson(options, Frame.AddStyleTagStyle.class));
   }
 
   @Override
   public void bringToFront() {
-    sendMessage("bringToFront");
+    waitFor(bringToFrontAsync());
+  }
+
+  Waitable<Void> bringToFrontAsync() {
+    return sendMessageAsync("bringToFront", new JsonObject()).apply(PageImpl::toVoid);
   }
 
   @Override
   public void check(String selector, CheckOptions options) {
-    mainFrame.check(selector, convertViaJson(options, Frame.CheckOptions.class));
+    waitFor(checkAsync(selector, options));
+  }
+
+  Waitable<Void> checkAsync(String selector, CheckOptions options) {
+    return mainFrame.checkAsync(selector, convertViaJson(options, Frame.CheckOptions.class));
   }
 
   @Override
   public void click(String selector, ClickOptions options) {
-    mainFrame.click(selector, convertViaJson(options, Frame.ClickOptions.class));
+    waitFor(clickAsync(selector, options));
+  }
+
+  Waitable<Void> clickAsync(String selector, ClickOptions options) {
+    return mainFrame.clickAsync(selector, convertViaJson(options, Frame.ClickOptions.class));
   }
 
   @Override
   public String content() {
-    return mainFrame.content();
+    return waitFor(contentAsync());
+  }
+
+  Waitable<String> contentAsync() {
+    return mainFrame.contentAsync();
   }
 
   @Override
-  public BrowserContext context() {
+  public BrowserContextImpl context() {
     return browserContext;
   }
 
   @Override
   public void dblclick(String selector, DblclickOptions options) {
-    mainFrame.dblclick(selector, convertViaJson(options, Frame.DblclickOptions.class));
+    waitFor(dblclickAsync(selector, options));
+  }
+
+  Waitable<Void> dblclickAsync(String selector, DblclickOptions options) {
+    return mainFrame.dblclickAsync(selector, convertViaJson(options, Frame.DblclickOptions.class));
   }
 
   @Override
   public void dispatchEvent(String selector, String type, Object eventInit, DispatchEventOptions options) {
-    mainFrame.dispatchEvent(selector, type, eventInit, convertViaJson(options, Frame.DispatchEventOptions.class));
+    waitFor(dispatchEventAsync(selector, type, eventInit, options));
+  }
+
+  Waitable<Void> dispatchEventAsync(String selector, String type, Object eventInit, DispatchEventOptions options) {
+    return mainFrame.dispatchEventAsync(selector, type, eventInit, convertViaJson(options, Frame.DispatchEventOptions.class));
   }
 
   @Override
   public void emulateMedia(EmulateMediaParams options) {
+    waitFor(emulateMediaAsync(options));
+  }
+
+  Waitable<Void> emulateMediaAsync(EmulateMediaParams options) {
     if (options == null) {
       options = new EmulateMediaParams();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
-    sendMessage("emulateMedia", params);
+    return sendMessageAsync("emulateMedia", params).apply(PageImpl::toVoid);
   }
 
   @Override
   public Object evaluate(String expression, Object arg) {
-    return mainFrame.evaluate(expression, arg);
+    return waitFor(evaluateAsync(expression, arg));
+  }
+
+  Waitable<Object> evaluateAsync(String expression, Object arg) {
+    return mainFrame.evaluateAsync(expression, arg);
   }
 
   @Override
   public JSHandle evaluateHandle(String pageFunction, Object arg) {
-    return mainFrame.evaluateHandle(pageFunction, arg);
+    return waitFor(evaluateHandleAsync(pageFunction, arg));
+  }
+
+  Waitable<JSHandle> evaluateHandleAsync(String pageFunction, Object arg) {
+    return mainFrame.evaluateHandleAsync(pageFunction, arg);
   }
 
   @Override
@@ -347,12 +469,20 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public void fill(String selector, String value, FillOptions options) {
-    mainFrame.fill(selector, value, convertViaJson(options, Frame.FillOptions.class));
+    waitFor(fillAsync(selector, value, options));
+  }
+
+  Waitable<Void> fillAsync(String selector, String value, FillOptions options) {
+    return mainFrame.fillAsync(selector, value, convertViaJson(options, Frame.FillOptions.class));
   }
 
   @Override
   public void focus(String selector, FocusOptions options) {
-    mainFrame.focus(selector, convertViaJson(options, Frame.FocusOptions.class));
+    waitFor(focusAsync(selector, options));
+  }
+
+  Waitable<Void> focusAsync(String selector, FocusOptions options) {
+    return mainFrame.focusAsync(selector, convertViaJson(options, Frame.FocusOptions.class));
   }
 
   @Override
@@ -396,57 +526,77 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public String getAttribute(String selector, String name, GetAttributeOptions options) {
-    return mainFrame.getAttribute(selector, name, convertViaJson(options, Frame.GetAttributeOptions.class));
+    return waitFor(getAttributeAsync(selector, name, options));
+  }
+
+  Waitable<String> getAttributeAsync(String selector, String name, GetAttributeOptions options) {
+    return mainFrame.getAttributeAsync(selector, name, convertViaJson(options, Frame.GetAttributeOptions.class));
   }
 
   @Override
   public Response goBack(GoBackOptions options) {
+    return waitFor(goBackAsync(options));
+  }
+
+  Waitable<Response> goBackAsync(GoBackOptions options) {
     if (options == null) {
       options = new GoBackOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.remove("waitUntil");
     params.addProperty("waitUntil", FrameImpl.toProtocol(options.waitUntil));
-    JsonObject json = sendMessage("goBack", params).getAsJsonObject();
-    if (json.has("response")) {
-      return connection.getExistingObject(json.getAsJsonObject("response").get("guid").getAsString());
-    }
-    return null;
+    return sendMessageAsync("goBack", params).apply(this::toResponse);
   }
 
   @Override
   public Response goForward(GoForwardOptions options) {
+    return waitFor(goForwardAsync(options));
+  }
+
+  Waitable<Response> goForwardAsync(GoForwardOptions options) {
     if (options == null) {
       options = new GoForwardOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.remove("waitUntil");
     params.addProperty("waitUntil", FrameImpl.toProtocol(options.waitUntil));
-    JsonObject json = sendMessage("goForward", params).getAsJsonObject();
-    if (json.has("response")) {
-      return connection.getExistingObject(json.getAsJsonObject("response").get("guid").getAsString());
-    }
-    return null;
+    return sendMessageAsync("goForward", params).apply(this::toResponse);
   }
 
   @Override
-  public ResponseImpl navigate(String url, NavigateOptions options) {
-    return mainFrame.navigate(url, convertViaJson(options, Frame.NavigateOptions.class));
+  public Response navigate(String url, NavigateOptions options) {
+    return waitFor(navigateAsync(url, options));
+  }
+
+  Waitable<Response> navigateAsync(String url, NavigateOptions options) {
+    return mainFrame.navigateAsync(url, convertViaJson(options, Frame.NavigateOptions.class));
   }
 
   @Override
   public void hover(String selector, HoverOptions options) {
-    mainFrame.hover(selector, convertViaJson(options, Frame.HoverOptions.class));
+    waitFor(hoverAsync(selector, options));
+  }
+
+  Waitable<Void> hoverAsync(String selector, HoverOptions options) {
+    return mainFrame.hoverAsync(selector, convertViaJson(options, Frame.HoverOptions.class));
   }
 
   @Override
   public String innerHTML(String selector, InnerHTMLOptions options) {
-    return mainFrame.innerHTML(selector, convertViaJson(options, Frame.InnerHTMLOptions.class));
+    return waitFor(innerHTMLAsync(selector, options));
+  }
+
+  Waitable<String> innerHTMLAsync(String selector, InnerHTMLOptions options) {
+    return mainFrame.innerHTMLAsync(selector, convertViaJson(options, Frame.InnerHTMLOptions.class));
   }
 
   @Override
   public String innerText(String selector, InnerTextOptions options) {
-    return mainFrame.innerText(selector, convertViaJson(options, Frame.InnerTextOptions.class));
+    return waitFor(innerTextAsync(selector, options));
+  }
+
+  Waitable<String> innerTextAsync(String selector, InnerTextOptions options) {
+    return mainFrame.innerTextAsync(selector, convertViaJson(options, Frame.InnerTextOptions.class));
   }
 
   @Override
@@ -469,17 +619,62 @@ public class PageImpl extends ChannelOwner implements Page {
     return mouse;
   }
 
+  private Response toResponse(JsonElement result) {
+    JsonObject json = result.getAsJsonObject();
+    if (json.has("response")) {
+      return connection.getExistingObject(json.getAsJsonObject("response").get("guid").getAsString());
+    }
+    return null;
+  }
+
   @Override
   public Page opener() {
-    JsonObject result = sendMessage("opener").getAsJsonObject();
-    if (!result.has("page")) {
-      return null;
-    }
-    return connection.getExistingObject(result.getAsJsonObject("page").get("guid").getAsString());
+    return waitFor(openerAsync());
+  }
+
+  Waitable<Page> openerAsync() {
+    return sendMessageAsync("opener", new JsonObject()).apply(json -> {
+      JsonObject result = json.getAsJsonObject();
+      if (!result.has("page")) {
+        return null;
+      }
+      return connection.getExistingObject(result.getAsJsonObject("page").get("guid").getAsString());
+    });
   }
 
   @Override
   public byte[] pdf(PdfOptions options) {
+    return waitFor(pdfAsync(options));
+  }
+
+  Waitable<byte[]> pdfAsync(PdfOptions options) {
+    Path path = options == null ? null : options.path;
+    return sendMessageAsync("pdf", pdfParams(options)).apply(json -> {
+      byte[] buffer = connection.binaryBytes(json.getAsJsonObject().get("pdf"));
+      if (path != null) {
+        Utils.writeToFile(buffer, path);
+      }
+      return buffer;
+    });
+  }
+
+  @Override
+  public long pdf(WritableByteChannel channel, PdfOptions options) {
+    Path path = options == null ? null : options.path;
+    return waitFor(sendMessageAsync("pdf", pdfParams(options)).apply(
+      json -> writeBinary(json.getAsJsonObject().get("pdf"), channel, path)));
+  }
+
+  private long writeBinary(JsonElement field, WritableByteChannel channel, Path path) {
+    BinaryData binary = connection.binary(field);
+    try {
+      return binary.writeTo(channel, path);
+    } finally {
+      binary.release();
+    }
+  }
+
+  private JsonObject pdfParams(PdfOptions options) {
     if (!browserContext.browser().isChromium()) {
       throw new PlaywrightException("Page.pdf only supported in headless Chromium");
     }
@@ -488,32 +683,31 @@ public class PageImpl extends ChannelOwner implements Page {
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.remove("path");
-    JsonObject json = sendMessage("pdf", params).getAsJsonObject();
-    byte[] buffer = Base64.getDecoder().decode(json.get("pdf").getAsString());
-    if (options.path != null) {
-      Utils.writeToFile(buffer, options.path);
-    }
-    return buffer;
+    return params;
   }
 
   @Override
   public void press(String selector, String key, PressOptions options) {
-    mainFrame.press(selector, key, convertViaJson(options, Frame.PressOptions.class));
+    waitFor(pressAsync(selector, key, options));
+  }
+
+  Waitable<Void> pressAsync(String selector, String key, PressOptions options) {
+    return mainFrame.pressAsync(selector, key, convertViaJson(options, Frame.PressOptions.class));
   }
 
   @Override
   public Response reload(ReloadOptions options) {
+    return waitFor(reloadAsync(options));
+  }
+
+  Waitable<Response> reloadAsync(ReloadOptions options) {
     if (options == null) {
       options = new ReloadOptions();
     }
     JsonObject params = gson().toJsonTree(options).getAsJsonObject();
     params.remove("waitUntil");
     params.addProperty("waitUntil", FrameImpl.toProtocol(options.waitUntil));
-    JsonObject json = sendMessage("reload", params).getAsJsonObject();
-    if (json.has("response")) {
-      return connection.getExistingObject(json.getAsJsonObject("response").get("guid").getAsString());
-    }
-    return null;
+    return sendMessageAsync("reload", params).apply(this::toResponse);
   }
 
   @Override
@@ -534,18 +728,82 @@ public class PageImpl extends ChannelOwner implements Page {
   private void route(UrlMatcher matcher, Consumer<Route> handler) {
     routes.add(matcher, handler);
     if (routes.size() == 1) {
-      JsonObject params = new JsonObject();
-      params.addProperty("enabled", true);
-      sendMessage("setNetworkInterceptionEnabled", params);
+      setNetworkInterceptionEnabled(true);
     }
   }
 
+  @Override
+  public void routeAsync(String url, java.util.function.Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  @Override
+  public void routeAsync(Pattern url, java.util.function.Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  @Override
+  public void routeAsync(Predicate<String> url, java.util.function.Function<Route, CompletionStage<?>> handler) {
+    routeAsync(new UrlMatcher(url), handler);
+  }
+
+  private void routeAsync(UrlMatcher matcher, java.util.function.Function<Route, CompletionStage<?>> handler) {
+    routes.addAsync(matcher, handler);
+    if (routes.size() == 1) {
+      setNetworkInterceptionEnabled(true);
+    }
+  }
+
+  @Override
+  public void addRouteRule(RouteRule rule) {
+    routes.addRule(rule);
+    if (routes.size() == 1) {
+      setNetworkInterceptionEnabled(true);
+    }
+  }
+
+  @Override
+  public void removeRouteRule(RouteRule rule) {
+    routes.removeRule(rule);
+    if (routes.size() == 0) {
+      setNetworkInterceptionEnabled(false);
+    }
+  }
+
+  private void setNetworkInterceptionEnabled(boolean enabled) {
+    JsonObject params = new JsonObject();
+    params.addProperty("enabled", enabled);
+    sendMessage("setNetworkInterceptionEnabled", params);
+  }
+
   private static String toProtocol(ScreenshotOptions.Type type) {
     return type.toString().toLowerCase();
   }
 
   @Override
   public byte[] screenshot(ScreenshotOptions options) {
+    return waitFor(screenshotAsync(options));
+  }
+
+  Waitable<byte[]> screenshotAsync(ScreenshotOptions options) {
+    Path path = options == null ? null : options.path;
+    return sendMessageAsync("screenshot", screenshotParams(options)).apply(json -> {
+      byte[] buffer = connection.binaryBytes(json.getAsJsonObject().get("binary"));
+      if (path != null) {
+        Utils.writeToFile(buffer, path);
+      }
+      return buffer;
+    });
+  }
+
+  @Override
+  public long screenshot(WritableByteChannel channel, ScreenshotOptions options) {
+    Path path = options == null ? null : options.path;
+    return waitFor(sendMessageAsync("screenshot", screenshotParams(options)).apply(
+      json -> writeBinary(json.getAsJsonObject().get("binary"), channel, path)));
+  }
+
+  private JsonObject screenshotParams(ScreenshotOptions options) {
     if (options == null) {
       options = new ScreenshotOptions();
     }
@@ -566,28 +824,34 @@ public class PageImpl extends ChannelOwner implements Page {
     params.remove("type");
     params.addProperty("type", toProtocol(options.type));
     params.remove("path");
-    JsonObject json = sendMessage("screenshot", params).getAsJsonObject();
-
-    byte[] buffer = Base64.getDecoder().decode(json.get("binary").getAsString());
-    if (options.path != null) {
-      Utils.writeToFile(buffer, options.path);
-    }
-    return buffer;
+    return params;
   }
 
   @Override
   public List<String> selectOption(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
-    return mainFrame.selectOption(selector, values, convertViaJson(options, Frame.SelectOptionOptions.class));
+    return waitFor(selectOptionAsync(selector, values, options));
+  }
+
+  Waitable<List<String>> selectOptionAsync(String selector, ElementHandle.SelectOption[] values, SelectOptionOptions options) {
+    return mainFrame.selectOptionAsync(selector, values, convertViaJson(options, Frame.SelectOptionOptions.class));
   }
 
   @Override
   public List<String> selectOption(String selector, ElementHandle[] values, SelectOptionOptions options) {
-    return mainFrame.selectOption(selector, values, convertViaJson(options, Frame.SelectOptionOptions.class));
+    return waitFor(selectOptionAsync(selector, values, options));
+  }
+
+  Waitable<List<String>> selectOptionAsync(String selector, ElementHandle[] values, SelectOptionOptions options) {
+    return mainFrame.selectOptionAsync(selector, values, convertViaJson(options, Frame.SelectOptionOptions.class));
   }
 
   @Override
   public void setContent(String html, SetContentOptions options) {
-    mainFrame.setContent(html, convertViaJson(options, Frame.SetContentOptions.class));
+    waitFor(setContentAsync(html, options));
+  }
+
+  Waitable<Void> setContentAsync(String html, SetContentOptions options) {
+    return mainFrame.setContentAsync(html, convertViaJson(options, Frame.SetContentOptions.class));
   }
 
   @Override
@@ -595,7 +859,7 @@ public class PageImpl extends ChannelOwner implements Page {
     timeoutSettings.setDefaultNavigationTimeout(timeout);
     JsonObject params = new JsonObject();
     params.addProperty("timeout", timeout);
-    sendMessage("setDefaultNavigationTimeoutNoReply", params);
+    sendMessageNoReply("setDefaultNavigationTimeoutNoReply", params);
   }
 
   @Override
@@ -603,11 +867,19 @@ public class PageImpl extends ChannelOwner implements Page {
     timeoutSettings.setDefaultTimeout(timeout);
     JsonObject params = new JsonObject();
     params.addProperty("timeout", timeout);
-    sendMessage("setDefaultTimeoutNoReply", params);
+    sendMessageNoReply("setDefaultTimeoutNoReply", params);
   }
 
   @Override
   public void setExtraHTTPHeaders(Map<String, String> headers) {
+    sendMessageNoReply("setExtraHTTPHeaders", extraHTTPHeadersParams(headers));
+  }
+
+  Waitable<Void> setExtraHTTPHeadersAsync(Map<String, String> headers) {
+    return sendMessageAsync("setExtraHTTPHeaders", extraHTTPHeadersParams(headers)).apply(PageImpl::toVoid);
+  }
+
+  private static JsonObject extraHTTPHeadersParams(Map<String, String> headers) {
     JsonObject params = new JsonObject();
     JsonArray jsonHeaders = new JsonArray();
     for (Map.Entry<String, String> e : headers.entrySet()) {
@@ -617,40 +889,68 @@ public class PageImpl extends ChannelOwner implements Page {
       jsonHeaders.add(header);
     }
     params.add("headers", jsonHeaders);
-    sendMessage("setExtraHTTPHeaders", params);
+    return params;
   }
 
   @Override
   public void setInputFiles(String selector, Path[] files, SetInputFilesOptions options) {
-    mainFrame.setInputFiles(selector, files, convertViaJson(options, Frame.SetInputFilesOptions.class));
+    waitFor(setInputFilesAsync(selector, files, options));
+  }
+
+  Waitable<Void> setInputFilesAsync(String selector, Path[] files, SetInputFilesOptions options) {
+    return mainFrame.setInputFilesAsync(selector, files, convertViaJson(options, Frame.SetInputFilesOptions.class));
   }
 
   @Override
   public void setInputFiles(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
-    mainFrame.setInputFiles(selector, files, convertViaJson(options, Frame.SetInputFilesOptions.class));
+    waitFor(setInputFilesAsync(selector, files, options));
+  }
+
+  Waitable<Void> setInputFilesAsync(String selector, FileChooser.FilePayload[] files, SetInputFilesOptions options) {
+    return mainFrame.setInputFilesAsync(selector, files, convertViaJson(options, Frame.SetInputFilesOptions.class));
   }
 
   @Override
   public void setViewportSize(int width, int height) {
+    sendMessageNoReply("setViewportSize", viewportSizeParams(width, height));
+  }
+
+  Waitable<Void> setViewportSizeAsync(int width, int height) {
+    return sendMessageAsync("setViewportSize", viewportSizeParams(width, height)).apply(PageImpl::toVoid);
+  }
+
+  private JsonObject viewportSizeParams(int width, int height) {
     viewport = new Viewport(width, height);
     JsonObject params = new JsonObject();
     params.add("viewportSize", gson().toJsonTree(viewport));
-    sendMessage("setViewportSize", params);
+    return params;
   }
 
   @Override
   public void tap(String selector, TapOptions options) {
-    mainFrame.tap(selector, convertViaJson(options, Frame.TapOptions.class));
+    waitFor(tapAsync(selector, options));
+  }
+
+  Waitable<Void> tapAsync(String selector, TapOptions options) {
+    return mainFrame.tapAsync(selector, convertViaJson(options, Frame.TapOptions.class));
   }
 
   @Override
   public String textContent(String selector, TextContentOptions options) {
-    return mainFrame.textContent(selector, convertViaJson(options, Frame.TextContentOptions.class));
+    return waitFor(textContentAsync(selector, options));
+  }
+
+  Waitable<String> textContentAsync(String selector, TextContentOptions options) {
+    return mainFrame.textContentAsync(selector, convertViaJson(options, Frame.TextContentOptions.class));
   }
 
   @Override
   public String title() {
-    return mainFrame.title();
+    return waitFor(titleAsync());
+  }
+
+  Waitable<String> titleAsync() {
+    return mainFrame.titleAsync();
   }
 
   @Override
@@ -660,12 +960,20 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public void type(String selector, String text, TypeOptions options) {
-    mainFrame.type(selector, text, convertViaJson(options, Frame.TypeOptions.class));
+    waitFor(typeAsync(selector, text, options));
+  }
+
+  Waitable<Void> typeAsync(String selector, String text, TypeOptions options) {
+    return mainFrame.typeAsync(selector, text, convertViaJson(options, Frame.TypeOptions.class));
   }
 
   @Override
   public void uncheck(String selector, UncheckOptions options) {
-    mainFrame.uncheck(selector, convertViaJson(options, Frame.UncheckOptions.class));
+    waitFor(uncheckAsync(selector, options));
+  }
+
+  Waitable<Void> uncheckAsync(String selector, UncheckOptions options) {
+    return mainFrame.uncheckAsync(selector, convertViaJson(options, Frame.UncheckOptions.class));
   }
 
   @Override
@@ -686,9 +994,7 @@ public class PageImpl extends ChannelOwner implements Page {
   private void unroute(UrlMatcher matcher, Consumer<Route> handler) {
     routes.remove(matcher, handler);
     if (routes.size() == 0) {
-      JsonObject params = new JsonObject();
-      params.addProperty("enabled", false);
-      sendMessage("setNetworkInterceptionEnabled", params);
+      setNetworkInterceptionEnabled(false);
     }
   }
 
@@ -717,6 +1023,10 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public Deferred<Event<EventType>> waitForEvent(EventType event, WaitForEventOptions options) {
+    return toDeferred(waitForEventAsync(event, options));
+  }
+
+  Waitable<Event<EventType>> waitForEventAsync(EventType event, WaitForEventOptions options) {
     if (options == null) {
       options = new WaitForEventOptions();
     }
@@ -734,21 +1044,33 @@ public class PageImpl extends ChannelOwner implements Page {
       waitables.add(new WaitableEvent<>(listeners, event, options.predicate));
     }
     waitables.add(createWaitableTimeout(options.timeout));
-    return toDeferred(new WaitableRace<>(waitables));
+    return new WaitableRace<>(waitables);
   }
 
   @Override
   public Deferred<JSHandle> waitForFunction(String pageFunction, Object arg, WaitForFunctionOptions options) {
-    return mainFrame.waitForFunction(pageFunction, arg, convertViaJson(options, Frame.WaitForFunctionOptions.class));
+    return toDeferred(waitForFunctionAsync(pageFunction, arg, options));
+  }
+
+  Waitable<JSHandle> waitForFunctionAsync(String pageFunction, Object arg, WaitForFunctionOptions options) {
+    return mainFrame.waitForFunctionAsync(pageFunction, arg, convertViaJson(options, Frame.WaitForFunctionOptions.class));
   }
 
   @Override
   public Deferred<Void> waitForLoadState(LoadState state, WaitForLoadStateOptions options) {
-    return mainFrame.waitForLoadState(convertViaJson(state, Frame.LoadState.class), convertViaJson(options, Frame.WaitForLoadStateOptions.class));
+    return toDeferred(waitForLoadStateAsync(state, options));
+  }
+
+  Waitable<Void> waitForLoadStateAsync(LoadState state, WaitForLoadStateOptions options) {
+    return mainFrame.waitForLoadStateAsync(convertViaJson(state, Frame.LoadState.class), convertViaJson(options, Frame.WaitForLoadStateOptions.class));
   }
 
   @Override
   public Deferred<Response> waitForNavigation(WaitForNavigationOptions options) {
+    return toDeferred(waitForNavigationAsync(options));
+  }
+
+  Waitable<Response> waitForNavigationAsync(WaitForNavigationOptions options) {
     Frame.WaitForNavigationOptions frameOptions = new Frame.WaitForNavigationOptions();
     if (options != null) {
       frameOptions.timeout = options.timeout;
@@ -757,7 +1079,7 @@ public class PageImpl extends ChannelOwner implements Page {
       frameOptions.pattern = options.pattern;
       frameOptions.predicate = options.predicate;
     }
-    return mainFrame.waitForNavigation(frameOptions);
+    return mainFrame.waitForNavigationAsync(frameOptions);
   }
 
   void frameNavigated(FrameImpl frame) {
@@ -810,7 +1132,7 @@ public class PageImpl extends ChannelOwner implements Page {
 
   private class WaitablePageClose<R> implements Waitable<R>, Listener<EventType> {
     private final List<EventType> subscribedEvents;
-    private String errorMessage;
+    private volatile String errorMessage;
 
     WaitablePageClose() {
       subscribedEvents = Arrays.asList(EventType.CLOSE, EventType.CRASH);
@@ -851,20 +1173,32 @@ public class PageImpl extends ChannelOwner implements Page {
 
   @Override
   public Deferred<Request> waitForRequest(String urlGlob, WaitForRequestOptions options) {
+    return toDeferred(waitForRequestAsync(urlGlob, options));
+  }
+
+  Waitable<Request> waitForRequestAsync(String urlGlob, WaitForRequestOptions options) {
     return waitForRequest(new UrlMatcher(urlGlob), options);
   }
 
   @Override
   public Deferred<Request> waitForRequest(Pattern urlPattern, WaitForRequestOptions options) {
+    return toDeferred(waitForRequestAsync(urlPattern, options));
+  }
+
+  Waitable<Request> waitForRequestAsync(Pattern urlPattern, WaitForRequestOptions options) {
     return waitForRequest(new UrlMatcher(urlPattern), options);
   }
 
   @Override
   public Deferred<Request> waitForRequest(Predicate<String> urlPredicate, WaitForRequestOptions options) {
+    return toDeferred(waitForRequestAsync(urlPredicate, options));
+  }
+
+  Waitable<Request> waitForRequestAsync(Predicate<String> urlPredicate, WaitForRequestOptions options) {
     return waitForRequest(new UrlMatcher(urlPredicate), options);
   }
 
-  private Deferred<Request> waitForRequest(UrlMatcher matcher, WaitForRequestOptions options) {
+  private Waitable<Request> waitForRequest(UrlMatcher matcher, WaitForRequestOptions options) {
     if (options == null) {
       options = new WaitForRequestOptions();
     }
@@ -873,25 +1207,37 @@ public class PageImpl extends ChannelOwner implements Page {
       .apply(event -> (Request) event.data()));
     waitables.add(createWaitForCloseHelper());
     waitables.add(createWaitableTimeout(options.timeout));
-    return toDeferred(new WaitableRace<>(waitables));
+    return new WaitableRace<>(waitables);
   }
 
   @Override
   public Deferred<Response> waitForResponse(String urlGlob, WaitForResponseOptions options) {
+    return toDeferred(waitForResponseAsync(urlGlob, options));
+  }
+
+  Waitable<Response> waitForResponseAsync(String urlGlob, WaitForResponseOptions options) {
     return waitForResponse(new UrlMatcher(urlGlob), options);
   }
 
   @Override
   public Deferred<Response> waitForResponse(Pattern urlPattern, WaitForResponseOptions options) {
+    return toDeferred(waitForResponseAsync(urlPattern, options));
+  }
+
+  Waitable<Response> waitForResponseAsync(Pattern urlPattern, WaitForResponseOptions options) {
     return waitForResponse(new UrlMatcher(urlPattern), options);
   }
 
   @Override
   public Deferred<Response> waitForResponse(Predicate<String> urlPredicate, WaitForResponseOptions options) {
+    return toDeferred(waitForResponseAsync(urlPredicate, options));
+  }
+
+  Waitable<Response> waitForResponseAsync(Predicate<String> urlPredicate, WaitForResponseOptions options) {
     return waitForResponse(new UrlMatcher(urlPredicate), options);
   }
 
-  private Deferred<Response> waitForResponse(UrlMatcher matcher, WaitForResponseOptions options) {
+  private Waitable<Response> waitForResponse(UrlMatcher matcher, WaitForResponseOptions options) {
     if (options == null) {
       options = new WaitForResponseOptions();
     }
@@ -900,21 +1246,47 @@ public class PageImpl extends ChannelOwner implements Page {
       .apply(event -> (Response) event.data()));
     waitables.add(createWaitForCloseHelper());
     waitables.add(createWaitableTimeout(options.timeout));
-    return toDeferred(new WaitableRace<>(waitables));
+    return new WaitableRace<>(waitables);
   }
 
   @Override
   public Deferred<ElementHandle> waitForSelector(String selector, WaitForSelectorOptions options) {
-    return mainFrame.waitForSelector(selector, convertViaJson(options, Frame.WaitForSelectorOptions.class));
+    return toDeferred(waitForSelectorAsync(selector, options));
+  }
+
+  Waitable<ElementHandle> waitForSelectorAsync(String selector, WaitForSelectorOptions options) {
+    return mainFrame.waitForSelectorAsync(selector, convertViaJson(options, Frame.WaitForSelectorOptions.class));
   }
 
   @Override
   public Deferred<Void> waitForTimeout(int timeout) {
-    return mainFrame.waitForTimeout(timeout);
+    return toDeferred(waitForTimeoutAsync(timeout));
+  }
+
+  Waitable<Void> waitForTimeoutAsync(int timeout) {
+    return mainFrame.waitForTimeoutAsync(timeout);
   }
 
   @Override
   public List<Worker> workers() {
     return new ArrayList<>(workers);
   }
+
+  @Override
+  public PageAsync async() {
+    return async;
+  }
+
+  @Override
+  public List<RouteStats> routeStats() {
+    return routes.stats();
+  }
+
+  @Override
+  public BatchResults batch(Consumer<PageAsync> commands) {
+    Batch batch = new Batch(connection);
+    commands.accept(new PageAsyncImpl(this, batch));
+    batch.start();
+    return waitFor(batch);
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Results of the commands sent to the driver that haven't been answered yet,
+ * keyed by command id. Open addressing with linear probing over primitive
+ * arrays, so registering a command allocates nothing. Command ids are
+ * assigned here sequentially, which makes the identity hash spread them
+ * perfectly and keeps the oldest pending command easy to find.
+ */
+class PendingCommands {
+  private static final int INITIAL_CAPACITY = 64;
+  // 0 is never used as a command id.
+  private static final int EMPTY = 0;
+
+  private int[] ids = new int[INITIAL_CAPACITY];
+  private WaitableResult<?>[] results = new WaitableResult<?>[INITIAL_CAPACITY];
+  private long[] sentAtNanos = new long[INITIAL_CAPACITY];
+  private int size;
+  private int lastId;
+  // The pending command that was sent first, EMPTY if there are none.
+  private int oldestId = EMPTY;
+
+  PendingCommands() {
+    this(0);
+  }
+
+  // Ids start after lastId, tests use it to reach the wrap-around.
+  PendingCommands(int lastId) {
+    this.lastId = lastId;
+  }
+
+  // Registers the result of a new command and returns its id.
+  synchronized int add(WaitableResult<JsonElement> result) {
+    int id = lastId;
+    do {
+      id = nextId(id);
+      // After a wrap-around, skips ids of commands that are still pending.
+    } while (slotOf(id) != -1);
+    lastId = id;
+    if ((size + 1) * 2 > ids.length) {
+      resize(ids.length * 2);
+    }
+    insert(id, result, System.nanoTime());
+    size++;
+    if (oldestId == EMPTY) {
+      oldestId = id;
+    }
+    return id;
+  }
+
+  @SuppressWarnings("unchecked")
+  synchronized WaitableResult<JsonElement> remove(int id) {
+    int slot = slotOf(id);
+    if (slot == -1) {
+      return null;
+    }
+    WaitableResult<JsonElement> result = (WaitableResult<JsonElement>) results[slot];
+    deleteSlot(slot);
+    size--;
+    if (id == oldestId) {
+      advanceOldest();
+    }
+    if (ids.length > INITIAL_CAPACITY && size * 8 < ids.length) {
+      resize(ids.length / 2);
+    }
+    return result;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  synchronized int capacity() {
+    return ids.length;
+  }
+
+  // Returns how long the oldest unanswered command has been waiting, or 0 if there are none.
+  synchronized long oldestPendingNanos() {
+    if (oldestId == EMPTY) {
+      return 0;
+    }
+    return System.nanoTime() - sentAtNanos[slotOf(oldestId)];
+  }
+
+  private static int nextId(int id) {
+    return id == Integer.MAX_VALUE ? 1 : id + 1;
+  }
+
+  // Commands are sent in id order, so the next oldest is the next pending id. Every id is
+  // passed over at most once, which makes this constant time on average.
+  private void advanceOldest() {
+    if (size == 0) {
+      oldestId = EMPTY;
+      return;
+    }
+    do {
+      oldestId = nextId(oldestId);
+    } while (slotOf(oldestId) == -1);
+  }
+
+  private int slotOf(int id) {
+    int mask = ids.length - 1;
+    for (int slot = id & mask; ids[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (ids[slot] == id) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private void insert(int id, WaitableResult<?> result, long sentAt) {
+    int mask = ids.length - 1;
+    int slot = id & mask;
+    while (ids[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    ids[slot] = id;
+    results[slot] = result;
+    sentAtNanos[slot] = sentAt;
+  }
+
+  // Backward shift deletion, keeps probe sequences intact without tombstones.
+  private void deleteSlot(int slot) {
+    int mask = ids.length - 1;
+    int hole = slot;
+    for (int next = (hole + 1) & mask; ids[next] != EMPTY; next = (next + 1) & mask) {
+      int home = ids[next] & mask;
+      // Move the entry into the hole unless its home slot lies cyclically in (hole, next].
+      boolean canMove = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+      if (canMove) {
+        ids[hole] = ids[next];
+        results[hole] = results[next];
+        sentAtNanos[hole] = sentAtNanos[next];
+        hole = next;
+      }
+    }
+    ids[hole] = EMPTY;
+    results[hole] = null;
+  }
+
+  private void resize(int capacity) {
+    int[] oldIds = ids;
+    WaitableResult<?>[] oldResults = results;
+    long[] oldSentAt = sentAtNanos;
+    ids = new int[capacity];
+    results = new WaitableResult<?>[capacity];
+    sentAtNanos = new long[capacity];
+    for (int i = 0; i < oldIds.length; i++) {
+      if (oldIds[i] != EMPTY) {
+        insert(oldIds[i], oldResults[i], oldSentAt[i]);
+      }
+    }
+  }
+}
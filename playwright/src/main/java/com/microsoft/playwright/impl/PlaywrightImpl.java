@@ -33,14 +33,24 @@ import java.util.concurrent.TimeUnit;
 public class PlaywrightImpl extends ChannelOwner implements Playwright {
   private Process driverProcess;
 
-  public static PlaywrightImpl create() {
+  public static Playwright create(CreateOptions options) {
+    if (options == null) {
+      options = new CreateOptions();
+    }
+    if (options.sharedDriver != null && options.sharedDriver) {
+      return SharedPlaywright.acquire(options.waitStrategy);
+    }
+    return launchDriver(options.waitStrategy);
+  }
+
+  static PlaywrightImpl launchDriver(WaitStrategy waitStrategy) {
     try {
       Path driver = Driver.ensureDriverInstalled();
       ProcessBuilder pb = new ProcessBuilder(driver.toString(), "run-driver");
       pb.redirectError(ProcessBuilder.Redirect.INHERIT);
 //      pb.environment().put("DEBUG", "pw:pro*");
       Process p = pb.start();
-      Connection connection = new Connection(p.getInputStream(), p.getOutputStream());
+      Connection connection = new Connection(p.getInputStream(), p.getOutputStream(), waitStrategy);
       PlaywrightImpl result = (PlaywrightImpl) connection.waitForObjectWithKnownName("Playwright");
       result.driverProcess = p;
       return result;
@@ -53,7 +63,8 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
   private final BrowserTypeImpl firefox;
   private final BrowserTypeImpl webkit;
   private final Selectors selectors;
-  private final Map<String, DeviceDescriptor> devices = new HashMap<>();
+  // Parsed on first use, most programs never look at them.
+  private volatile Map<String, DeviceDescriptor> devices;
 
   PlaywrightImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -61,15 +72,19 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
     firefox = parent.connection.getExistingObject(initializer.getAsJsonObject("firefox").get("guid").getAsString());
     webkit = parent.connection.getExistingObject(initializer.getAsJsonObject("webkit").get("guid").getAsString());
     selectors = parent.connection.getExistingObject(initializer.getAsJsonObject("selectors").get("guid").getAsString());
+  }
 
+  private Map<String, DeviceDescriptor> parseDevices() {
+    Map<String, DeviceDescriptor> result = new HashMap<>();
     Gson gson = Serialization.gson();
     for (JsonElement item : initializer.getAsJsonArray("deviceDescriptors")) {
       JsonObject o = item.getAsJsonObject();
       String name = o.get("name").getAsString();
       DeviceDescriptorImpl descriptor = gson.fromJson(o.get("descriptor"), DeviceDescriptorImpl.class);
       descriptor.playwright = this;
-      devices.put(name, descriptor);
+      result.put(name, descriptor);
     }
+    return result;
   }
 
   @Override
@@ -89,7 +104,17 @@ public class PlaywrightImpl extends ChannelOwner implements Playwright {
 
   @Override
   public Map<String, DeviceDescriptor> devices() {
-    return devices;
+    Map<String, DeviceDescriptor> result = devices;
+    if (result == null) {
+      synchronized (this) {
+        result = devices;
+        if (result == null) {
+          result = parseDevices();
+          devices = result;
+        }
+      }
+    }
+    return result;
   }
 
   @Override
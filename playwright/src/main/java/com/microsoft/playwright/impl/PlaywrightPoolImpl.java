@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class PlaywrightPoolImpl implements PlaywrightPool {
+  // Messages per second from the driver that count as much as one pending command.
+  private static final double MESSAGES_PER_PENDING_COMMAND = 100;
+  private static final long MIN_SAMPLE_INTERVAL_NANOS = 100_000_000;
+
+  private final List<Member> members;
+  private final List<Playwright> playwrights;
+  private final BrowserType.LaunchOptions launchOptions;
+
+  private static class Member {
+    final PlaywrightImpl playwright;
+    // Browsers launched by the pool for newContext(), by browser type name.
+    final Map<String, Browser> browsers = new HashMap<>();
+    // Guards browsers. Not synchronized as launching blocks on I/O and that would pin virtual threads.
+    final ReentrantLock lock = new ReentrantLock();
+    // Browsers and contexts placed on this member that are still open.
+    int placedCount;
+    long lastMessageCount;
+    long lastSampleNanos = System.nanoTime();
+    double messagesPerSecond;
+
+    Member(PlaywrightImpl playwright) {
+      this.playwright = playwright;
+    }
+
+    double load() {
+      Connection connection = playwright.connection;
+      long now = System.nanoTime();
+      long elapsed = now - lastSampleNanos;
+      if (elapsed >= MIN_SAMPLE_INTERVAL_NANOS) {
+        long messageCount = connection.messageCount();
+        double rate = (messageCount - lastMessageCount) * 1e9 / elapsed;
+        // Smooth out bursts.
+        messagesPerSecond = (messagesPerSecond + rate) / 2;
+        lastMessageCount = messageCount;
+        lastSampleNanos = now;
+      }
+      return connection.inFlightCommandCount() + messagesPerSecond / MESSAGES_PER_PENDING_COMMAND + placedCount;
+    }
+  }
+
+  public static PlaywrightPoolImpl create(CreateOptions options) {
+    if (options == null) {
+      options = new CreateOptions();
+    }
+    int size = options.size == null ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : options.size;
+    if (size < 1) {
+      throw new PlaywrightException("Pool size must be positive: " + size);
+    }
+    Playwright.WaitStrategy waitStrategy = options.playwrightOptions == null ? null : options.playwrightOptions.waitStrategy;
+    // Driver startup is dominated by node startup, start them in parallel. The
+    // processes are never shared, the whole point is to have several of them.
+    List<CompletableFuture<PlaywrightImpl>> futures = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      futures.add(CompletableFuture.supplyAsync(() -> PlaywrightImpl.launchDriver(waitStrategy)));
+    }
+    List<PlaywrightImpl> started = new ArrayList<>();
+    RuntimeException error = null;
+    for (CompletableFuture<PlaywrightImpl> future : futures) {
+      try {
+        started.add(future.join());
+      } catch (CompletionException e) {
+        if (error == null) {
+          error = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+            : new PlaywrightException("Failed to launch driver", e.getCause());
+        }
+      }
+    }
+    if (error != null) {
+      for (PlaywrightImpl playwright : started) {
+        try {
+          playwright.close();
+        } catch (Exception e) {
+          error.addSuppressed(e);
+        }
+      }
+      throw error;
+    }
+    return new PlaywrightPoolImpl(started, options.launchOptions);
+  }
+
+  private PlaywrightPoolImpl(List<PlaywrightImpl> playwrights, BrowserType.LaunchOptions launchOptions) {
+    List<Member> members = new ArrayList<>();
+    for (PlaywrightImpl playwright : playwrights) {
+      members.add(new Member(playwright));
+    }
+    this.members = members;
+    this.playwrights = Collections.unmodifiableList(new ArrayList<>(playwrights));
+    this.launchOptions = launchOptions;
+  }
+
+  @Override
+  public List<Playwright> playwrights() {
+    return playwrights;
+  }
+
+  @Override
+  public Playwright leastLoaded() {
+    return leastLoadedMember(false).playwright;
+  }
+
+  @Override
+  public Browser launch(Function<Playwright, BrowserType> browserType, BrowserType.LaunchOptions options) {
+    Member member = leastLoadedMember(true);
+    Browser browser;
+    try {
+      browser = browserType.apply(member.playwright).launch(options);
+    } catch (RuntimeException e) {
+      unplace(member);
+      throw e;
+    }
+    browser.addListener(Browser.EventType.DISCONNECTED, event -> unplace(member));
+    return browser;
+  }
+
+  @Override
+  public BrowserContext newContext(Function<Playwright, BrowserType> browserType, Browser.NewContextOptions options) {
+    Member member = leastLoadedMember(true);
+    Browser browser;
+    BrowserContext context;
+    try {
+      browser = browserFor(member, browserType.apply(member.playwright));
+      context = browser.newContext(options);
+    } catch (RuntimeException e) {
+      unplace(member);
+      throw e;
+    }
+    // The contexts of a browser that crashed or was closed are not closed one by one.
+    AtomicBoolean isPlaced = new AtomicBoolean(true);
+    Listener<Browser.EventType> onDisconnected = event -> {
+      if (isPlaced.compareAndSet(true, false)) {
+        unplace(member);
+      }
+    };
+    browser.addListener(Browser.EventType.DISCONNECTED, onDisconnected);
+    ((BrowserContextImpl) context).internalListeners.add(BrowserContextImpl.InternalEventType.CLOSE, event -> {
+      browser.removeListener(Browser.EventType.DISCONNECTED, onDisconnected);
+      if (isPlaced.compareAndSet(true, false)) {
+        unplace(member);
+      }
+    });
+    return context;
+  }
+
+  private Browser browserFor(Member member, BrowserType browserType) {
+    member.lock.lock();
+    try {
+      Browser browser = member.browsers.get(browserType.name());
+      if (browser == null || !browser.isConnected()) {
+        browser = browserType.launch(launchOptions);
+        member.browsers.put(browserType.name(), browser);
+      }
+      return browser;
+    } finally {
+      member.lock.unlock();
+    }
+  }
+
+  // When place is true, the new browser or context is counted against the chosen member.
+  private synchronized Member leastLoadedMember(boolean place) {
+    Member result = null;
+    double minLoad = Double.MAX_VALUE;
+    for (Member member : members) {
+      double load = member.load();
+      if (load < minLoad) {
+        minLoad = load;
+        result = member;
+      }
+    }
+    if (place) {
+      result.placedCount++;
+    }
+    return result;
+  }
+
+  private synchronized void unplace(Member member) {
+    member.placedCount--;
+  }
+
+  @Override
+  public void close() {
+    PlaywrightException error = null;
+    for (Member member : members) {
+      try {
+        member.playwright.close();
+      } catch (Exception e) {
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        if (error == null) {
+          error = new PlaywrightException("Failed to close driver", e);
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+}
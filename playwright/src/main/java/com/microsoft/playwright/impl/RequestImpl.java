@@ -23,7 +23,6 @@ import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Response;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -46,7 +45,7 @@ public class RequestImpl extends ChannelOwner implements Request {
       headers.put(item.get("name").getAsString().toLowerCase(), item.get("value").getAsString());
     }
     if (initializer.has("postData")) {
-      postData = Base64.getDecoder().decode(initializer.get("postData").getAsString());
+      postData = connection.binaryBytes(initializer.get("postData"));
     } else {
       postData = null;
     }
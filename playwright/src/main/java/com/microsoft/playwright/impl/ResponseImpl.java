@@ -22,14 +22,20 @@ import com.microsoft.playwright.Frame;
 import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Response;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
 public class ResponseImpl extends ChannelOwner implements Response {
   private final Map<String, String> headers = new HashMap<>();
   private final RequestImpl request;
+  // Bodies up to this size are kept for repeated reads for as long as memory allows.
+  private static final int MAX_CACHED_BODY_SIZE = 64 * 1024 * 1024;
+  private volatile SoftReference<byte[]> cachedBody;
 
   ResponseImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -49,8 +55,55 @@ public class ResponseImpl extends ChannelOwner implements Response {
 
   @Override
   public byte[] body() {
+    // Callers may modify the array.
+    return cachedBody().clone();
+  }
+
+  @Override
+  public InputStream bodyStream() {
+    byte[] body = cachedBodyIfPresent();
+    if (body != null) {
+      return new ByteArrayInputStream(body);
+    }
+    return fetchBody().newInputStream();
+  }
+
+  @Override
+  public void bodyTo(Path path) {
+    byte[] body = cachedBodyIfPresent();
+    BinaryData data = body == null ? fetchBody() : BinaryData.of(body);
+    try {
+      data.writeTo(path);
+    } finally {
+      data.release();
+    }
+  }
+
+  private byte[] cachedBody() {
+    byte[] body = cachedBodyIfPresent();
+    if (body == null) {
+      BinaryData data = fetchBody();
+      try {
+        // A copy owned by this response, the data may live in a pooled buffer.
+        body = data.toByteArray();
+      } finally {
+        data.release();
+      }
+      if (body.length <= MAX_CACHED_BODY_SIZE) {
+        cachedBody = new SoftReference<>(body);
+      }
+    }
+    return body;
+  }
+
+  private byte[] cachedBodyIfPresent() {
+    SoftReference<byte[]> reference = cachedBody;
+    return reference == null ? null : reference.get();
+  }
+
+  private BinaryData fetchBody() {
     JsonObject json = sendMessage("body").getAsJsonObject();
-    return Base64.getDecoder().decode(json.get("binary").getAsString());
+    return connection.binary(json.get("binary"));
   }
 
   @Override
@@ -94,7 +147,7 @@ public class ResponseImpl extends ChannelOwner implements Response {
 
   @Override
   public String text() {
-    return new String(body(), StandardCharsets.UTF_8);
+    return new String(cachedBody(), StandardCharsets.UTF_8);
   }
 
   @Override
@@ -23,26 +23,58 @@ import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Route;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.Base64;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class RouteImpl extends ChannelOwner implements Route {
+  // Set once the route is continued, fulfilled or aborted by the client.
+  private final AtomicBoolean isHandled = new AtomicBoolean();
+
   public RouteImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
   }
 
   @Override
   public void abort(String errorCode) {
+    startHandling();
     JsonObject params = new JsonObject();
     params.addProperty("errorCode", errorCode);
     sendMessage("abort", params);
   }
 
+  // Used by route rules and as the fallback for unhandled routes, so that dispatch doesn't
+  // wait for the driver. Errors, e.g. for a page that has closed meanwhile, are ignored.
+  void abortNoWait(String errorCode) {
+    JsonObject params = new JsonObject();
+    if (errorCode != null) {
+      params.addProperty("errorCode", errorCode);
+    }
+    sendMessageNoWait("abort", params);
+  }
+
+  void continueNoWait() {
+    sendMessageNoWait("continue");
+  }
+
+  // Returns false if the route has already been handled.
+  boolean markHandled() {
+    return isHandled.compareAndSet(false, true);
+  }
+
+  private void startHandling() {
+    if (!markHandled()) {
+      throw new PlaywrightException("Route is already handled!");
+    }
+  }
+
   @Override
   public void continue_(ContinueOverrides overrides) {
+    startHandling();
     if (overrides == null) {
       overrides = new ContinueOverrides();
     }
@@ -57,39 +89,50 @@ public class RouteImpl extends ChannelOwner implements Route {
       params.add("headers", Serialization.toProtocol(overrides.headers));
     }
     if (overrides.postData != null) {
-      String base64 = Base64.getEncoder().encodeToString(overrides.postData);
-      params.addProperty("postData", base64);
+      waitFor(sendMessageAsync("continue", params, "postData", ByteBuffer.wrap(overrides.postData)));
+      return;
     }
     sendMessage("continue", params);
   }
 
   @Override
   public void fulfill(FulfillResponse response) {
+    startHandling();
     if (response == null) {
       response = new FulfillResponse();
     }
 
     int status = response.status == 0 ? 200 : response.status;
-    String body = "";
-    boolean isBase64 = false;
-    int length = 0;
+    String body = null;
+    // Sent base64 encoded straight from the buffer or the file.
+    OutgoingBinary binary = null;
+    FileChannel file = null;
+    String contentLength = null;
+    String contentType = response.contentType;
     if (response.path != null) {
+      // Opened on every call rather than cached, so that changes to the file are picked up
+      // and it isn't kept open (and locked on Windows) between calls.
       try {
-         byte[] buffer = Files.readAllBytes(response.path);
-         body = Base64.getEncoder().encodeToString(buffer);
-         isBase64 = true;
-         length = buffer.length;
+        file = FileChannel.open(response.path, StandardOpenOption.READ);
+        long size = file.size();
+        binary = OutgoingBinary.of(file, size);
+        contentLength = Long.toString(size);
       } catch (IOException e) {
+        closeQuietly(file);
         throw new PlaywrightException("Failed to read from file: " + response.path, e);
       }
+      if (contentType == null) {
+        contentType = Utils.mimeType(response.path);
+      }
     } else if (response.body != null) {
       body = response.body;
-      isBase64 = false;
-      length = body.getBytes().length;
+      contentLength = Integer.toString(body.getBytes().length);
     } else if (response.bodyBytes != null) {
-      body = Base64.getEncoder().encodeToString(response.bodyBytes);
-      isBase64 = true;
-      length = response.bodyBytes.length;
+      binary = OutgoingBinary.of(ByteBuffer.wrap(response.bodyBytes));
+      contentLength = Integer.toString(response.bodyBytes.length);
+    } else if (response.bodyBuffer != null) {
+      binary = OutgoingBinary.of(response.bodyBuffer);
+      contentLength = Long.toString(binary.size());
     }
 
     Map<String, String> headers = new LinkedHashMap<>();
@@ -98,20 +141,38 @@ public class RouteImpl extends ChannelOwner implements Route {
         headers.put(h.getKey().toLowerCase(), h.getValue());
       }
     }
-    if (response.contentType != null) {
-      headers.put("content-type", response.contentType);
-    } else if (response.path != null) {
-      headers.put("content-type", Utils.mimeType(response.path));
+    if (contentType != null) {
+      headers.put("content-type", contentType);
     }
-    if (length != 0 && !headers.containsKey("content-length")) {
-      headers.put("content-length", Integer.toString(length));
+    if (contentLength != null && !"0".equals(contentLength) && !headers.containsKey("content-length")) {
+      headers.put("content-length", contentLength);
     }
     JsonObject params = new JsonObject();
     params.addProperty("status", status);
     params.add("headers", Serialization.toProtocol(headers));
-    params.addProperty("isBase64", isBase64);
-    params.addProperty("body", body);
-    sendMessage("fulfill", params);
+    params.addProperty("isBase64", binary != null);
+    if (binary == null) {
+      params.addProperty("body", body == null ? "" : body);
+      sendMessage("fulfill", params);
+    } else {
+      try {
+        waitFor(sendMessageAsync("fulfill", params, "body", binary));
+      } finally {
+        // The file is read while the message is written, which is done once the reply arrives.
+        closeQuietly(file);
+      }
+    }
+  }
+
+  private static void closeQuietly(FileChannel file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      file.close();
+    } catch (IOException e) {
+      // Only read from.
+    }
   }
 
   @Override
@@ -16,49 +16,323 @@
 
 package com.microsoft.playwright.impl;
 
-import com.microsoft.playwright.Request;
+import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.Route;
+import com.microsoft.playwright.RouteRule;
+import com.microsoft.playwright.RouteStats;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
+/**
+ * Routes indexed by the literal prefix of their globs, so that a request URL is matched
+ * only against the routes whose prefix it starts with. Routes without a literal prefix
+ * (regular expressions, predicates) are candidates for every URL. Candidates are tried
+ * in registration order, the first matching one handles the request.
+ * Declarative rules are tried before the routes, in the order they were added.
+ * Asynchronous handlers only start the handling on the dispatcher thread, routes they
+ * don't resolve before the default timeout are aborted.
+ */
 class Router {
-  private List<RouteInfo> routes = new ArrayList<>();
+  private final TimeoutSettings timeoutSettings;
+  // Guarded by this.
+  private final List<RouteInfo> routes = new ArrayList<>();
+  private long lastOrder;
+  // Rebuilt on every change, read without locking.
+  private volatile Node index = new Node();
+  private volatile RuleInfo[] rules = new RuleInfo[0];
+
+  Router(TimeoutSettings timeoutSettings) {
+    this.timeoutSettings = timeoutSettings;
+  }
+
+  private static class RuleInfo {
+    final RouteRule rule;
+    // Copied from the rule when it is added.
+    final RouteRule.Action action;
+    final UrlMatcher url;
+    final Set<String> resourceTypes;
+    final String[] hosts;
+    final String errorCode;
+
+    RuleInfo(RouteRule rule) {
+      if (rule.action == null) {
+        throw new PlaywrightException("Route rule action must be set");
+      }
+      this.rule = rule;
+      action = rule.action;
+      url = rule.url == null ? null : new UrlMatcher(rule.url);
+      resourceTypes = rule.resourceTypes == null ? null : new HashSet<>(rule.resourceTypes);
+      hosts = rule.hosts == null ? null : rule.hosts.toArray(new String[0]);
+      errorCode = rule.errorCode;
+    }
+
+    boolean matches(String requestUrl, RouteImpl route) {
+      if (url != null && !url.test(requestUrl)) {
+        return false;
+      }
+      if (hosts != null && !matchesHost(requestUrl)) {
+        return false;
+      }
+      return resourceTypes == null || resourceTypes.contains(route.request().resourceType());
+    }
+
+    private boolean matchesHost(String requestUrl) {
+      int start = requestUrl.indexOf("://");
+      if (start == -1) {
+        return false;
+      }
+      start += 3;
+      int end = start;
+      while (end < requestUrl.length() && "/?#:".indexOf(requestUrl.charAt(end)) == -1) {
+        end++;
+      }
+      for (String host : hosts) {
+        int hostStart = end - host.length();
+        if (hostStart < start || !requestUrl.regionMatches(true, hostStart, host, 0, host.length())) {
+          continue;
+        }
+        // Either the whole host or a subdomain of it.
+        if (hostStart == start || requestUrl.charAt(hostStart - 1) == '.') {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
 
-  private static class RouteInfo {
+  private static class RouteInfo implements RouteStats {
     final UrlMatcher matcher;
+    // One of them is set.
     final Consumer<Route> handler;
+    final Function<Route, CompletionStage<?>> asyncHandler;
+    final long order;
+    final AtomicLong hitCount = new AtomicLong();
+    final AtomicLong pendingCount = new AtomicLong();
+    final AtomicLong timeoutCount = new AtomicLong();
 
-    RouteInfo(UrlMatcher matcher, Consumer<Route> handler) {
+    RouteInfo(UrlMatcher matcher, Consumer<Route> handler, Function<Route, CompletionStage<?>> asyncHandler, long order) {
       this.matcher = matcher;
       this.handler = handler;
+      this.asyncHandler = asyncHandler;
+      this.order = order;
+    }
+
+    @Override
+    public String url() {
+      return matcher.toString();
+    }
+
+    @Override
+    public long hitCount() {
+      return hitCount.get();
+    }
+
+    @Override
+    public long pendingCount() {
+      return pendingCount.get();
+    }
+
+    @Override
+    public long timeoutCount() {
+      return timeoutCount.get();
+    }
+  }
+
+  // Trie node, one level per character of the literal prefix.
+  private static class Node {
+    private static final RouteInfo[] NO_ROUTES = new RouteInfo[0];
+    // Sorted, children[i] is the child for keys[i].
+    char[] keys = new char[0];
+    Node[] children = new Node[0];
+    // Routes whose prefix ends at this node, in registration order.
+    RouteInfo[] routes = NO_ROUTES;
+
+    Node child(char key) {
+      int i = Arrays.binarySearch(keys, key);
+      return i < 0 ? null : children[i];
+    }
+
+    Node addChild(char key) {
+      int i = Arrays.binarySearch(keys, key);
+      if (i >= 0) {
+        return children[i];
+      }
+      i = -i - 1;
+      char[] newKeys = new char[keys.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, i);
+      System.arraycopy(children, 0, newChildren, 0, i);
+      System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+      System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+      newKeys[i] = key;
+      newChildren[i] = new Node();
+      keys = newKeys;
+      children = newChildren;
+      return newChildren[i];
     }
+
+    void addRoute(RouteInfo route) {
+      routes = Arrays.copyOf(routes, routes.length + 1);
+      routes[routes.length - 1] = route;
+    }
+  }
+
+  synchronized void add(UrlMatcher matcher, Consumer<Route> handler) {
+    routes.add(new RouteInfo(matcher, handler, null, ++lastOrder));
+    rebuildIndex();
+  }
+
+  synchronized void addAsync(UrlMatcher matcher, Function<Route, CompletionStage<?>> handler) {
+    routes.add(new RouteInfo(matcher, null, handler, ++lastOrder));
+    rebuildIndex();
+  }
+
+  synchronized void remove(UrlMatcher matcher, Consumer<Route> handler) {
+    if (routes.removeIf(info -> info.matcher.equals(matcher) && (handler == null || info.handler == handler))) {
+      rebuildIndex();
+    }
+  }
+
+  synchronized void addRule(RouteRule rule) {
+    RuleInfo[] newRules = Arrays.copyOf(rules, rules.length + 1);
+    newRules[rules.length] = new RuleInfo(rule);
+    rules = newRules;
+  }
+
+  synchronized void removeRule(RouteRule rule) {
+    rules = Arrays.stream(rules).filter(info -> info.rule != rule).toArray(RuleInfo[]::new);
   }
 
-  void add(UrlMatcher matcher, Consumer<Route> handler) {
-    routes.add(new RouteInfo(matcher, handler));
+  synchronized void clear() {
+    routes.clear();
+    rules = new RuleInfo[0];
+    rebuildIndex();
   }
 
-  void remove(UrlMatcher matcher, Consumer<Route> handler) {
-    routes = routes.stream()
-      .filter(info -> !info.matcher.equals(matcher) || (handler != null && info.handler != handler))
-      .collect(Collectors.toList());
+  // Number of routes and rules.
+  synchronized int size() {
+    return routes.size() + rules.length;
   }
 
-  int size() {
-    return routes.size();
+  // Routes in registration order.
+  synchronized List<RouteStats> stats() {
+    return Collections.unmodifiableList(new ArrayList<>(routes));
   }
 
-  boolean handle(Route route) {
+  private void rebuildIndex() {
+    Node root = new Node();
     for (RouteInfo info : routes) {
-      if (info.matcher.test(route.request().url())) {
-        info.handler.accept(route);
+      Node node = root;
+      String prefix = info.matcher.literalPrefix();
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.addChild(prefix.charAt(i));
+      }
+      node.addRoute(info);
+    }
+    index = root;
+  }
+
+  boolean handle(RouteImpl route) {
+    String url = route.request().url();
+    for (RuleInfo rule : rules) {
+      if (rule.matches(url, route)) {
+        if (!route.markHandled()) {
+          return true;
+        }
+        if (rule.action == RouteRule.Action.ABORT) {
+          route.abortNoWait(rule.errorCode);
+        } else {
+          route.continueNoWait();
+        }
+        return true;
+      }
+    }
+    // Route lists of the nodes along the URL, each of them in registration order.
+    List<RouteInfo[]> candidates = new ArrayList<>(4);
+    Node node = index;
+    for (int i = 0; node != null; i++) {
+      if (node.routes.length != 0) {
+        candidates.add(node.routes);
+      }
+      node = i < url.length() ? node.child(url.charAt(i)) : null;
+    }
+    int[] positions = new int[candidates.size()];
+    while (true) {
+      // Merge the lists by registration order.
+      int next = -1;
+      for (int k = 0; k < positions.length; k++) {
+        RouteInfo[] list = candidates.get(k);
+        if (positions[k] < list.length && (next == -1 || list[positions[k]].order < candidates.get(next)[positions[next]].order)) {
+          next = k;
+        }
+      }
+      if (next == -1) {
+        return false;
+      }
+      RouteInfo info = candidates.get(next)[positions[next]++];
+      if (info.matcher.test(url)) {
+        info.hitCount.incrementAndGet();
+        if (info.handler != null) {
+          info.handler.accept(route);
+        } else {
+          handleAsync(info, route);
+        }
         return true;
       }
     }
-    return false;
+  }
+
+  // Whichever comes first, the handler's stage or the timeout, settles the route. A route
+  // the handler hasn't resolved is continued, or aborted if the handler failed or timed out.
+  private void handleAsync(RouteInfo info, RouteImpl route) {
+    info.pendingCount.incrementAndGet();
+    CompletionStage<?> stage;
+    try {
+      stage = info.asyncHandler.apply(route);
+    } catch (RuntimeException e) {
+      CompletableFuture<Object> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      stage = failed;
+    }
+    if (stage == null) {
+      stage = CompletableFuture.completedFuture(null);
+    }
+    AtomicBoolean isSettled = new AtomicBoolean();
+    CompletableFuture<Object> timeout = route.connection.toFuture(timeoutSettings.createWaitable(null));
+    timeout.whenComplete((result, error) -> {
+      if (timeout.isCancelled() || !isSettled.compareAndSet(false, true)) {
+        return;
+      }
+      info.pendingCount.decrementAndGet();
+      info.timeoutCount.incrementAndGet();
+      if (route.markHandled()) {
+        route.abortNoWait("timedout");
+      }
+    });
+    stage.whenComplete((result, error) -> {
+      timeout.cancel(false);
+      if (!isSettled.compareAndSet(false, true)) {
+        return;
+      }
+      info.pendingCount.decrementAndGet();
+      if (route.markHandled()) {
+        if (error == null) {
+          route.continueNoWait();
+        } else {
+          route.abortNoWait(null);
+        }
+      }
+    });
   }
 }
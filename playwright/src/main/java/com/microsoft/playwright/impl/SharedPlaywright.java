@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A handle to a driver process shared by all instances created with the same wait strategy. Each
+ * handle tracks the browsers launched through it and closes them when it is closed, the driver
+ * process is shut down when the last handle is closed.
+ */
+class SharedPlaywright implements Playwright {
+  private static final Map<WaitStrategy, SharedDriver> drivers = new EnumMap<>(WaitStrategy.class);
+
+  private static class SharedDriver {
+    // Completed by the thread that launches the driver, outside of the lock.
+    final CompletableFuture<PlaywrightImpl> playwright = new CompletableFuture<>();
+    int refCount;
+
+    boolean isDisconnected() {
+      PlaywrightImpl launched = launched();
+      return launched != null && launched.connection.isClosed();
+    }
+
+    PlaywrightImpl launched() {
+      return playwright.isDone() && !playwright.isCompletedExceptionally() ? playwright.join() : null;
+    }
+  }
+
+  private final WaitStrategy waitStrategy;
+  private final PlaywrightImpl playwright;
+  private final Set<Browser> browsers = ConcurrentHashMap.newKeySet();
+  private final Set<BrowserContext> persistentContexts = ConcurrentHashMap.newKeySet();
+  private final BrowserType chromium;
+  private final BrowserType firefox;
+  private final BrowserType webkit;
+  private boolean isClosed;
+
+  static SharedPlaywright acquire(WaitStrategy waitStrategy) {
+    if (waitStrategy == null) {
+      waitStrategy = WaitStrategy.PARK;
+    }
+    SharedDriver driver;
+    SharedDriver disconnected = null;
+    boolean shouldLaunch = false;
+    synchronized (drivers) {
+      driver = drivers.get(waitStrategy);
+      if (driver != null && driver.isDisconnected()) {
+        disconnected = driver;
+        driver = null;
+      }
+      if (driver == null) {
+        driver = new SharedDriver();
+        drivers.put(waitStrategy, driver);
+        shouldLaunch = true;
+      }
+      driver.refCount++;
+    }
+    if (disconnected != null) {
+      // Its handles fail on their own, only the process is left to clean up.
+      closeQuietly(disconnected.launched());
+    }
+    if (shouldLaunch) {
+      try {
+        driver.playwright.complete(PlaywrightImpl.launchDriver(waitStrategy));
+      } catch (RuntimeException e) {
+        synchronized (drivers) {
+          drivers.remove(waitStrategy, driver);
+        }
+        driver.playwright.completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      return new SharedPlaywright(waitStrategy, driver.playwright.get());
+    } catch (ExecutionException e) {
+      throw new PlaywrightException("Failed to launch driver", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PlaywrightException("Interrupted while waiting for driver to launch", e);
+    }
+  }
+
+  private SharedPlaywright(WaitStrategy waitStrategy, PlaywrightImpl playwright) {
+    this.waitStrategy = waitStrategy;
+    this.playwright = playwright;
+    chromium = new TrackingBrowserType(playwright.chromium());
+    firefox = new TrackingBrowserType(playwright.firefox());
+    webkit = new TrackingBrowserType(playwright.webkit());
+  }
+
+  @Override
+  public BrowserType chromium() {
+    return chromium;
+  }
+
+  @Override
+  public BrowserType firefox() {
+    return firefox;
+  }
+
+  @Override
+  public BrowserType webkit() {
+    return webkit;
+  }
+
+  @Override
+  public Map<String, DeviceDescriptor> devices() {
+    return playwright.devices();
+  }
+
+  @Override
+  public Selectors selectors() {
+    return playwright.selectors();
+  }
+
+  @Override
+  public void close() throws Exception {
+    synchronized (drivers) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+    }
+    for (BrowserContext context : new ArrayList<>(persistentContexts)) {
+      closeQuietly(context::close);
+    }
+    for (Browser browser : new ArrayList<>(browsers)) {
+      closeQuietly(browser::close);
+    }
+    PlaywrightImpl toClose = null;
+    synchronized (drivers) {
+      SharedDriver driver = drivers.get(waitStrategy);
+      if (driver != null && driver.launched() == playwright && --driver.refCount == 0) {
+        drivers.remove(waitStrategy);
+        toClose = playwright;
+      }
+    }
+    if (toClose != null) {
+      toClose.close();
+    }
+  }
+
+  private static void closeQuietly(PlaywrightImpl playwright) {
+    try {
+      playwright.close();
+    } catch (Exception e) {
+      // The driver is gone already.
+    }
+  }
+
+  private static void closeQuietly(Runnable close) {
+    try {
+      close.run();
+    } catch (PlaywrightException e) {
+      // Already closed or the driver is gone, nothing to clean up.
+    }
+  }
+
+  private class TrackingBrowserType implements BrowserType {
+    private final BrowserType browserType;
+
+    TrackingBrowserType(BrowserType browserType) {
+      this.browserType = browserType;
+    }
+
+    @Override
+    public String executablePath() {
+      return browserType.executablePath();
+    }
+
+    @Override
+    public Browser launch(LaunchOptions options) {
+      Browser browser = browserType.launch(options);
+      browsers.add(browser);
+      browser.addListener(Browser.EventType.DISCONNECTED, event -> browsers.remove(browser));
+      return browser;
+    }
+
+    @Override
+    public BrowserContext launchPersistentContext(Path userDataDir, LaunchPersistentContextOptions options) {
+      BrowserContext context = browserType.launchPersistentContext(userDataDir, options);
+      persistentContexts.add(context);
+      context.addListener(BrowserContext.EventType.CLOSE, event -> persistentContexts.remove(context));
+      return context;
+    }
+
+    @Override
+    public String name() {
+      return browserType.name();
+    }
+  }
+}
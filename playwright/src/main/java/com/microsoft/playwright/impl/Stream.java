@@ -16,14 +16,24 @@
 
 package com.microsoft.playwright.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.microsoft.playwright.PlaywrightException;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Base64;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 public class Stream extends ChannelOwner {
-  private final InputStream stream = new InputStreamImpl();
+  private static final int CHUNK_SIZE = 1024 * 1024;
+  // Number of read requests kept in flight.
+  private static final int READ_AHEAD = 4;
+
+  private final InputStreamImpl stream = new InputStreamImpl();
   public Stream(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
   }
@@ -32,37 +42,150 @@ public class Stream extends ChannelOwner {
     return stream;
   }
 
+  long transferTo(WritableByteChannel channel) throws IOException {
+    return stream.transferTo(channel);
+  }
+
   private class InputStreamImpl extends InputStream {
+    private final Deque<Waitable<JsonElement>> pendingReads = new ArrayDeque<>();
+    // Full chunks are decoded into pooled buffers that are released once read.
+    private BinaryData chunkData;
+    private ByteBuffer chunk = ByteBuffer.allocate(0);
+    private boolean isEof;
+    private boolean isClosed;
+
     @Override
-    public int read() throws IOException {
-      byte[] b = {0};
-      int result = read(b, 0, 1);
-      if (result == -1) {
-        return result;
+    public synchronized int read() throws IOException {
+      if (!fill()) {
+        return -1;
       }
-      return 0xFF & b[0];
+      return 0xFF & chunk.get();
     }
 
     @Override
-    public int read(byte[] b, int off, int len) {
-      JsonObject params = new JsonObject();
-      params.addProperty("size", len);
-      JsonObject json = sendMessage("read", params).getAsJsonObject();
-      String encoded = json.get("binary").getAsString();
-      if (encoded.isEmpty()) {
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!fill()) {
         return -1;
       }
-      byte[] buffer = Base64.getDecoder().decode(encoded);
-      for (int i = 0; i < buffer.length;) {
-        b[off++] = buffer[i++];
+      int count = Math.min(len, chunk.remaining());
+      chunk.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public synchronized int available() {
+      return chunk.remaining();
+    }
+
+    synchronized long transferTo(WritableByteChannel channel) throws IOException {
+      long total = 0;
+      while (fill()) {
+        total += chunk.remaining();
+        while (chunk.hasRemaining()) {
+          channel.write(chunk);
+        }
+      }
+      return total;
+    }
+
+    // Overrides InputStream.transferTo on Java 9+.
+    public synchronized long transferTo(OutputStream out) throws IOException {
+      long total = 0;
+      while (fill()) {
+        int count = chunk.remaining();
+        out.write(chunk.array(), chunk.arrayOffset() + chunk.position(), count);
+        chunk.position(chunk.limit());
+        total += count;
       }
-      return buffer.length;
+      return total;
     }
 
     @Override
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
       super.close();
+      releaseChunk();
       sendMessage("close");
+      releasePendingReads();
+    }
+
+    // Chunks read ahead but never consumed hold pooled buffers, release them once the
+    // replies have arrived.
+    private void releasePendingReads() {
+      for (Waitable<JsonElement> read : pendingReads) {
+        if (!read.isDone()) {
+          connection.toFuture(read).thenAccept(this::releaseBinary);
+          continue;
+        }
+        try {
+          releaseBinary(read.get());
+        } catch (PlaywrightException e) {
+          // The read failed, there is nothing to release.
+        }
+      }
+      pendingReads.clear();
+    }
+
+    private void releaseBinary(JsonElement result) {
+      connection.binary(result.getAsJsonObject().get("binary")).release();
+    }
+
+    // Makes sure there are unread bytes in the chunk, returns false at the end of the stream.
+    private boolean fill() throws IOException {
+      if (isClosed) {
+        throw new IOException("Stream closed");
+      }
+      while (!chunk.hasRemaining()) {
+        if (isEof) {
+          return false;
+        }
+        requestChunks();
+        if (nextChunk(waitFor(pendingReads.poll()))) {
+          continue;
+        }
+        // Reads queued in the driver at the same time may come back empty while the
+        // stream still has data, so look at the rest and then confirm the end with
+        // a single read that has nothing else in flight.
+        while (!chunk.hasRemaining() && !pendingReads.isEmpty()) {
+          nextChunk(waitFor(pendingReads.poll()));
+        }
+        if (!chunk.hasRemaining()) {
+          JsonObject params = new JsonObject();
+          params.addProperty("size", CHUNK_SIZE);
+          isEof = !nextChunk(sendMessage("read", params));
+        }
+      }
+      return true;
+    }
+
+    private void requestChunks() {
+      while (pendingReads.size() < READ_AHEAD) {
+        JsonObject params = new JsonObject();
+        params.addProperty("size", CHUNK_SIZE);
+        pendingReads.add(sendMessageAsync("read", params));
+      }
+    }
+
+    // Makes the read chunk current, returns false if it is empty.
+    private boolean nextChunk(JsonElement result) {
+      releaseChunk();
+      chunkData = connection.binary(result.getAsJsonObject().get("binary"));
+      chunk = chunkData.buffer();
+      return chunk.hasRemaining();
+    }
+
+    private void releaseChunk() {
+      if (chunkData != null) {
+        chunkData.release();
+        chunkData = null;
+      }
+      chunk = ByteBuffer.allocate(0);
     }
   }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+/**
+ * Creates the threads that read, write and dispatch driver messages. On Java 21+
+ * the version from src/main/java21 is loaded from the multi-release jar instead,
+ * it runs them on virtual threads.
+ */
+class Threads {
+  static Thread newThread(String name, Runnable task) {
+    return new Thread(task, name);
+  }
+}
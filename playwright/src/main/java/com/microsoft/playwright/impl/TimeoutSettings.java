@@ -30,6 +30,15 @@ class TimeoutSettings {
     this.parent = parent;
   }
 
+  boolean hasDefaults() {
+    return defaultTimeout != null || defaultNavigationTimeout != null;
+  }
+
+  void clearDefaults() {
+    defaultTimeout = null;
+    defaultNavigationTimeout = null;
+  }
+
   void setDefaultTimeout(int timeout) {
     defaultTimeout = timeout;
   }
@@ -15,34 +15,70 @@
  */
 package com.microsoft.playwright.impl;
 
+import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.PlaywrightException;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 public class Transport {
-  private final BlockingQueue<String> incoming = new ArrayBlockingQueue<>(1000);
-  private final BlockingQueue<String> outgoing= new ArrayBlockingQueue<>(1000);
+  // Put into the incoming queue when the reader stops to wake up blocked consumers.
+  static final ByteBuffer EOF = ByteBuffer.allocate(0);
+  static final long SPIN_NANOS = 50_000;
 
-  private final ReaderThread readerThread;
-  private final WriterThread writerThread;
+  private final BlockingQueue<ByteBuffer> incoming = new ArrayBlockingQueue<>(1000);
+  private final BufferPool bufferPool = new BufferPool();
+  private final BlockingQueue<OutgoingMessage> outgoing= new ArrayBlockingQueue<>(1000);
 
-  private boolean isClosed;
+  private final MessageReader reader;
+  private final MessageWriter writer;
+  private final Playwright.WaitStrategy waitStrategy;
 
-  Transport(InputStream input, OutputStream output) {
-    DataInputStream in = new DataInputStream(new BufferedInputStream(input));
-    readerThread = new ReaderThread(in, incoming);
-    readerThread.start();
-    DataOutputStream out = new DataOutputStream(output);
-    writerThread = new WriterThread(out, outgoing);
-    writerThread.start();
+  private volatile boolean isClosed;
+  // The thread blocked in poll(), unparked when a message arrives or wakeup() is called.
+  private volatile Thread pollingThread;
+  // Makes poll() return early. A flag rather than a queue element, so it can't be dropped.
+  private volatile boolean isWakeupRequested;
+
+  Transport(InputStream input, OutputStream output, Playwright.WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+    reader = new MessageReader(Channels.newChannel(input), incoming, bufferPool, this::unparkPollingThread);
+    reader.thread.start();
+    writer = new MessageWriter(Channels.newChannel(output), outgoing);
+    writer.thread.start();
   }
 
   public void send(String message) {
+    send(new OutgoingMessage(message, null, null));
+  }
+
+  // Sends the message with the placeholder replaced by the base64 encoded binary,
+  // which is encoded straight into the output while the message is written.
+  void send(String message, String placeholder, OutgoingBinary binary) {
+    int index = message.lastIndexOf(placeholder);
+    if (index == -1) {
+      throw new IllegalArgumentException("Placeholder not found in the message");
+    }
+    send(new OutgoingMessage(message.substring(0, index), binary, message.substring(index + placeholder.length())));
+  }
+
+  private void send(OutgoingMessage message) {
     if (isClosed) {
       throw new PlaywrightException("Playwright connection closed");
     }
@@ -53,15 +89,118 @@ public class Transport {
     }
   }
 
-  public String poll(Duration timeout) {
+  // Returns next incoming message or null if none arrived within timeoutNanos.
+  // The returned buffer holds UTF-8 encoded JSON and should be handed back
+  // via release() once parsed.
+  public ByteBuffer poll(long timeoutNanos) {
     if (isClosed) {
       throw new PlaywrightException("Playwright connection closed");
     }
+    ByteBuffer message = null;
     try {
-      return incoming.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      switch (waitStrategy) {
+        case BUSY_SPIN:
+          message = spin(timeoutNanos);
+          break;
+        case SPIN_THEN_PARK:
+          message = spin(Math.min(timeoutNanos, SPIN_NANOS));
+          if (message == null && timeoutNanos > SPIN_NANOS) {
+            message = park(timeoutNanos == Long.MAX_VALUE ? timeoutNanos : timeoutNanos - SPIN_NANOS);
+          }
+          break;
+        default:
+          message = park(timeoutNanos);
+          break;
+      }
     } catch (InterruptedException e) {
       throw new PlaywrightException("Failed to read message", e);
     }
+    if (message == EOF) {
+      isClosed = true;
+      // Leave it for the other consumers.
+      incoming.offer(EOF);
+      throw new PlaywrightException("Playwright connection closed");
+    }
+    return message;
+  }
+
+  void release(ByteBuffer message) {
+    bufferPool.release(message);
+  }
+
+  BufferPool bufferPool() {
+    return bufferPool;
+  }
+
+  void wakeup() {
+    isWakeupRequested = true;
+    unparkPollingThread();
+  }
+
+  boolean hasIncomingMessages() {
+    return !incoming.isEmpty();
+  }
+
+  private void unparkPollingThread() {
+    Thread thread = pollingThread;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  // Returns the next message, or null on timeout or wakeup.
+  private ByteBuffer park(long timeoutNanos) throws InterruptedException {
+    long deadline = System.nanoTime() + timeoutNanos;
+    // Set before checking the queue, so that a message or wakeup that comes after the check unparks us.
+    pollingThread = Thread.currentThread();
+    try {
+      while (true) {
+        ByteBuffer message = incoming.poll();
+        if (message != null) {
+          return message;
+        }
+        if (isWakeupRequested) {
+          isWakeupRequested = false;
+          return null;
+        }
+        if (timeoutNanos == Long.MAX_VALUE) {
+          LockSupport.park(this);
+        } else {
+          long nanosLeft = deadline - System.nanoTime();
+          if (nanosLeft <= 0) {
+            return null;
+          }
+          LockSupport.parkNanos(this, nanosLeft);
+        }
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    } finally {
+      pollingThread = null;
+    }
+  }
+
+  private ByteBuffer spin(long timeoutNanos) {
+    long start = System.nanoTime();
+    do {
+      ByteBuffer message = incoming.poll();
+      if (message != null) {
+        return message;
+      }
+      if (isWakeupRequested) {
+        isWakeupRequested = false;
+        return null;
+      }
+      if (isClosed) {
+        throw new PlaywrightException("Playwright connection closed");
+      }
+    } while (timeoutNanos == Long.MAX_VALUE || System.nanoTime() - start < timeoutNanos);
+    return null;
+  }
+
+  boolean isClosed() {
+    return isClosed;
   }
 
   void close() throws IOException {
@@ -72,41 +211,42 @@ public class Transport {
     // We interrupt only the outgoing pipe and keep reader thread running as
     // otherwise child process may block on writing to its stdout and never
     // exit (observed on Windows).
-    readerThread.isClosing = true;
-    writerThread.out.close();
-    writerThread.interrupt();
+    reader.isClosing = true;
+    writer.out.close();
+    writer.thread.interrupt();
+    incoming.offer(EOF);
+    unparkPollingThread();
   }
 }
 
-class ReaderThread extends Thread {
-  private final DataInputStream in;
-  private final BlockingQueue<String> queue;
+class MessageReader implements Runnable {
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+  final Thread thread = Threads.newThread("Playwright-Reader", this);
+  private final ReadableByteChannel in;
+  private final BlockingQueue<ByteBuffer> queue;
+  private final BufferPool bufferPool;
+  // Called after a message is queued.
+  private final Runnable onMessage;
+  // Bytes read from the pipe but not consumed yet, in read mode.
+  private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
   volatile boolean isClosing;
 
-  private static int readIntLE(DataInputStream in) throws IOException {
-    int ch1 = in.read();
-    int ch2 = in.read();
-    int ch3 = in.read();
-    int ch4 = in.read();
-    if ((ch1 | ch2 | ch3 | ch4) < 0) {
-      throw new EOFException();
-    } else {
-      return (ch4 << 24) + (ch3 << 16) + (ch2 << 8) + (ch1 << 0);
-    }
-  }
-
-  ReaderThread(DataInputStream in, BlockingQueue<String> queue) {
+  MessageReader(ReadableByteChannel in, BlockingQueue<ByteBuffer> queue, BufferPool bufferPool, Runnable onMessage) {
     this.in = in;
     this.queue = queue;
+    this.bufferPool = bufferPool;
+    this.onMessage = onMessage;
+    buffer.flip();
   }
 
   @Override
   public void run() {
-    while (!isInterrupted()) {
+    while (!thread.isInterrupted()) {
       try {
         queue.put(readMessage());
+        onMessage.run();
       } catch (IOException e) {
-        if (!isInterrupted() && !isClosing) {
+        if (!thread.isInterrupted() && !isClosing) {
           e.printStackTrace();
         }
         break;
@@ -114,52 +254,231 @@ class ReaderThread extends Thread {
         break;
       }
     }
+    queue.offer(Transport.EOF);
+    onMessage.run();
   }
 
-  private String readMessage() throws IOException {
-    int len = readIntLE(in);
-    byte[] raw = new byte[len];
-    in.readFully(raw, 0, len);
-    return new String(raw, StandardCharsets.UTF_8);
+  private ByteBuffer readMessage() throws IOException {
+    while (buffer.remaining() < 4) {
+      buffer.compact();
+      int count = in.read(buffer);
+      buffer.flip();
+      if (count < 0) {
+        throw new EOFException();
+      }
+    }
+    int len = buffer.getInt();
+    ByteBuffer message = bufferPool.acquire(len);
+    if (buffer.remaining() >= len) {
+      int limit = buffer.limit();
+      buffer.limit(buffer.position() + len);
+      message.put(buffer);
+      buffer.limit(limit);
+    } else {
+      message.put(buffer);
+      // Read the rest of a large message straight into its own buffer.
+      while (message.hasRemaining()) {
+        if (in.read(message) < 0) {
+          throw new EOFException();
+        }
+      }
+    }
+    message.flip();
+    return message;
   }
 }
 
-class WriterThread extends Thread {
-  final DataOutputStream out;
-  private final BlockingQueue<String> queue;
+// Binary data of an outgoing message, read block by block while it is encoded.
+abstract class OutgoingBinary {
+  abstract long size();
+
+  // Reads the next count bytes into the start of the block.
+  abstract void read(byte[] block, int count) throws IOException;
+
+  static OutgoingBinary of(ByteBuffer buffer) {
+    ByteBuffer data = buffer.duplicate();
+    long size = data.remaining();
+    return new OutgoingBinary() {
+      @Override
+      long size() {
+        return size;
+      }
 
-  private static void writeIntLE(DataOutputStream out, int v) throws IOException {
-    out.write(v >>> 0 & 255);
-    out.write(v >>> 8 & 255);
-    out.write(v >>> 16 & 255);
-    out.write(v >>> 24 & 255);
+      @Override
+      void read(byte[] block, int count) {
+        data.get(block, 0, count);
+      }
+    };
   }
 
-  WriterThread(DataOutputStream out, BlockingQueue<String> queue) {
+  // The first size bytes of the file, read with positional reads so the caller keeps the
+  // channel. The message length is written before the data, so if the file is truncated
+  // while being sent the rest is filled with zeros.
+  static OutgoingBinary of(FileChannel file, long size) {
+    return new OutgoingBinary() {
+      private long position;
+
+      @Override
+      long size() {
+        return size;
+      }
+
+      @Override
+      void read(byte[] block, int count) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(block, 0, count);
+        while (target.hasRemaining()) {
+          int read = file.read(target, position);
+          if (read < 0) {
+            Arrays.fill(block, target.position(), count, (byte) 0);
+            position += target.remaining();
+            return;
+          }
+          position += read;
+        }
+      }
+    };
+  }
+}
+
+class OutgoingMessage {
+  final String text;
+  // Written base64 encoded between text and suffix.
+  final OutgoingBinary binary;
+  final String suffix;
+
+  OutgoingMessage(String text, OutgoingBinary binary, String suffix) {
+    this.text = text;
+    this.binary = binary;
+    this.suffix = suffix;
+  }
+}
+
+class MessageWriter implements Runnable {
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+  // Buffers grown beyond this size for a large message are dropped after the write.
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+  // Binary data is encoded in blocks of this many bytes, must be a multiple of 3.
+  private static final int BINARY_BLOCK_SIZE = 48 * 1024;
+  final Thread thread = Threads.newThread("Playwright-Writer", this);
+  final WritableByteChannel out;
+  private final BlockingQueue<OutgoingMessage> queue;
+  private final List<OutgoingMessage> batch = new ArrayList<>();
+  private final byte[] binaryBlock = new byte[BINARY_BLOCK_SIZE];
+  private final byte[] encodedBlock = new byte[BINARY_BLOCK_SIZE / 3 * 4];
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private ByteBuffer buffer = newBuffer(WRITE_BUFFER_SIZE);
+
+  MessageWriter(WritableByteChannel out, BlockingQueue<OutgoingMessage> queue) {
     this.out = out;
     this.queue = queue;
   }
 
   @Override
   public void run() {
-    while (!isInterrupted()) {
+    while (!thread.isInterrupted()) {
       try {
-        if (queue.isEmpty())
-          out.flush();
-        sendMessage(queue.take());
+        batch.add(queue.take());
+        queue.drainTo(batch);
+        sendMessages();
       } catch (IOException e) {
-        if (!isInterrupted())
+        if (!thread.isInterrupted())
           e.printStackTrace();
         break;
       } catch (InterruptedException e) {
         break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  // Encodes all messages of the batch into one buffer and writes it at once.
+  // Binary data is flushed block by block as it is encoded.
+  private void sendMessages() throws IOException {
+    buffer.clear();
+    for (OutgoingMessage message : batch) {
+      if (message.binary == null) {
+        ensureRemaining(4);
+        int lengthPosition = buffer.position();
+        buffer.position(lengthPosition + 4);
+        encode(message.text);
+        buffer.putInt(lengthPosition, buffer.position() - lengthPosition - 4);
+      } else {
+        encodeWithBinary(message);
       }
     }
+    flush();
+    if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+      buffer = newBuffer(WRITE_BUFFER_SIZE);
+    }
+  }
+
+  private void encodeWithBinary(OutgoingMessage message) throws IOException {
+    byte[] suffix = message.suffix.getBytes(StandardCharsets.UTF_8);
+    OutgoingBinary binary = message.binary;
+    long remaining = binary.size();
+    long encodedLength = (remaining + 2L) / 3 * 4;
+    ensureRemaining(4);
+    int lengthPosition = buffer.position();
+    buffer.position(lengthPosition + 4);
+    encode(message.text);
+    long length = buffer.position() - lengthPosition - 4 + encodedLength + suffix.length;
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Message is too large: " + length + " bytes");
+    }
+    buffer.putInt(lengthPosition, (int) length);
+    while (remaining > 0) {
+      int count = (int) Math.min(BINARY_BLOCK_SIZE, remaining);
+      byte[] block = count == BINARY_BLOCK_SIZE ? binaryBlock : new byte[count];
+      binary.read(block, count);
+      remaining -= count;
+      int encodedCount = Base64.getEncoder().encode(block, encodedBlock);
+      if (buffer.remaining() < encodedCount) {
+        flush();
+      }
+      buffer.put(encodedBlock, 0, encodedCount);
+    }
+    ensureRemaining(suffix.length);
+    buffer.put(suffix);
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void encode(String message) {
+    ensureRemaining(message.length());
+    CharBuffer chars = CharBuffer.wrap(message);
+    encoder.reset();
+    while (encoder.encode(chars, buffer, true).isOverflow()) {
+      ensureRemaining(Math.max(chars.remaining() * 3, 16));
+    }
+    while (encoder.flush(buffer).isOverflow()) {
+      ensureRemaining(16);
+    }
+  }
+
+  private void ensureRemaining(int size) {
+    if (buffer.remaining() >= size) {
+      return;
+    }
+    int capacity = buffer.capacity();
+    while (capacity - buffer.position() < size) {
+      capacity *= 2;
+    }
+    ByteBuffer newBuffer = newBuffer(capacity);
+    buffer.flip();
+    newBuffer.put(buffer);
+    buffer = newBuffer;
   }
 
-  private void sendMessage(String message) throws IOException {
-    int len = message.length();
-    writeIntLE(out, len);
-    out.writeBytes(message);
+  private static ByteBuffer newBuffer(int capacity) {
+    return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
   }
 }
@@ -20,8 +20,6 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-import static com.microsoft.playwright.impl.Utils.globToRegex;
-
 class UrlMatcher {
   private final Object rawSource;
   private final Predicate<String> predicate;
@@ -30,6 +28,11 @@ class UrlMatcher {
     return s -> pattern.matcher(s).find();
   }
 
+  private static Predicate<String> toGlobPredicate(String glob) {
+    GlobMatcher matcher = GlobMatcher.compile(glob);
+    return s -> matcher.matches(s) || glob.equals(s);
+  }
+
   static UrlMatcher any() {
     return new UrlMatcher(null, null);
   }
@@ -56,7 +59,7 @@ class UrlMatcher {
   }
 
   UrlMatcher(String url) {
-    this(url, toPredicate(Pattern.compile(globToRegex(url))).or(s -> url == null || url.equals(s)));
+    this(url, toGlobPredicate(url));
   }
 
   UrlMatcher(Pattern pattern) {
@@ -75,6 +78,28 @@ class UrlMatcher {
     return predicate == null || predicate.test(value);
   }
 
+  // Every URL matched by this matcher starts with the returned string.
+  String literalPrefix() {
+    if (!(rawSource instanceof String)) {
+      return "";
+    }
+    String glob = (String) rawSource;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      // Brackets and backslashes pass into the regular expression as a character class or
+      // an escape, so they aren't literal either.
+      if (c == '*' || c == '?' || c == '{' || c == '[' || c == ']' || c == '\\') {
+        return glob.substring(0, i);
+      }
+    }
+    return glob;
+  }
+
+  @Override
+  public String toString() {
+    return rawSource == null ? "**" : rawSource.toString();
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes UTF-8 bytes of a message as the JSON parser consumes them, so that
+ * the message never has to be materialized as a String. Not thread safe, the
+ * instance is reset and reused for every message.
+ */
+class Utf8Reader extends Reader {
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  // Holds the low surrogate when the caller asked for a single char.
+  private final CharBuffer pending = CharBuffer.allocate(2);
+  private ByteBuffer bytes;
+  private boolean isFlushed;
+
+  Utf8Reader reset(ByteBuffer bytes) {
+    this.bytes = bytes;
+    decoder.reset();
+    pending.clear().flip();
+    isFlushed = false;
+    return this;
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (pending.hasRemaining()) {
+      buffer[offset] = pending.get();
+      return 1;
+    }
+    if (isFlushed) {
+      return -1;
+    }
+    CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+    CoderResult result = decoder.decode(bytes, out, true);
+    if (result.isOverflow() && out.position() == offset) {
+      // Not enough room for a surrogate pair.
+      pending.clear();
+      decoder.decode(bytes, pending, true);
+      pending.flip();
+      out.put(pending.get());
+    }
+    if (!bytes.hasRemaining() && !isFlushed && result.isUnderflow()) {
+      isFlushed = decoder.flush(out).isUnderflow();
+    }
+    int count = out.position() - offset;
+    if (count == 0 && isFlushed) {
+      return -1;
+    }
+    return count;
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 class Utils {
   // TODO: generate converter.
@@ -101,7 +102,19 @@ class Utils {
     return tokens.toString();
   }
 
+  // By file extension, the content type is inferred from it.
+  private static final Map<String, String> mimeTypes = new ConcurrentHashMap<>();
+
   static String mimeType(Path path) {
+    String name = path.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    if (dot <= 0) {
+      return probeMimeType(path);
+    }
+    return mimeTypes.computeIfAbsent(name.substring(dot).toLowerCase(), extension -> probeMimeType(path));
+  }
+
+  private static String probeMimeType(Path path) {
     String mimeType;
     try {
       mimeType = Files.probeContentType(path);
@@ -129,6 +142,15 @@ class Utils {
   }
 
   static void writeToFile(byte[] buffer, Path path) {
+    createParentDirectories(path);
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(path.toFile()));) {
+      out.write(buffer);
+    } catch (IOException e) {
+      throw new PlaywrightException("Failed to write to file", e);
+    }
+  }
+
+  static void createParentDirectories(Path path) {
     Path dir = path.getParent();
     if (dir != null) {
       if (!Files.exists(dir)) {
@@ -139,11 +161,6 @@ class Utils {
         }
       }
     }
-    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(path.toFile()));) {
-      out.write(buffer);
-    } catch (IOException e) {
-      throw new PlaywrightException("Failed to write to file", e);
-    }
   }
 
   static boolean isSafeCloseError(PlaywrightException exception) {
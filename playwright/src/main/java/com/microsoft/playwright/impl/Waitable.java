@@ -22,6 +22,11 @@ interface Waitable<T> {
   boolean isDone();
   T get();
   void dispose();
+  // Time left until the waitable may complete without any incoming message
+  // (e.g. its timeout expires), Long.MAX_VALUE if there is no such deadline.
+  default long nanosUntilDeadline() {
+    return Long.MAX_VALUE;
+  }
   default <U> Waitable<U> apply(Function<T, U> transform) {
     return new WaitableAdapter<T, U>(this, transform);
   }
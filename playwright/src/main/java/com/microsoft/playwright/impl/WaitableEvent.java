@@ -26,7 +26,7 @@ class WaitableEvent<EventType> implements Waitable<Event<EventType>>, Listener<E
   final ListenerCollection<EventType> listeners;
   private final EventType type;
   private final Predicate<Event<EventType>> predicate;
-  private Event<EventType> event;
+  private volatile Event<EventType> event;
 
   WaitableEvent(ListenerCollection<EventType> listeners, EventType type) {
     this(listeners, type, null);
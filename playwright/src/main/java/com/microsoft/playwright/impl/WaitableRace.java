@@ -54,4 +54,13 @@ class WaitableRace<T> implements Waitable<T> {
       w.dispose();
     }
   }
+
+  @Override
+  public long nanosUntilDeadline() {
+    long result = Long.MAX_VALUE;
+    for (Waitable<T> w : waitables) {
+      result = Math.min(result, w.nanosUntilDeadline());
+    }
+    return result;
+  }
 }
@@ -21,7 +21,7 @@ import com.microsoft.playwright.PlaywrightException;
 class WaitableResult<T> implements Waitable<T> {
   private T result;
   private RuntimeException exception;
-  private boolean isDone;
+  private volatile boolean isDone;
 
   void complete(T result) {
     if (isDone) {
@@ -29,7 +29,7 @@ class WaitableTimeout<T> implements Waitable<T> {
 
   @Override
   public boolean isDone() {
-    return System.nanoTime() > deadline;
+    return System.nanoTime() - deadline > 0;
   }
 
   @Override
@@ -40,5 +40,10 @@ class WaitableTimeout<T> implements Waitable<T> {
   @Override
   public void dispose() {
   }
+
+  @Override
+  public long nanosUntilDeadline() {
+    return Math.max(0, deadline - System.nanoTime());
+  }
 }
 
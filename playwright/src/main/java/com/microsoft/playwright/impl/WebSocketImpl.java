@@ -16,19 +16,19 @@
 
 package com.microsoft.playwright.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.microsoft.playwright.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.List;
 
 class WebSocketImpl extends ChannelOwner implements WebSocket {
   private final ListenerCollection<EventType> listeners = new ListenerCollection<>();
   private final PageImpl page;
-  private boolean isClosed;
+  private volatile boolean isClosed;
 
   public WebSocketImpl(ChannelOwner parent, String type, String guid, JsonObject initializer) {
     super(parent, type, guid, initializer);
@@ -57,7 +57,7 @@ class WebSocketImpl extends ChannelOwner implements WebSocket {
 
   private class WaitableWebSocketError<R> implements Waitable<R>, Listener<EventType> {
     private final List<EventType> subscribedEvents;
-    private String errorMessage;
+    private volatile String errorMessage;
 
     WaitableWebSocketError() {
       subscribedEvents = Arrays.asList(EventType.CLOSE, EventType.SOCKETERROR);
@@ -112,12 +112,8 @@ class WebSocketImpl extends ChannelOwner implements WebSocket {
   private static class FrameDataImpl implements FrameData {
     private final byte[] bytes;
 
-    FrameDataImpl(String payload, boolean isBase64) {
-      if (isBase64) {
-        bytes = Base64.getDecoder().decode(payload);
-      } else {
-        bytes = payload.getBytes();
-      }
+    FrameDataImpl(byte[] bytes) {
+      this.bytes = bytes;
     }
 
     @Override
@@ -131,18 +127,37 @@ class WebSocketImpl extends ChannelOwner implements WebSocket {
     }
   }
 
+  @Override
+  void handleEvent(String event, LazyParams parameters) {
+    // Frames are only parsed when somebody listens to them.
+    if ("frameSent".equals(event) && !listeners.hasListeners(EventType.FRAMESENT)) {
+      return;
+    }
+    if ("frameReceived".equals(event) && !listeners.hasListeners(EventType.FRAMERECEIVED)) {
+      return;
+    }
+    super.handleEvent(event, parameters);
+  }
+
+  private FrameDataImpl frameData(JsonObject parameters) {
+    JsonElement data = parameters.get("data");
+    if (parameters.get("opcode").getAsInt() == 2) {
+      // Large binary frames are decoded before the message is parsed.
+      return new FrameDataImpl(connection.binaryBytes(data));
+    }
+    return new FrameDataImpl(data.getAsString().getBytes(StandardCharsets.UTF_8));
+  }
+
   @Override
   void handleEvent(String event, JsonObject parameters) {
     switch (event) {
       case "frameSent": {
-        FrameDataImpl frameData = new FrameDataImpl(
-          parameters.get("data").getAsString(), parameters.get("opcode").getAsInt() == 2);
+        FrameDataImpl frameData = frameData(parameters);
         listeners.notify(EventType.FRAMESENT, frameData);
         break;
       }
       case "frameReceived": {
-        FrameDataImpl frameData = new FrameDataImpl(
-          parameters.get("data").getAsString(), parameters.get("opcode").getAsInt() == 2);
+        FrameDataImpl frameData = frameData(parameters);
         listeners.notify(EventType.FRAMERECEIVED, frameData);
         break;
       }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+/**
+ * Java 21 version of the class, all Playwright threads are virtual so that they
+ * don't occupy a platform thread while blocked on the driver pipes or queues.
+ */
+class Threads {
+  static Thread newThread(String name, Runnable task) {
+    return Thread.ofVirtual().name(name).unstarted(task);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Future;
+
+import static com.microsoft.playwright.Utils.mapOf;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBrowserContextPool extends TestBase {
+  @Test
+  void shouldReuseContextWithClearedCookies() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context;
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertEquals(0, lease.reuseCount());
+        context = lease.context();
+        context.addCookies(asList(new BrowserContext.AddCookie().withUrl(server.EMPTY_PAGE).withName("foo").withValue("bar")));
+        lease.page().setContent("<div>hello</div>");
+        assertEquals(1, context.cookies().size());
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertSame(context, lease.context());
+        assertEquals(1, lease.reuseCount());
+        assertEquals(0, lease.context().cookies().size());
+        assertEquals(1, lease.context().pages().size());
+        assertEquals("about:blank", lease.page().url());
+      }
+      assertEquals(1, pool.reuseCount());
+      assertEquals(0, pool.disposeCount());
+    }
+  }
+
+  @Test
+  void shouldRemoveRoutes() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        lease.context().route("**/*", route -> route.abort());
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertEquals(1, lease.reuseCount());
+        Response response = lease.page().navigate(server.EMPTY_PAGE);
+        assertEquals(200, response.status());
+      }
+    }
+  }
+
+  @Test
+  void shouldReuseContextThatLoadedPages() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context;
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        context = lease.context();
+        lease.page().navigate(server.EMPTY_PAGE);
+        assertEquals("ok", lease.page().evaluate("() => 'ok'"));
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertSame(context, lease.context());
+        assertEquals(1, lease.reuseCount());
+        Response response = lease.page().navigate(server.EMPTY_PAGE);
+        assertEquals(200, response.status());
+      }
+      assertEquals(1, pool.reuseCount());
+      assertEquals(0, pool.disposeCount());
+    }
+  }
+
+  @Test
+  void shouldClearStorageOfVisitedOrigins() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context;
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        context = lease.context();
+        lease.page().navigate(server.EMPTY_PAGE);
+        lease.page().evaluate("() => localStorage.setItem('foo', 'bar')");
+        lease.page().evaluate("() => new Promise(resolve => indexedDB.open('db').onsuccess = event => {\n" +
+          "  event.target.result.close();\n" +
+          "  resolve();\n" +
+          "})");
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertSame(context, lease.context());
+        lease.page().navigate(server.EMPTY_PAGE);
+        assertNull(lease.page().evaluate("() => localStorage.getItem('foo')"));
+        assertEquals(0, lease.page().evaluate("async () => (await indexedDB.databases()).length"));
+      }
+      assertEquals(0, pool.disposeCount());
+    }
+  }
+
+  @Test
+  void shouldRestoreDefaultTimeoutsAndRemoveListeners() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      boolean[] notified = {false};
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        lease.context().setDefaultTimeout(1);
+        lease.context().setDefaultNavigationTimeout(1);
+        lease.context().addListener(BrowserContext.EventType.PAGE, event -> notified[0] = true);
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertEquals(1, lease.reuseCount());
+        assertFalse(notified[0]);
+        lease.page().setContent("<div>hello</div>");
+        lease.page().evaluate("() => setTimeout(() => document.body.innerHTML = '<span>late</span>', 100)");
+        assertNotNull(lease.page().waitForSelector("span"));
+      }
+    }
+  }
+
+  @Test
+  void shouldRestoreExtraHeaders() throws Exception {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context;
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        context = lease.context();
+        context.setExtraHTTPHeaders(mapOf("foo", "bar"));
+        context.setOffline(true);
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertSame(context, lease.context());
+        Future<Server.Request> request = server.waitForRequest("/empty.html");
+        lease.page().navigate(server.EMPTY_PAGE);
+        assertNull(request.get().headers.get("foo"));
+      }
+      assertEquals(0, pool.disposeCount());
+    }
+  }
+
+  @Test
+  void shouldDisposeContextWithInitScript() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      BrowserContext context;
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        context = lease.context();
+        context.addInitScript("window.foo = 1");
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        assertNotSame(context, lease.context());
+      }
+      assertEquals(1, pool.disposeCount());
+    }
+  }
+
+  @Test
+  void shouldClearPermissions() {
+    try (BrowserContextPool pool = BrowserContextPool.create(browser)) {
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        lease.context().grantPermissions(asList("geolocation"));
+      }
+      try (BrowserContextPool.Lease lease = pool.acquire()) {
+        lease.page().navigate(server.EMPTY_PAGE);
+        assertEquals("prompt", lease.page().evaluate(
+          "() => navigator.permissions.query({ name: 'geolocation' }).then(result => result.state)"));
+      }
+    }
+  }
+}
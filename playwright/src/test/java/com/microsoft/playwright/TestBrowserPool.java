@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBrowserPool extends TestBase {
+  @Test
+  void shouldHandOutWarmBrowsers() {
+    try (BrowserPool pool = BrowserPool.create(browserType)) {
+      Browser browser = pool.acquire(createLaunchOptions());
+      assertTrue(browser.isConnected());
+      assertEquals(2, browser.newPage().evaluate("() => 1 + 1"));
+      browser.close();
+    }
+  }
+
+  @Test
+  void shouldShareBrowserBetweenContexts() {
+    try (BrowserPool pool = BrowserPool.create(browserType)) {
+      BrowserContext first = pool.newContext(createLaunchOptions(), null);
+      BrowserContext second = pool.newContext(createLaunchOptions(), null);
+      assertSame(first.browser(), second.browser());
+      first.close();
+      second.close();
+    }
+  }
+
+  @Test
+  void shouldRetireBrowserAfterMaxContexts() throws Exception {
+    try (BrowserPool pool = BrowserPool.create(browserType, new BrowserPool.CreateOptions().withMaxContextsPerBrowser(2))) {
+      BrowserContext first = pool.newContext(createLaunchOptions(), null);
+      BrowserContext second = pool.newContext(createLaunchOptions(), null);
+      BrowserContext third = pool.newContext(createLaunchOptions(), null);
+      Browser retired = first.browser();
+      assertSame(retired, second.browser());
+      assertNotSame(retired, third.browser());
+      first.close();
+      second.close();
+      for (int i = 0; i < 100 && retired.isConnected(); i++) {
+        Thread.sleep(100);
+      }
+      assertFalse(retired.isConnected());
+      assertEquals(2, third.newPage().evaluate("() => 1 + 1"));
+      third.close();
+    }
+  }
+
+  @Test
+  void shouldCloseSharedBrowsersOnClose() {
+    BrowserPool pool = BrowserPool.create(browserType);
+    BrowserContext context = pool.newContext(createLaunchOptions(), null);
+    pool.close();
+    assertFalse(context.browser().isConnected());
+  }
+
+  @Test
+  void shouldReportSpareLaunchFailures() throws Exception {
+    BrowserType.LaunchOptions options = createLaunchOptions().withExecutablePath(Paths.get("/does/not/exist"));
+    try (BrowserPool pool = BrowserPool.create(browserType)) {
+      pool.warmUp(options);
+      PlaywrightException error = null;
+      // The spare is launched in the background.
+      for (int i = 0; i < 100; i++) {
+        try {
+          pool.acquire(options);
+          fail("did not throw");
+        } catch (PlaywrightException e) {
+          error = e;
+        }
+        if (error.getSuppressed().length > 0) {
+          break;
+        }
+        Thread.sleep(100);
+      }
+      assertEquals(1, error.getSuppressed().length);
+      assertTrue(error.getSuppressed()[0].getMessage().contains("/does/not/exist"), error.getSuppressed()[0].getMessage());
+    }
+  }
+
+  @Test
+  void shouldForgetDisconnectedBrowsers() {
+    try (BrowserPool pool = BrowserPool.create(browserType)) {
+      BrowserContext first = pool.newContext(createLaunchOptions(), null);
+      first.browser().close();
+      BrowserContext second = pool.newContext(createLaunchOptions(), null);
+      assertNotSame(first.browser(), second.browser());
+      assertTrue(second.browser().isConnected());
+      second.close();
+    }
+  }
+}
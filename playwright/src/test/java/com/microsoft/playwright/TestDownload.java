@@ -22,6 +22,7 @@ import org.junit.jupiter.api.condition.DisabledIf;
 import org.junit.jupiter.api.condition.EnabledIf;
 
 import java.io.*;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -382,6 +383,20 @@ public class TestDownload extends TestBase {
     page.close();
   }
 
+  @Test
+  void shouldTransferToChannel() throws IOException {
+    Page page = browser.newPage(new Browser.NewPageOptions().withAcceptDownloads(true));
+    page.setContent("<a href='" + server.PREFIX + "/download'>download</a>");
+    Deferred<Event<Page.EventType>> downloadEvent = page.waitForEvent(DOWNLOAD);
+    page.click("a");
+    Download download = (Download) downloadEvent.get().data();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(11, download.transferTo(Channels.newChannel(out)));
+    assertEquals("Hello world", new String(out.toByteArray(), UTF_8));
+    page.close();
+  }
+
   @Test
   void shouldDeleteDownloadsOnContextDestruction() {
     Page page = browser.newPage(new Browser.NewPageOptions().withAcceptDownloads(true));
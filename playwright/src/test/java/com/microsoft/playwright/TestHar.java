@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -179,4 +180,34 @@ public class TestHar extends TestBase {
     }
     assertTrue(foundUserContentType);
   }
+
+  @Test
+  void shouldReplayFromHar() throws IOException {
+    String[] body = {"recorded"};
+    server.setRoute("/data.txt", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "text/plain");
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStreamWriter writer = new OutputStreamWriter(exchange.getResponseBody())) {
+        writer.write(body[0]);
+      }
+    });
+    pageWithHar.page.navigate(server.PREFIX + "/data.txt");
+    pageWithHar.context.close();
+    body[0] = "live";
+
+    BrowserContext replayContext = browser.newContext();
+    try {
+      replayContext.routeFromHar(pageWithHar.harFile);
+      Page page = replayContext.newPage();
+      Response response = page.navigate(server.PREFIX + "/data.txt");
+      assertEquals("recorded", response.text());
+      try {
+        page.navigate(server.EMPTY_PAGE);
+        fail("did not throw");
+      } catch (PlaywrightException e) {
+      }
+    } finally {
+      replayContext.close();
+    }
+  }
 }
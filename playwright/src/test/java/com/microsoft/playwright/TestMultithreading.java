@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMultithreading extends TestBase {
+  @Test
+  void shouldDrivePagesFromSeveralThreads() throws Exception {
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        int index = i;
+        results.add(executor.submit(() -> {
+          BrowserContext context = browser.newContext();
+          Page page = context.newPage();
+          page.navigate(server.EMPTY_PAGE);
+          Object result = null;
+          for (int j = 0; j < 20; j++) {
+            result = page.evaluate("i => i * 2", index);
+          }
+          context.close();
+          return result;
+        }));
+      }
+      for (int i = 0; i < threadCount; i++) {
+        assertEquals(i * 2, results.get(i).get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldDeliverEventsWhileAnotherThreadIsWaiting() throws Exception {
+    CompletableFuture<Object> consoleMessage = new CompletableFuture<>();
+    page.addListener(Page.EventType.CONSOLE, event -> consoleMessage.complete(((ConsoleMessage) event.data()).text()));
+    Thread thread = new Thread(() -> page.evaluate("() => console.log('hello')"));
+    thread.start();
+    assertEquals("hello", consoleMessage.get(30, TimeUnit.SECONDS));
+    thread.join();
+  }
+
+  @Test
+  void shouldAllowSyncCallsFromEventHandlers() {
+    page.addListener(Page.EventType.CONSOLE, event -> page.evaluate("() => window.handled = true"));
+    page.evaluate("() => console.log('hello')");
+    page.waitForFunction("() => window.handled").get();
+  }
+
+  @Test
+  void shouldRethrowListenerErrorsFromApiCalls() {
+    page.addListener(Page.EventType.CONSOLE, event -> {
+      throw new IllegalStateException("listener failed");
+    });
+    try {
+      page.evaluate("() => console.log('hello')");
+      // The console event may arrive after the reply to evaluate.
+      page.waitForTimeout(100);
+      page.evaluate("() => 1");
+      fail("did not throw");
+    } catch (IllegalStateException e) {
+      assertEquals("listener failed", e.getMessage());
+    }
+    assertEquals(2, page.evaluate("() => 2"));
+  }
+}
@@ -18,9 +18,14 @@ package com.microsoft.playwright;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
@@ -128,6 +133,88 @@ public class TestNetworkResponse extends TestBase {
     assertTrue(Arrays.equals(expected, response.body()));
   }
 
+  @Test
+  void shouldReturnBodyRepeatedly() throws IOException {
+    Response response = page.navigate(server.PREFIX + "/pptr.png");
+    byte[] expected = Files.readAllBytes(Paths.get("src/test/resources/pptr.png"));
+    byte[] body = response.body();
+    body[0] = 0;
+    assertTrue(Arrays.equals(expected, response.body()));
+  }
+
+  private static byte[] pattern(int size, int seed) {
+    byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) (i * 31 + seed);
+    }
+    return bytes;
+  }
+
+  private void serveBody(String path, byte[] body) {
+    server.setRoute(path, exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "text/plain");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+  }
+
+  @Test
+  void shouldNotReuseBodiesOfPoolBufferSize() {
+    // Bodies of exactly a pool buffer size used to share the buffer with the next message.
+    byte[] first = pattern(65536, 1);
+    byte[] second = pattern(65536, 2);
+    serveBody("/first.bin", first);
+    serveBody("/second.bin", second);
+    byte[] firstBody = page.navigate(server.PREFIX + "/first.bin").body();
+    assertArrayEquals(first, firstBody);
+    assertArrayEquals(second, page.navigate(server.PREFIX + "/second.bin").body());
+    assertArrayEquals(first, firstBody);
+  }
+
+  @Test
+  void shouldReturnCachedBodyAfterOtherTraffic() throws IOException {
+    byte[] first = pattern(65536, 1);
+    byte[] second = pattern(65536, 2);
+    serveBody("/first.bin", first);
+    serveBody("/second.bin", second);
+    Response response = page.navigate(server.PREFIX + "/first.bin");
+    Path path = File.createTempFile("body", ".bin").toPath();
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(first, response.body());
+      assertArrayEquals(second, page.navigate(server.PREFIX + "/second.bin").body());
+      page.evaluate("() => 'x'.repeat(40000)");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (InputStream in = response.bodyStream()) {
+        Utils.copy(in, out);
+      }
+      assertArrayEquals(first, out.toByteArray());
+      response.bodyTo(path);
+      assertArrayEquals(first, Files.readAllBytes(path));
+    }
+  }
+
+  @Test
+  void shouldReturnBodyStream() throws IOException {
+    Response response = page.navigate(server.PREFIX + "/pptr.png");
+    byte[] expected = Files.readAllBytes(Paths.get("src/test/resources/pptr.png"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = response.bodyStream()) {
+      Utils.copy(in, out);
+    }
+    assertTrue(Arrays.equals(expected, out.toByteArray()));
+  }
+
+  @Test
+  void shouldSaveBodyToFile() throws IOException {
+    Response response = page.navigate(server.PREFIX + "/pptr.png");
+    byte[] expected = Files.readAllBytes(Paths.get("src/test/resources/pptr.png"));
+    Path path = File.createTempFile("body", ".png").toPath();
+    response.bodyTo(path);
+    assertTrue(Arrays.equals(expected, Files.readAllBytes(path)));
+  }
+
   @Test
   void shouldReturnBodyWithCompression() throws IOException {
     server.enableGzip("/pptr.png");
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.playwright.Utils.mapOf;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestNoReplySetters extends TestBase {
+  @Test
+  void shouldApplyViewportSizeBeforeNextEvaluate() {
+    page.navigate(server.EMPTY_PAGE);
+    for (int width = 400; width < 420; width++) {
+      page.setViewportSize(width, 300);
+      assertEquals(width, page.evaluate("() => window.innerWidth"));
+    }
+  }
+
+  @Test
+  void shouldApplyViewportSizeBeforeNextAsyncEvaluate() throws Exception {
+    page.navigate(server.EMPTY_PAGE);
+    page.setViewportSize(456, 300);
+    assertEquals(456, page.async().evaluate("() => window.innerWidth").get(30, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldApplyExtraHTTPHeadersBeforeNextNavigation() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      String value = "bar" + i;
+      Future<Server.Request> request = server.waitForRequest("/empty.html");
+      page.setExtraHTTPHeaders(mapOf("foo", value));
+      page.navigate(server.EMPTY_PAGE);
+      assertEquals(asList(value), request.get().headers.get("foo"));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPageAsync extends TestBase {
+  @Test
+  void shouldNavigateManyPagesFromOneThread() throws Exception {
+    List<Page> pages = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      pages.add(context.newPage());
+    }
+    List<CompletableFuture<Object>> results = new ArrayList<>();
+    for (int i = 0; i < pages.size(); i++) {
+      int index = i;
+      PageAsync page = pages.get(i).async();
+      results.add(page.navigate(server.EMPTY_PAGE)
+        .thenCompose(response -> page.evaluate("i => i * 2", index)));
+    }
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(i * 2, results.get(i).get());
+    }
+  }
+
+  @Test
+  void shouldReturnResponse() throws Exception {
+    Response response = page.async().navigate(server.EMPTY_PAGE).get(30, TimeUnit.SECONDS);
+    assertEquals(200, response.status());
+    assertEquals(server.EMPTY_PAGE, page.url());
+  }
+
+  @Test
+  void shouldCompleteExceptionallyOnError() throws Exception {
+    CompletableFuture<Object> result = page.async().evaluate("() => { throw new Error('boom'); }");
+    try {
+      result.get(30, TimeUnit.SECONDS);
+      fail("did not throw");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof PlaywrightException);
+      assertTrue(e.getCause().getMessage().contains("boom"), e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  void shouldTimeoutWaitingForSelector() throws Exception {
+    CompletableFuture<ElementHandle> result = page.async().waitForSelector("div",
+      new Page.WaitForSelectorOptions().withTimeout(100));
+    try {
+      result.get(30, TimeUnit.SECONDS);
+      fail("did not throw");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().getMessage().contains("Timeout"), e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  void shouldCompleteWaitForTimeout() throws Exception {
+    long start = System.nanoTime();
+    page.async().waitForTimeout(100).get(30, TimeUnit.SECONDS);
+    assertTrue(System.nanoTime() - start >= 100_000_000);
+  }
+
+  @Test
+  void shouldWaitForEvent() throws Exception {
+    CompletableFuture<Event<Page.EventType>> event = page.async().waitForEvent(Page.EventType.CONSOLE);
+    page.evaluate("() => console.log('hello')");
+    ConsoleMessage message = (ConsoleMessage) event.get(30, TimeUnit.SECONDS).data();
+    assertEquals("hello", message.text());
+  }
+
+  @Test
+  void shouldWorkWithFrames() throws Exception {
+    page.navigate(server.EMPTY_PAGE);
+    FrameAsync frame = page.mainFrame().async();
+    frame.setContent("<div>hello</div>").get(30, TimeUnit.SECONDS);
+    assertEquals("hello", frame.textContent("div").get(30, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldTakeScreenshot() throws Exception {
+    page.setViewportSize(500, 500);
+    page.navigate(server.PREFIX + "/grid.html");
+    byte[] screenshot = page.async().screenshot().get(30, TimeUnit.SECONDS);
+    assertTrue(screenshot.length > 0);
+  }
+}
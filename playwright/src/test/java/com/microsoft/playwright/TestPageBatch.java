@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPageBatch extends TestBase {
+  @Test
+  void shouldReturnResultsInOrder() {
+    page.setContent("<input id=a><input id=b><div>hello</div>");
+    BatchResults results = page.batch(b -> {
+      b.fill("#a", "foo");
+      b.fill("#b", "bar");
+      b.textContent("div");
+      b.evaluate("() => 1 + 2");
+    });
+    assertEquals(4, results.size());
+    assertFalse(results.hasErrors());
+    assertEquals("hello", results.get(2));
+    assertEquals(3, results.get(3));
+    assertEquals("foo", page.evaluate("() => document.querySelector('#a').value"));
+    assertEquals("bar", page.evaluate("() => document.querySelector('#b').value"));
+  }
+
+  @Test
+  void shouldRunDependentCommandsInOrder() {
+    page.setContent("<input id=a><button onclick='document.querySelector(\"div\").textContent = document.querySelector(\"#a\").value'>copy</button><div></div>");
+    BatchResults results = page.batch(b -> {
+      b.fill("#a", "foo");
+      b.click("button");
+      b.textContent("div");
+      b.getAttribute("#a", "id");
+      b.fill("#a", "bar");
+      b.click("button");
+      b.textContent("div");
+    });
+    assertFalse(results.hasErrors());
+    assertEquals("foo", results.get(2));
+    assertEquals("a", results.get(3));
+    assertEquals("bar", results.get(6));
+  }
+
+  @Test
+  void shouldThrowWhenWaitingForResultsInsideBatch() {
+    page.batch(b -> {
+      CompletableFuture<Object> future = b.evaluate("() => 1");
+      try {
+        future.get();
+        fail("did not throw");
+      } catch (PlaywrightException e) {
+        assertTrue(e.getMessage().contains("only available after batch() returns"), e.getMessage());
+      } catch (Exception e) {
+        fail(e);
+      }
+    });
+  }
+
+  @Test
+  void shouldReportErrorsPerCommand() {
+    BatchResults results = page.batch(b -> {
+      b.evaluate("() => 1");
+      b.evaluate("() => { throw new Error('boom'); }");
+      b.evaluate("() => 3");
+    });
+    assertTrue(results.hasErrors());
+    assertNull(results.error(0));
+    assertTrue(results.error(1).getMessage().contains("boom"), results.error(1).getMessage());
+    assertNull(results.error(2));
+    assertEquals(3, results.get(2));
+    try {
+      results.get(1);
+      fail("did not throw");
+    } catch (PlaywrightException e) {
+      assertTrue(e.getMessage().contains("boom"), e.getMessage());
+    }
+  }
+
+  @Test
+  void shouldCompleteFuturesWhenBatchReturns() throws Exception {
+    CompletableFuture<?>[] future = new CompletableFuture<?>[1];
+    page.batch(b -> future[0] = b.evaluate("() => 42"));
+    assertTrue(future[0].isDone());
+    assertEquals(42, future[0].get());
+  }
+}
@@ -100,6 +100,23 @@ public class TestPageEvaluate extends TestBase {
     assertEquals(value, result);
   }
 
+  @Test
+  void shouldTransferNonAsciiStrings() {
+    String value = "h\u00e9llo \u043c\u0438\u0440 \ud83d\ude00";
+    assertEquals(value, page.evaluate("s => s", value));
+    assertEquals(value.length(), page.evaluate("s => s.length", value));
+  }
+
+  @Test
+  void shouldTransferLargeStrings() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      builder.append("\u00e9\u00e8");
+    }
+    String value = builder.toString();
+    assertEquals(value, page.evaluate("s => s", value));
+  }
+
   @Test
   void shouldTransferArrays() {
     Object result = page.evaluate("a => a", asList(1, 2, 3));
@@ -22,7 +22,10 @@ import org.junit.jupiter.api.condition.EnabledIf;
 
 import java.io.OutputStreamWriter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -59,6 +62,93 @@ public class TestPageRoute extends TestBase {
   }
 
 
+  @Test
+  void shouldPreferEarlierRoutesOverLongerPrefixes() {
+    List<String> intercepted = new ArrayList<>();
+    page.route("**/*", route -> {
+      intercepted.add("any");
+      route.continue_();
+    });
+    page.route(server.PREFIX + "/empty.html", route -> {
+      intercepted.add("exact");
+      route.continue_();
+    });
+    page.navigate(server.EMPTY_PAGE);
+    assertEquals(asList("any"), intercepted);
+  }
+
+  @Test
+  void shouldMatchGlobGroups() {
+    List<String> intercepted = new ArrayList<>();
+    page.route("**/{empty,other}.htm?", route -> {
+      intercepted.add(route.request().url());
+      route.continue_();
+    });
+    page.navigate(server.EMPTY_PAGE);
+    page.navigate(server.PREFIX + "/title.html");
+    assertEquals(asList(server.EMPTY_PAGE), intercepted);
+  }
+
+  @Test
+  void shouldMatchGlobCharacterClasses() {
+    List<String> intercepted = new ArrayList<>();
+    page.route(server.PREFIX + "/[et]*.html", route -> {
+      intercepted.add(route.request().url());
+      route.continue_();
+    });
+    page.navigate(server.EMPTY_PAGE);
+    page.navigate(server.PREFIX + "/one-style.html");
+    assertEquals(asList(server.EMPTY_PAGE), intercepted);
+  }
+
+  @Test
+  void shouldCountRouteHits() {
+    page.route(server.PREFIX + "/empty.html", route -> route.continue_());
+    page.route(Pattern.compile("\\.css$"), route -> route.continue_());
+    page.navigate(server.EMPTY_PAGE);
+    page.navigate(server.EMPTY_PAGE);
+    List<RouteStats> stats = page.routeStats();
+    assertEquals(2, stats.size());
+    assertEquals(server.PREFIX + "/empty.html", stats.get(0).url());
+    assertEquals(2, stats.get(0).hitCount());
+    assertEquals("\\.css$", stats.get(1).url());
+    assertEquals(0, stats.get(1).hitCount());
+  }
+
+  @Test
+  void shouldFulfillFromAsyncHandlers() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      page.routeAsync("**/*.json", route -> CompletableFuture.runAsync(() -> route.fulfill(new Route.FulfillResponse()
+        .withContentType("application/json")
+        .withBody("\"" + route.request().url().replaceAll(".*/", "") + "\"")), executor));
+      page.navigate(server.EMPTY_PAGE);
+      Object result = page.evaluate("() => Promise.all(['a.json', 'b.json', 'c.json'].map(f => fetch(f).then(r => r.json())))");
+      assertEquals(asList("a.json", "b.json", "c.json"), result);
+      RouteStats stats = page.routeStats().get(0);
+      assertEquals(3, stats.hitCount());
+      assertEquals(0, stats.pendingCount());
+      assertEquals(0, stats.timeoutCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldAbortAsyncRoutesOnTimeout() {
+    page.setDefaultTimeout(500);
+    page.routeAsync("**/empty.html", route -> new CompletableFuture<>());
+    try {
+      page.navigate(server.EMPTY_PAGE, new Page.NavigateOptions().withTimeout(5000));
+      fail("did not throw");
+    } catch (PlaywrightException e) {
+    }
+    RouteStats stats = page.routeStats().get(0);
+    assertEquals(1, stats.hitCount());
+    assertEquals(0, stats.pendingCount());
+    assertEquals(1, stats.timeoutCount());
+  }
+
   @Test
   void shouldUnroute() {
     List<Integer> intercepted = new ArrayList<>();
@@ -210,6 +300,58 @@ public class TestPageRoute extends TestBase {
     assertTrue(failed[0]);
   }
 
+  @Test
+  void shouldThrowWhenRouteIsHandledTwice() {
+    PlaywrightException[] error = {null};
+    page.route("**/empty.html", route -> {
+      route.continue_();
+      try {
+        route.abort();
+      } catch (PlaywrightException e) {
+        error[0] = e;
+      }
+    });
+    Response response = page.navigate(server.EMPTY_PAGE);
+    assertTrue(response.ok());
+    assertNotNull(error[0]);
+    assertTrue(error[0].getMessage().contains("Route is already handled"));
+  }
+
+  @Test
+  void shouldAbortWithRouteRules() {
+    page.addRouteRule(RouteRule.abort().withResourceTypes("stylesheet"));
+    List<String> intercepted = new ArrayList<>();
+    page.route("**/*", route -> {
+      intercepted.add(route.request().url());
+      route.continue_();
+    });
+    boolean[] failed = {false};
+    page.addListener(REQUESTFAILED, event -> {
+      Request request = (Request) event.data();
+      if (request.url().contains(".css"))
+        failed[0] = true;
+    });
+    Response response = page.navigate(server.PREFIX + "/one-style.html");
+    assertTrue(response.ok());
+    assertTrue(failed[0]);
+    assertEquals(asList(server.PREFIX + "/one-style.html"), intercepted);
+  }
+
+  @Test
+  void shouldContinueWithRouteRulesBeforeHandlers() {
+    RouteRule rule = RouteRule.continue_().withUrl("**/empty.html");
+    page.addRouteRule(rule);
+    page.route("**/*", route -> route.abort());
+    Response response = page.navigate(server.EMPTY_PAGE);
+    assertTrue(response.ok());
+    page.removeRouteRule(rule);
+    try {
+      page.navigate(server.EMPTY_PAGE);
+      fail("did not throw");
+    } catch (PlaywrightException e) {
+    }
+  }
+
   @Test
   void shouldBeAbortableWithCustomErrorCodes() {
     page.route("**/*", route -> route.abort("internetdisconnected"));
@@ -21,7 +21,9 @@ import org.junit.jupiter.api.Test;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -38,6 +40,18 @@ public class TestPageScreenshot extends TestBase {
 //    expect(screenshot).toMatchSnapshot("screenshot-sanity.png");
   }
 
+  @Test
+  void shouldWriteToChannel() throws IOException {
+    page.setViewportSize(500, 500);
+    page.navigate(server.PREFIX + "/grid.html");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long size = page.screenshot(Channels.newChannel(out), null);
+    assertEquals(out.size(), size);
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(500, image.getWidth());
+    assertEquals(500, image.getHeight());
+  }
+
   @Test
   void shouldClipRect() throws IOException {
     page.setViewportSize(500, 500);
@@ -77,4 +77,30 @@ public class TestPageSetExtraHttpHeaders extends TestBase {
       assertTrue(e.getMessage().contains("expected string, got undefined"));
     }
   }
+
+  @Test
+  void shouldReportErrorOnNextCall() {
+    page.setExtraHTTPHeaders(mapOf("foo", null));
+    try {
+      page.evaluate("() => 1");
+      fail("did not throw");
+    } catch (PlaywrightException e) {
+      assertTrue(e.getMessage().contains("setExtraHTTPHeaders"), e.getMessage());
+      assertTrue(e.getMessage().contains("expected string, got undefined"), e.getMessage());
+    }
+    assertEquals(2, page.evaluate("() => 2"));
+  }
+
+  @Test
+  void shouldNotReportErrorOnOtherPages() {
+    Page otherPage = context.newPage();
+    page.setExtraHTTPHeaders(mapOf("foo", null));
+    assertEquals(2, otherPage.evaluate("() => 2"));
+    try {
+      page.evaluate("() => 1");
+      fail("did not throw");
+    } catch (PlaywrightException e) {
+      assertTrue(e.getMessage().contains("setExtraHTTPHeaders"), e.getMessage());
+    }
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPlaywrightPool {
+  @Test
+  void shouldSpreadContextsAcrossDrivers() throws Exception {
+    try (PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.CreateOptions().withSize(2))) {
+      assertEquals(2, pool.playwrights().size());
+      List<BrowserContext> contexts = new ArrayList<>();
+      Set<Browser> browsers = new HashSet<>();
+      for (int i = 0; i < 4; i++) {
+        BrowserContext context = pool.newContext(Playwright::chromium);
+        contexts.add(context);
+        browsers.add(context.browser());
+      }
+      assertEquals(2, browsers.size());
+      for (BrowserContext context : contexts) {
+        Page page = context.newPage();
+        assertEquals(2, page.evaluate("() => 1 + 1"));
+        context.close();
+      }
+    }
+  }
+
+  @Test
+  void shouldLaunchBrowsers() throws Exception {
+    try (PlaywrightPool pool = PlaywrightPool.create(new PlaywrightPool.CreateOptions().withSize(2))) {
+      Browser first = pool.launch(Playwright::chromium);
+      Browser second = pool.launch(Playwright::chromium);
+      assertEquals(2, first.newPage().evaluate("() => 1 + 1"));
+      assertEquals(2, second.newPage().evaluate("() => 1 + 1"));
+      first.close();
+      second.close();
+    }
+  }
+}
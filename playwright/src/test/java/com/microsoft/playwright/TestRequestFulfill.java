@@ -21,10 +21,14 @@ import org.junit.jupiter.api.condition.DisabledIf;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static com.microsoft.playwright.Utils.mapOf;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TestRequestFulfill extends TestBase {
@@ -104,5 +108,47 @@ public class TestRequestFulfill extends TestBase {
 //    expect(img.screenshot()).toMatchSnapshot("mock-svg.png");
   }
 
+  @Test
+  void shouldFulfillWithFile() throws IOException {
+    Path path = Paths.get("src/test/resources/pptr.png");
+    page.route("**/*", route -> route.fulfill(new Route.FulfillResponse().withPath(path)));
+    Response response = page.navigate(server.PREFIX + "/does-not-exist.png");
+    assertEquals("image/png", response.headers().get("content-type"));
+    assertEquals(Long.toString(Files.size(path)), response.headers().get("content-length"));
+    assertArrayEquals(Files.readAllBytes(path), response.body());
+  }
+
+  @Test
+  void shouldFulfillWithFileThatChanged() throws IOException {
+    Path path = Files.createTempFile("fulfill-", ".txt");
+    try {
+      Files.write(path, "first version of the body".getBytes(StandardCharsets.UTF_8));
+      page.route("**/*", route -> route.fulfill(new Route.FulfillResponse().withPath(path)));
+      assertEquals("first version of the body", page.navigate(server.PREFIX + "/file.txt").text());
+      // Truncated, e.g. while being rewritten.
+      Files.write(path, "second".getBytes(StandardCharsets.UTF_8));
+      Response response = page.navigate(server.PREFIX + "/file.txt");
+      assertEquals("second", response.text());
+      assertEquals("6", response.headers().get("content-length"));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void shouldFulfillWithByteBuffer() {
+    byte[] body = new byte[200_000];
+    for (int i = 0; i < body.length; i++) {
+      body[i] = (byte) i;
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+    buffer.put(body).flip();
+    page.route("**/*", route -> route.fulfill(new Route.FulfillResponse()
+      .withContentType("text/plain")
+      .withBody(buffer)));
+    Response response = page.navigate(server.PREFIX + "/data.bin");
+    assertArrayEquals(body, response.body());
+    assertEquals(0, buffer.position());
+  }
 
 }
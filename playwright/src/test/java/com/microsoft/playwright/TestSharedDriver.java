@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSharedDriver {
+  private static Playwright createShared() {
+    return Playwright.create(new Playwright.CreateOptions().withSharedDriver(true));
+  }
+
+  @Test
+  void shouldKeepDriverUntilLastInstanceIsClosed() throws Exception {
+    Playwright first = createShared();
+    Playwright second = createShared();
+    Browser firstBrowser = first.chromium().launch();
+    Browser secondBrowser = second.chromium().launch();
+    first.close();
+    assertFalse(firstBrowser.isConnected());
+    assertTrue(secondBrowser.isConnected());
+    assertEquals(2, secondBrowser.newPage().evaluate("() => 1 + 1"));
+    second.close();
+    assertFalse(secondBrowser.isConnected());
+  }
+
+  @Test
+  void shouldStartNewDriverAfterAllInstancesAreClosed() throws Exception {
+    Playwright first = createShared();
+    first.close();
+    // Closing twice must not release the driver of other instances.
+    first.close();
+    try (Playwright second = createShared()) {
+      Browser browser = second.chromium().launch();
+      assertEquals(2, browser.newPage().evaluate("() => 1 + 1"));
+    }
+  }
+
+  @Test
+  void shouldLaunchOneDriverForConcurrentInstances() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Playwright>> instances = new ArrayList<>();
+    try {
+      for (int i = 0; i < 4; i++) {
+        instances.add(executor.submit(TestSharedDriver::createShared));
+      }
+      Selectors selectors = instances.get(0).get().selectors();
+      for (Future<Playwright> instance : instances) {
+        assertSame(selectors, instance.get().selectors());
+      }
+    } finally {
+      executor.shutdown();
+      for (Future<Playwright> instance : instances) {
+        instance.get().close();
+      }
+    }
+  }
+
+  @Test
+  void shouldProvideDevices() throws Exception {
+    try (Playwright playwright = createShared()) {
+      assertNotNull(playwright.devices().get("iPhone 6"));
+    }
+  }
+}
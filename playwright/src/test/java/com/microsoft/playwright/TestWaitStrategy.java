@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWaitStrategy {
+  @Test
+  void shouldWorkWithEachWaitStrategy() throws Exception {
+    for (Playwright.WaitStrategy waitStrategy : Playwright.WaitStrategy.values()) {
+      evaluateAndWait(waitStrategy);
+    }
+  }
+
+  @Test
+  void shouldTimeoutWithEachWaitStrategy() throws Exception {
+    for (Playwright.WaitStrategy waitStrategy : Playwright.WaitStrategy.values()) {
+      timeoutWaitingForEvent(waitStrategy);
+    }
+  }
+
+  private static void evaluateAndWait(Playwright.WaitStrategy waitStrategy) throws Exception {
+    try (Playwright playwright = Playwright.create(new Playwright.CreateOptions().withWaitStrategy(waitStrategy))) {
+      Browser browser = playwright.chromium().launch();
+      Page page = browser.newPage();
+      assertEquals(2, page.evaluate("() => 1 + 1"));
+      long start = System.nanoTime();
+      page.waitForTimeout(100).get();
+      assertTrue(System.nanoTime() - start >= 100_000_000);
+      browser.close();
+    }
+  }
+
+  private static void timeoutWaitingForEvent(Playwright.WaitStrategy waitStrategy) throws Exception {
+    try (Playwright playwright = Playwright.create(new Playwright.CreateOptions().withWaitStrategy(waitStrategy))) {
+      Browser browser = playwright.chromium().launch();
+      Page page = browser.newPage();
+      try {
+        page.waitForEvent(Page.EventType.POPUP, new Page.WaitForEventOptions().withTimeout(100)).get();
+        fail("did not throw");
+      } catch (PlaywrightException e) {
+        assertTrue(e.getMessage().contains("Timeout"), e.getMessage());
+      }
+      browser.close();
+    }
+  }
+}
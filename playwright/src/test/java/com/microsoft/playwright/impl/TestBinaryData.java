@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.microsoft.playwright.impl.TestBinaryFields.pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryData {
+  private final BufferPool pool = new BufferPool();
+
+  private BinaryData pooled(byte[] data) {
+    ByteBuffer buffer = pool.acquire(data.length);
+    buffer.put(data);
+    buffer.flip();
+    return BinaryData.pooled(pool, buffer);
+  }
+
+  @Test
+  void shouldNotCopyArrays() {
+    byte[] data = pattern(100, 1);
+    assertSame(data, BinaryData.of(data).toByteArray());
+  }
+
+  @Test
+  void shouldCopyPooledBuffers() {
+    // Exactly the capacity of a pool bucket.
+    byte[] data = pattern(64 * 1024, 2);
+    BinaryData binary = pooled(data);
+    byte[] bytes = binary.toByteArray();
+    binary.release();
+    ByteBuffer reused = pool.acquire(data.length);
+    reused.put(pattern(data.length, 3));
+    assertArrayEquals(data, bytes);
+  }
+
+  @Test
+  void shouldReturnBuffersToPoolOnRelease() {
+    byte[] data = pattern(10 * 1024, 4);
+    BinaryData binary = pooled(data);
+    ByteBuffer buffer = binary.buffer();
+    binary.release();
+    binary.release();
+    assertSame(buffer.array(), pool.acquire(data.length).array());
+    assertNotSame(buffer.array(), pool.acquire(data.length).array());
+    assertThrows(IllegalStateException.class, binary::buffer);
+  }
+
+  @Test
+  void shouldReleaseWhenStreamIsClosed() throws IOException {
+    byte[] data = pattern(10 * 1024, 5);
+    BinaryData binary = pooled(data);
+    byte[] result = new byte[data.length];
+    try (InputStream in = binary.newInputStream()) {
+      int offset = 0;
+      int count;
+      while ((count = in.read(result, offset, result.length - offset)) > 0) {
+        offset += count;
+      }
+      assertEquals(data.length, offset);
+      assertEquals(-1, in.read());
+    }
+    assertArrayEquals(data, result);
+    assertThrows(IllegalStateException.class, binary::buffer);
+  }
+
+  @Test
+  void shouldReadAndDeleteSpilledFiles() throws IOException {
+    byte[] data = pattern(100 * 1024, 6);
+    Path file = Files.createTempFile("playwright-binary-", ".bin");
+    Files.write(file, data);
+    BinaryData binary = BinaryData.spilled(file, data.length);
+    assertEquals(data.length, binary.size());
+    assertArrayEquals(data, binary.toByteArray());
+    Path copy = Files.createTempFile("playwright-test-", ".bin");
+    try {
+      binary.writeTo(copy);
+      assertArrayEquals(data, Files.readAllBytes(copy));
+    } finally {
+      Files.delete(copy);
+    }
+    binary.release();
+    assertFalse(Files.exists(file));
+    assertThrows(IllegalStateException.class, binary::toByteArray);
+  }
+}
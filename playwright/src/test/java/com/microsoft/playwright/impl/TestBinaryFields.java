@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryFields {
+  private final BufferPool pool = new BufferPool();
+  private final BinaryFields fields = new BinaryFields(pool);
+
+  static byte[] pattern(int size, int seed) {
+    byte[] result = new byte[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = (byte) (i * 31 + seed);
+    }
+    return result;
+  }
+
+  private static String base64(byte[] bytes) {
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+
+  private static ByteBuffer message(String json) {
+    return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private JsonObject parse(ByteBuffer message, Map<String, BinaryData> extracted) {
+    InputStreamReader in = new InputStreamReader(new ByteArrayInputStream(
+      message.array(), message.arrayOffset() + message.position(), message.remaining()), StandardCharsets.UTF_8);
+    JsonReader reader = extracted == null ? new JsonReader(in) : fields.newReader(in, extracted);
+    return JsonParser.parseReader(reader).getAsJsonObject();
+  }
+
+  private static Set<Path> spilledFiles() throws IOException {
+    Set<Path> result = new HashSet<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(
+        Paths.get(System.getProperty("java.io.tmpdir")), "playwright-binary-*")) {
+      for (Path file : files) {
+        result.add(file);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  void shouldDecodeLargeFields() {
+    byte[] data = pattern(100 * 1024, 1);
+    ByteBuffer message = message("{\"id\":1,\"result\":{\"binary\":\"" + base64(data) + "\"}}");
+    Map<String, BinaryData> extracted = fields.extract(message);
+    assertNotNull(extracted);
+    assertEquals(1, extracted.size());
+    JsonObject json = parse(message, extracted);
+    assertEquals(1, json.get("id").getAsInt());
+    BinaryData binary = fields.get(json.getAsJsonObject("result").get("binary"));
+    assertArrayEquals(data, binary.toByteArray());
+    binary.release();
+    assertEquals(0, fields.unresolvedCount());
+  }
+
+  @Test
+  void shouldLeaveSmallMessagesAlone() {
+    byte[] data = pattern(1024, 2);
+    String json = "{\"id\":1,\"result\":{\"binary\":\"" + base64(data) + "\"}}";
+    ByteBuffer message = message(json);
+    assertNull(fields.extract(message));
+    assertEquals(json, new String(message.array(), StandardCharsets.UTF_8));
+    BinaryData binary = fields.get(parse(message, null).getAsJsonObject("result").get("binary"));
+    assertArrayEquals(data, binary.toByteArray());
+  }
+
+  @Test
+  void shouldDecodeFieldsAtThreshold() {
+    // 4 base64 characters per 3 bytes.
+    byte[] atThreshold = pattern(BinaryFields.MIN_LENGTH / 4 * 3, 3);
+    byte[] belowThreshold = pattern(BinaryFields.MIN_LENGTH / 4 * 3 - 3, 4);
+    String padding = new String(new char[BinaryFields.MIN_LENGTH]).replace('\0', 'x');
+    ByteBuffer message = message("{\"a\":{\"binary\":\"" + base64(atThreshold) + "\"}," +
+      "\"b\":{\"binary\":\"" + base64(belowThreshold) + "\"},\"padding\":\"" + padding + "\"}");
+    Map<String, BinaryData> extracted = fields.extract(message);
+    assertNotNull(extracted);
+    assertEquals(1, extracted.size());
+    JsonObject json = parse(message, extracted);
+    assertTrue(json.getAsJsonObject("a").get("binary").getAsString().startsWith("#binary:"));
+    assertEquals(base64(belowThreshold), json.getAsJsonObject("b").get("binary").getAsString());
+    BinaryData a = fields.get(json.getAsJsonObject("a").get("binary"));
+    assertArrayEquals(atThreshold, a.toByteArray());
+    a.release();
+    assertArrayEquals(belowThreshold, fields.get(json.getAsJsonObject("b").get("binary")).toByteArray());
+  }
+
+  @Test
+  void shouldDecodeFieldsWithPadding() {
+    for (int extra = 0; extra < 3; extra++) {
+      byte[] data = pattern(100 * 1024 + extra, extra);
+      ByteBuffer message = message("{\"postData\":\"" + base64(data) + "\"}");
+      Map<String, BinaryData> extracted = fields.extract(message);
+      assertNotNull(extracted);
+      BinaryData binary = fields.get(parse(message, extracted).get("postData"));
+      assertEquals(data.length, binary.size());
+      assertArrayEquals(data, binary.toByteArray());
+      binary.release();
+    }
+  }
+
+  @Test
+  void shouldNotDecodeFieldsInsideEscapedStrings() {
+    String base64 = base64(pattern(100 * 1024, 5));
+    String value = "{\\\"binary\\\":\\\"" + base64 + "\\\"}";
+    ByteBuffer message = message("{\"id\":1,\"result\":{\"value\":\"" + value + "\"}}");
+    assertNull(fields.extract(message));
+    JsonObject json = parse(message, null);
+    assertEquals("{\"binary\":\"" + base64 + "\"}", json.getAsJsonObject("result").get("value").getAsString());
+  }
+
+  @Test
+  void shouldNotDecodeFieldsAfterEscapedBackslash() {
+    byte[] data = pattern(100 * 1024, 6);
+    ByteBuffer message = message("{\"text\":\"\\\\\",\"binary\":\"" + base64(data) + "\"}");
+    Map<String, BinaryData> extracted = fields.extract(message);
+    assertNotNull(extracted);
+    JsonObject json = parse(message, extracted);
+    assertEquals("\\", json.get("text").getAsString());
+    BinaryData binary = fields.get(json.get("binary"));
+    assertArrayEquals(data, binary.toByteArray());
+    binary.release();
+  }
+
+  @Test
+  void shouldLeaveInvalidBase64Alone() {
+    String text = new String(new char[100 * 1024]).replace('\0', '!');
+    String json = "{\"binary\":\"" + text + "\"}";
+    ByteBuffer message = message(json);
+    assertNull(fields.extract(message));
+    assertEquals(json, new String(message.array(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldDecodeOnlyBinaryWebSocketFrames() {
+    String base64 = base64(pattern(100 * 1024, 7));
+    ByteBuffer text = message("{\"guid\":\"ws\",\"method\":\"frameReceived\",\"params\":{\"opcode\":1,\"data\":\"" + base64 + "\"}}");
+    assertNull(fields.extract(text));
+    ByteBuffer binary = message("{\"guid\":\"ws\",\"method\":\"frameReceived\",\"params\":{\"opcode\":2,\"data\":\"" + base64 + "\"}}");
+    Map<String, BinaryData> extracted = fields.extract(binary);
+    assertNotNull(extracted);
+    BinaryData data = fields.get(parse(binary, extracted).getAsJsonObject("params").get("data"));
+    assertEquals(base64, base64(data.toByteArray()));
+    data.release();
+  }
+
+  @Test
+  void shouldSpillLargeFieldsToFile() throws IOException {
+    BinaryFields fields = new BinaryFields(pool, 80 * 1024);
+    byte[] data = pattern(100 * 1024, 8);
+    Set<Path> before = spilledFiles();
+    ByteBuffer message = message("{\"binary\":\"" + base64(data) + "\"}");
+    Map<String, BinaryData> extracted = fields.extract(message);
+    assertNotNull(extracted);
+    Set<Path> spilled = spilledFiles();
+    spilled.removeAll(before);
+    assertEquals(1, spilled.size());
+    Path file = spilled.iterator().next();
+    assertEquals(data.length, Files.size(file));
+    BinaryData binary = extracted.values().iterator().next();
+    assertArrayEquals(data, binary.toByteArray());
+    binary.release();
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  void shouldReleaseUnreadFields() throws IOException {
+    BinaryFields fields = new BinaryFields(pool, 80 * 1024);
+    Set<Path> before = spilledFiles();
+    ByteBuffer message = message("{\"a\":{\"binary\":\"" + base64(pattern(100 * 1024, 9)) + "\"}," +
+      "\"b\":{\"binary\":\"" + base64(pattern(70 * 1024, 10)) + "\"}}");
+    Map<String, BinaryData> extracted = fields.extract(message);
+    assertNotNull(extracted);
+    assertEquals(2, extracted.size());
+    List<BinaryData> binaries = new ArrayList<>(extracted.values());
+    BinaryFields.releaseUnread(extracted);
+    for (BinaryData binary : binaries) {
+      assertThrows(IllegalStateException.class, binary::buffer);
+    }
+    assertEquals(before, spilledFiles());
+    assertEquals(0, fields.unresolvedCount());
+  }
+
+  @Test
+  void shouldResolveReferencesOnlyOnce() {
+    ByteBuffer message = message("{\"binary\":\"" + base64(pattern(100 * 1024, 11)) + "\"}");
+    JsonObject json = parse(message, fields.extract(message));
+    assertEquals(1, fields.unresolvedCount());
+    fields.get(json.get("binary")).release();
+    assertThrows(RuntimeException.class, () -> fields.get(json.get("binary")));
+  }
+}
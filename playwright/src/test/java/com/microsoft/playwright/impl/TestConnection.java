@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConnection {
+  private PipedOutputStream driverOut;
+  private DataInputStream driverIn;
+  private Connection connection;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    driverOut = new PipedOutputStream();
+    PipedOutputStream clientOut = new PipedOutputStream();
+    driverIn = new DataInputStream(new PipedInputStream(clientOut, 1 << 20));
+    connection = new Connection(new PipedInputStream(driverOut, 1 << 20), clientOut);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    connection.close();
+    driverOut.close();
+  }
+
+  private JsonObject receive() throws IOException {
+    byte[] header = new byte[4];
+    driverIn.readFully(header);
+    byte[] bytes = new byte[ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt()];
+    driverIn.readFully(bytes);
+    return JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)).getAsJsonObject();
+  }
+
+  private void reply(int id) throws IOException {
+    byte[] bytes = ("{\"id\":" + id + ",\"result\":{}}").getBytes(StandardCharsets.UTF_8);
+    ByteBuffer frame = ByteBuffer.allocate(4 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+    frame.putInt(bytes.length).put(bytes);
+    driverOut.write(frame.array());
+    driverOut.flush();
+  }
+
+  @Test
+  void shouldHoldBackCommandsUntilNoReplyCommandIsDone() throws Exception {
+    connection.sendMessageNoReply("page", "setViewportSize", new JsonObject());
+    connection.sendMessageNoReply("page", "setExtraHTTPHeaders", new JsonObject());
+    Waitable<JsonElement> evaluate = connection.sendMessageAsync("page", "evaluate", new JsonObject());
+    JsonObject first = receive();
+    JsonObject second = receive();
+    assertEquals("setViewportSize", first.get("method").getAsString());
+    assertEquals("setExtraHTTPHeaders", second.get("method").getAsString());
+    Thread.sleep(100);
+    assertEquals(0, driverIn.available());
+    reply(first.get("id").getAsInt());
+    Thread.sleep(100);
+    assertEquals(0, driverIn.available());
+    reply(second.get("id").getAsInt());
+    JsonObject third = receive();
+    assertEquals("evaluate", third.get("method").getAsString());
+    assertFalse(evaluate.isDone());
+    reply(third.get("id").getAsInt());
+    connection.waitFor(evaluate);
+  }
+
+  @Test
+  void shouldNotHoldBackCommandsOfOtherThreads() throws Exception {
+    connection.sendMessageNoReply("page", "setViewportSize", new JsonObject());
+    Thread thread = new Thread(() -> connection.sendMessageAsync("page", "evaluate", new JsonObject()));
+    thread.start();
+    thread.join();
+    assertEquals("setViewportSize", receive().get("method").getAsString());
+    assertEquals("evaluate", receive().get("method").getAsString());
+  }
+}
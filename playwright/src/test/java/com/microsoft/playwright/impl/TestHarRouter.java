@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHarRouter {
+  @TempDir
+  Path tempDir;
+
+  private static String entry(String method, String url, String postData, String text, String encoding) {
+    return "{\"request\":{\"method\":\"" + method + "\",\"url\":\"" + url + "\"" +
+      (postData == null ? "" : ",\"postData\":{\"text\":\"" + postData + "\"}") + "}," +
+      "\"response\":{\"status\":200,\"headers\":[]," +
+      "\"content\":{\"mimeType\":\"application/octet-stream\",\"text\":\"" + text + "\"" +
+      (encoding == null ? "" : ",\"encoding\":\"" + encoding + "\"") + "}}}";
+  }
+
+  private HarRouter router(String... entries) throws IOException {
+    Path har = tempDir.resolve("test.har");
+    Files.write(har, ("{\"log\":{\"entries\":[" + String.join(",", entries) + "]}}").getBytes(StandardCharsets.UTF_8));
+    return new HarRouter(har);
+  }
+
+  private static Route.FulfillResponse fulfill(HarRouter router, String method, String url, String postData) {
+    Request request = (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[]{Request.class}, (proxy, m, args) -> {
+      switch (m.getName()) {
+        case "method": return method;
+        case "url": return url;
+        case "postDataBuffer": return postData == null ? null : postData.getBytes(StandardCharsets.UTF_8);
+        default: throw new UnsupportedOperationException(m.getName());
+      }
+    });
+    Route.FulfillResponse[] result = {null};
+    Route route = (Route) Proxy.newProxyInstance(Route.class.getClassLoader(), new Class<?>[]{Route.class}, (proxy, m, args) -> {
+      switch (m.getName()) {
+        case "request": return request;
+        case "fulfill": result[0] = (Route.FulfillResponse) args[0]; return null;
+        case "abort": return null;
+        default: throw new UnsupportedOperationException(m.getName());
+      }
+    });
+    router.accept(route);
+    return result[0];
+  }
+
+  private static byte[] body(Route.FulfillResponse response) throws IOException {
+    if (response.path != null) {
+      return Files.readAllBytes(response.path);
+    }
+    return response.bodyBytes;
+  }
+
+  @Test
+  void shouldDecodeLargeBase64BodiesToFiles() throws IOException {
+    byte[] data = new byte[200 * 1024];
+    new Random(1).nextBytes(data);
+    byte[] small = {1, 2, 3};
+    HarRouter router = router(
+      entry("GET", "http://localhost/large", null, Base64.getEncoder().encodeToString(data), "base64"),
+      entry("GET", "http://localhost/small", null, Base64.getEncoder().encodeToString(small), "base64"));
+    Route.FulfillResponse large = fulfill(router, "GET", "http://localhost/large", null);
+    assertNotNull(large.path);
+    assertArrayEquals(data, body(large));
+    Route.FulfillResponse smallResponse = fulfill(router, "GET", "http://localhost/small", null);
+    assertNull(smallResponse.path);
+    assertArrayEquals(small, body(smallResponse));
+  }
+
+  @Test
+  void shouldWriteLargeTextBodiesAsUtf8() throws IOException {
+    StringBuilder text = new StringBuilder();
+    while (text.length() < 100 * 1024) {
+      text.append("été ");
+    }
+    HarRouter router = router(entry("GET", "http://localhost/text", null, text.toString(), null));
+    Route.FulfillResponse response = fulfill(router, "GET", "http://localhost/text", null);
+    assertNotNull(response.path);
+    assertArrayEquals(text.toString().getBytes(StandardCharsets.UTF_8), body(response));
+  }
+
+  @Test
+  void shouldMatchEntriesByPostData() throws IOException {
+    HarRouter router = router(
+      entry("POST", "http://localhost/api", "first", "MQ==", "base64"),
+      entry("POST", "http://localhost/api", "second", "Mg==", "base64"),
+      entry("POST", "http://localhost/api", null, "Mw==", "base64"));
+    assertArrayEquals(new byte[]{'1'}, body(fulfill(router, "POST", "http://localhost/api", "first")));
+    assertArrayEquals(new byte[]{'2'}, body(fulfill(router, "POST", "http://localhost/api", "second")));
+    assertArrayEquals(new byte[]{'3'}, body(fulfill(router, "POST", "http://localhost/api", null)));
+    // Aborted rather than fulfilled with the response to another body.
+    assertNull(fulfill(router, "POST", "http://localhost/api", "third"));
+  }
+}
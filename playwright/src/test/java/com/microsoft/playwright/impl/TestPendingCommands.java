@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.google.gson.JsonElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPendingCommands {
+  private final PendingCommands commands = new PendingCommands();
+
+  @Test
+  void shouldReturnResultsById() {
+    WaitableResult<JsonElement> first = new WaitableResult<>();
+    WaitableResult<JsonElement> second = new WaitableResult<>();
+    int firstId = commands.add(first);
+    int secondId = commands.add(second);
+    assertNotEquals(firstId, secondId);
+    assertEquals(2, commands.size());
+    assertSame(second, commands.remove(secondId));
+    assertNull(commands.remove(secondId));
+    assertSame(first, commands.remove(firstId));
+    assertEquals(0, commands.size());
+  }
+
+  @Test
+  void shouldDeleteInsideCluster() {
+    // Ids 1, 65 and 129 share a home slot in the initial 64 slots.
+    Map<Integer, WaitableResult<JsonElement>> pending = new HashMap<>();
+    for (int i = 1; i <= 129; i++) {
+      WaitableResult<JsonElement> result = new WaitableResult<>();
+      int id = commands.add(result);
+      assertEquals(i, id);
+      if (id % 64 == 1) {
+        pending.put(id, result);
+      } else {
+        assertSame(result, commands.remove(id));
+      }
+    }
+    assertEquals(64, commands.capacity());
+    assertEquals(3, commands.size());
+    assertSame(pending.get(65), commands.remove(65));
+    assertNull(commands.remove(65));
+    assertSame(pending.get(129), commands.remove(129));
+    assertSame(pending.get(1), commands.remove(1));
+    assertEquals(0, commands.size());
+  }
+
+  @Test
+  void shouldGrowAndShrink() {
+    List<Integer> ids = new ArrayList<>();
+    Map<Integer, WaitableResult<JsonElement>> results = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      WaitableResult<JsonElement> result = new WaitableResult<>();
+      int id = commands.add(result);
+      ids.add(id);
+      results.put(id, result);
+    }
+    assertEquals(1000, commands.size());
+    assertTrue(commands.capacity() >= 2000, "capacity: " + commands.capacity());
+    Collections.shuffle(ids, new Random(1));
+    for (int id : ids) {
+      assertSame(results.get(id), commands.remove(id));
+    }
+    assertEquals(0, commands.size());
+    assertEquals(64, commands.capacity());
+  }
+
+  @Test
+  void shouldMatchMapUnderRandomOperations() {
+    Random random = new Random(2);
+    Map<Integer, WaitableResult<JsonElement>> expected = new HashMap<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      if (ids.isEmpty() || random.nextInt(100) < 52) {
+        WaitableResult<JsonElement> result = new WaitableResult<>();
+        int id = commands.add(result);
+        assertNull(expected.put(id, result));
+        ids.add(id);
+      } else {
+        int id = ids.remove(random.nextInt(ids.size()));
+        assertSame(expected.remove(id), commands.remove(id));
+      }
+      assertEquals(expected.size(), commands.size());
+    }
+    for (int id : ids) {
+      assertSame(expected.get(id), commands.remove(id));
+    }
+  }
+
+  @Test
+  void shouldSkipZeroWhenIdsWrapAround() {
+    PendingCommands commands = new PendingCommands(Integer.MAX_VALUE - 1);
+    assertEquals(Integer.MAX_VALUE, commands.add(new WaitableResult<>()));
+    assertEquals(1, commands.add(new WaitableResult<>()));
+    assertEquals(2, commands.add(new WaitableResult<>()));
+    assertNotNull(commands.remove(1));
+    assertTrue(commands.oldestPendingNanos() > 0);
+    assertNotNull(commands.remove(Integer.MAX_VALUE));
+    assertNotNull(commands.remove(2));
+    assertEquals(0, commands.size());
+    assertEquals(0, commands.oldestPendingNanos());
+  }
+
+  @Test
+  void shouldTrackOldestPendingCommand() throws InterruptedException {
+    assertEquals(0, commands.oldestPendingNanos());
+    int first = commands.add(new WaitableResult<>());
+    Thread.sleep(20);
+    int second = commands.add(new WaitableResult<>());
+    int third = commands.add(new WaitableResult<>());
+    assertTrue(commands.oldestPendingNanos() >= 20_000_000);
+    commands.remove(second);
+    assertTrue(commands.oldestPendingNanos() >= 20_000_000);
+    commands.remove(first);
+    long oldest = commands.oldestPendingNanos();
+    assertTrue(oldest > 0 && oldest < 20_000_000, "oldest: " + oldest);
+    commands.remove(third);
+    assertEquals(0, commands.oldestPendingNanos());
+  }
+}
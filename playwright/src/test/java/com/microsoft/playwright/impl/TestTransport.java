@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import com.microsoft.playwright.Playwright;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTransport {
+  private PipedOutputStream driverOut;
+  private Transport transport;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    driverOut = new PipedOutputStream();
+    transport = new Transport(new PipedInputStream(driverOut, 1 << 20), new ByteArrayOutputStream(), Playwright.WaitStrategy.PARK);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    transport.close();
+    driverOut.close();
+  }
+
+  private void sendFromDriver(String message) throws IOException {
+    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer frame = ByteBuffer.allocate(4 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+    frame.putInt(bytes.length).put(bytes);
+    driverOut.write(frame.array());
+    driverOut.flush();
+  }
+
+  private CompletableFuture<ByteBuffer> pollAsync(long timeoutNanos) {
+    CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+    new Thread(() -> result.complete(transport.poll(timeoutNanos))).start();
+    return result;
+  }
+
+  @Test
+  void shouldReturnMessagesToBlockedPoll() throws Exception {
+    CompletableFuture<ByteBuffer> message = pollAsync(Long.MAX_VALUE);
+    Thread.sleep(50);
+    sendFromDriver("{\"id\":1}");
+    ByteBuffer buffer = message.get(5, TimeUnit.SECONDS);
+    assertEquals("{\"id\":1}", StandardCharsets.UTF_8.decode(buffer).toString());
+  }
+
+  @Test
+  void shouldWakeUpBlockedPoll() throws Exception {
+    CompletableFuture<ByteBuffer> message = pollAsync(Long.MAX_VALUE);
+    Thread.sleep(50);
+    transport.wakeup();
+    assertNull(message.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldNotLoseWakeupBeforePoll() throws Exception {
+    transport.wakeup();
+    assertNull(pollAsync(Long.MAX_VALUE).get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldReturnNullOnTimeout() {
+    long start = System.nanoTime();
+    assertNull(transport.poll(TimeUnit.MILLISECONDS.toNanos(50)));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  void shouldCompleteAsyncWaitersAtTheirDeadline() throws Exception {
+    Connection connection = new Connection(new PipedInputStream(new PipedOutputStream()), new ByteArrayOutputStream());
+    try {
+      CompletableFuture<Object> late = connection.toFuture(new WaitableTimeout<>(10_000));
+      long start = System.nanoTime();
+      CompletableFuture<Object> early = connection.toFuture(new WaitableTimeout<>(50));
+      ExecutionException e = assertThrows(ExecutionException.class, () -> early.get(5, TimeUnit.SECONDS));
+      assertTrue(e.getCause().getMessage().contains("Timeout 50ms exceeded"), e.getCause().getMessage());
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      assertFalse(late.isDone());
+    } finally {
+      connection.close();
+    }
+  }
+
+  private static String sendWithBinary(OutgoingBinary binary) throws Exception {
+    PipedOutputStream clientOut = new PipedOutputStream();
+    DataInputStream driverIn = new DataInputStream(new PipedInputStream(clientOut, 1 << 20));
+    Transport client = new Transport(new PipedInputStream(new PipedOutputStream()), clientOut, Playwright.WaitStrategy.PARK);
+    try {
+      client.send("{\"body\":\"#binary#\"}", "#binary#", binary);
+      byte[] header = new byte[4];
+      driverIn.readFully(header);
+      byte[] bytes = new byte[ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt()];
+      driverIn.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    } finally {
+      client.close();
+    }
+  }
+
+  @Test
+  void shouldWriteFileInBlocks(@TempDir Path tempDir) throws Exception {
+    byte[] data = new byte[200 * 1024 + 1];
+    new Random(1).nextBytes(data);
+    Path path = tempDir.resolve("data.bin");
+    Files.write(path, data);
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      String message = sendWithBinary(OutgoingBinary.of(file, file.size()));
+      assertEquals("{\"body\":\"" + Base64.getEncoder().encodeToString(data) + "\"}", message);
+    }
+  }
+
+  @Test
+  void shouldFillTruncatedFileWithZeros(@TempDir Path tempDir) throws Exception {
+    Path path = tempDir.resolve("data.bin");
+    Files.write(path, new byte[]{1, 2, 3});
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      String message = sendWithBinary(OutgoingBinary.of(file, 5));
+      assertEquals("{\"body\":\"" + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3, 0, 0}) + "\"}", message);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Microsoft Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.microsoft.playwright.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestUrlMatcher {
+  private static void assertPrefixOfMatches(String glob, String url) {
+    UrlMatcher matcher = new UrlMatcher(glob);
+    assertTrue(matcher.test(url), glob + " should match " + url);
+    assertTrue(url.startsWith(matcher.literalPrefix()), matcher.literalPrefix() + " is not a prefix of " + url);
+  }
+
+  @Test
+  void shouldStopLiteralPrefixAtSpecialCharacters() {
+    assertEquals("http://localhost/", new UrlMatcher("http://localhost/*.js").literalPrefix());
+    assertEquals("http://localhost/", new UrlMatcher("http://localhost/?.js").literalPrefix());
+    assertEquals("http://localhost/", new UrlMatcher("http://localhost/{a,b}.js").literalPrefix());
+    assertEquals("http://localhost/", new UrlMatcher("http://localhost/[ab].js").literalPrefix());
+    assertEquals("http://localhost/a", new UrlMatcher("http://localhost/a]b").literalPrefix());
+    assertEquals("http://localhost/a", new UrlMatcher("http://localhost/a\\.js").literalPrefix());
+    assertEquals("http://localhost/a.js", new UrlMatcher("http://localhost/a.js").literalPrefix());
+    assertEquals("", new UrlMatcher(Pattern.compile("a")).literalPrefix());
+  }
+
+  @Test
+  void shouldMatchCharacterClassesBehindPrefix() {
+    assertPrefixOfMatches("http://localhost/[ab].js", "http://localhost/a.js");
+    assertPrefixOfMatches("http://localhost/[ab].js", "http://localhost/b.js");
+    assertFalse(new UrlMatcher("http://localhost/[ab].js").test("http://localhost/c.js"));
+    assertPrefixOfMatches("http://localhost/a[.]js", "http://localhost/a.js");
+  }
+}